@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.towers.Blocker;
+import units.towers.Shooter;
+import units.towers.TargetingPolicy;
+import units.towers.Tower;
+
+/**
+ * Benchmark of the area searches used by Shooters, Healers and Generators, on
+ * boards with varying numbers of Enemies and Towers. Each call searches the
+ * same sized area as a Shooter, centred on the next of a fixed list of
+ * squares.
+ *
+ * @author Nick Houser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardSearchBenchmark {
+
+    //the number of squares along each side of the board
+    private static final int SQUARES = 30;
+
+    //the range of the searches, matching that of a Shooter
+    private static final int RANGE = 3;
+
+    //the number of search centres cycled through
+    private static final int CENTRES = 1024;
+
+    //the number of Enemies on the board
+    @Param({"100", "1000", "10000"})
+    public int enemies;
+
+    //the fraction of squares holding a Tower
+    @Param({"0.1", "0.5"})
+    public double towerDensity;
+
+    //the search APIs being measured
+    private BoardSearch search;
+
+    //the corners of the areas to search
+    private Point[] topLefts;
+    private Point[] bottomRights;
+    private int next;
+
+    //the same areas looked up once as Neighbourhoods, as Towers do
+    private Neighbourhood[] neighbourhoods;
+
+    //Shooters at the centre of each area, which targeted searches rank from
+    private Shooter[] shooters;
+
+    /**
+     * Method which fills a board with randomly placed Towers and Enemies.
+     */
+    @Setup
+    public void fillBoard() {
+        Random rng = new Random(42);
+        Simulation board = new Simulation(new BoardState(SQUARES, 0));
+        int squareSize = board.getSquareSize();
+
+        for (int x = 0; x < SQUARES; x++) {
+            for (int y = 0; y < SQUARES; y++) {
+                if (rng.nextDouble() < towerDensity) {
+                    board.addUnit(new Blocker(x * squareSize, y * squareSize, squareSize));
+                }
+            }
+        }
+        for (int count = 0; count < enemies; count++) {
+            Point target = new Point(rng.nextInt(BoardState.SIZE), rng.nextInt(BoardState.SIZE));
+            board.addUnit(new Burrower(rng.nextInt(BoardState.SIZE), rng.nextInt(BoardState.SIZE), target, squareSize));
+        }
+        search = board.search();
+
+        topLefts = new Point[CENTRES];
+        bottomRights = new Point[CENTRES];
+        neighbourhoods = new Neighbourhood[CENTRES];
+        shooters = new Shooter[CENTRES];
+        for (int centre = 0; centre < CENTRES; centre++) {
+            int x = rng.nextInt(SQUARES);
+            int y = rng.nextInt(SQUARES);
+            topLefts[centre] = new Point(x - RANGE, y - RANGE);
+            bottomRights[centre] = new Point(x + RANGE, y + RANGE);
+            neighbourhoods[centre] = search.neighbourhood(new Point(x, y), RANGE);
+            shooters[centre] = new Shooter(x * squareSize, y * squareSize, squareSize);
+        }
+        next = 0;
+    }
+
+    /**
+     * Benchmark of the Enemy search used by Shooters.
+     *
+     * @return the Enemy found, so the search is not optimised away
+     */
+    @Benchmark
+    public Enemy firstEnemyInArea() {
+        next = (next + 1) % CENTRES;
+        return search.firstEnemyInArea(topLefts[next], bottomRights[next]);
+    }
+
+    /**
+     * Benchmark of the Enemy search used by Shooters once they have looked up
+     * their Neighbourhood.
+     *
+     * @return the Enemy found, so the search is not optimised away
+     */
+    @Benchmark
+    public Enemy firstEnemyIn() {
+        next = (next + 1) % CENTRES;
+        return search.firstEnemyIn(neighbourhoods[next]);
+    }
+
+    /**
+     * Benchmark of the search for the nearest Enemy, which Shooters use by
+     * default.
+     *
+     * @return the Enemy found, so the search is not optimised away
+     */
+    @Benchmark
+    public Enemy targetNearest() {
+        next = (next + 1) % CENTRES;
+        return search.targetIn(neighbourhoods[next], TargetingPolicy.NEAREST, shooters[next]);
+    }
+
+    /**
+     * Benchmark of the search for the nearest Queen, which has to look
+     * further out than the nearest Enemy when there is no Queen close by.
+     *
+     * @return the Enemy found, so the search is not optimised away
+     */
+    @Benchmark
+    public Enemy targetQueensFirst() {
+        next = (next + 1) % CENTRES;
+        return search.targetIn(neighbourhoods[next], TargetingPolicy.QUEENS_FIRST, shooters[next]);
+    }
+
+    /**
+     * Benchmark of the Tower search used by Healers.
+     *
+     * @return the Towers found, so the search is not optimised away
+     */
+    @Benchmark
+    public LinkedList<Tower> allTowersInArea() {
+        next = (next + 1) % CENTRES;
+        return search.allTowersInArea(topLefts[next], bottomRights[next]);
+    }
+}
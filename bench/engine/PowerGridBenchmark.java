@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import units.towers.Generator;
+import units.towers.Shooter;
+
+/**
+ * Benchmark of the power cascade when a Generator near the source of a long
+ * chain is destroyed and rebuilt. Every Generator in the chain also powers a
+ * Shooter, so each cut unpowers and each rebuild repowers the whole chain.
+ *
+ * @author Nick Houser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PowerGridBenchmark {
+
+    //roughly the number of Generators in the chain
+    @Param({"10", "100", "900"})
+    public int chainLength;
+
+    //the board holding the chain
+    private BoardState state;
+    private PowerGrid powerGrid;
+
+    //the Generator which is repeatedly destroyed and rebuilt
+    private Generator link;
+
+    /**
+     * Method which lays out a chain of Generators snaking across the board
+     * from a source in the top left corner. Generators fill every other row,
+     * joined by a single Generator at alternate ends of the rows between,
+     * and Shooters fill the rest of those rows.
+     */
+    @Setup
+    public void buildChain() {
+        int squares = (int) Math.ceil(Math.sqrt(chainLength * 2.0));
+        state = new BoardState(squares, 0);
+        int squareSize = state.squareSize;
+
+        for (int y = 0; y < squares; y++) {
+            int turn = ((y / 2) % 2 == 0) ? squares - 1 : 0;
+            for (int x = 0; x < squares; x++) {
+                if (y % 2 == 0 || x == turn) {
+                    state.towers.set(x, y, new Generator(x * squareSize, y * squareSize, squareSize));
+                } else {
+                    state.towers.set(x, y, new Shooter(x * squareSize, y * squareSize, squareSize));
+                }
+            }
+        }
+        ((Generator) state.towers.get(0, 0)).makeSource();
+        state.towers.powerChanged(state.towers.get(0, 0));
+
+        powerGrid = new PowerGrid(state);
+        link = (Generator) state.towers.get(1, 0);
+    }
+
+    /**
+     * Benchmark of destroying the second Generator in the chain, which
+     * unpowers everything after it, then placing it again.
+     *
+     * @return whether the end of the chain is powered again
+     */
+    @Benchmark
+    public boolean cutAndRestore() {
+        state.towers.set(1, 0, null);
+        powerGrid.towerRemoved(link);
+
+        link = new Generator(link.getPosition().x, link.getPosition().y, state.squareSize);
+        state.towers.set(1, 0, link);
+        powerGrid.towerAdded(link);
+        return link.isPowered();
+    }
+}
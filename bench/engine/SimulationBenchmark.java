@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import gui.game.levels.LevelCreator;
+import gui.game.levels.LevelNotFoundException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of a full simulation tick on each shipped level. Every iteration
+ * starts from the level as loaded, run forward far enough for Hives to have
+ * filled the board with Enemies.
+ *
+ * @author Nick Houser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    //the number of ticks run before measuring, so the board is busy
+    private static final int PRELOAD_TICKS = 3000;
+
+    //the level to simulate
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int level;
+
+    //which Simulation implementation to use
+    @Param({"serial", "parallel"})
+    public String engine;
+
+    //the simulation being measured
+    private Simulation simulation;
+
+    /**
+     * Method which loads the level and runs it forward before each iteration.
+     *
+     * @throws LevelNotFoundException if the level cannot be loaded
+     */
+    @Setup(Level.Iteration)
+    public void loadLevel() throws LevelNotFoundException {
+        BoardState state = LevelCreator.createLevel(level);
+        simulation = engine.equals("parallel") ? new ParallelSimulation(state) : new Simulation(state);
+        for (int tick = 0; tick < PRELOAD_TICKS; tick++) {
+            simulation.step();
+        }
+    }
+
+    /**
+     * Benchmark of one tick of the whole board.
+     */
+    @Benchmark
+    public void step() {
+        simulation.step();
+    }
+}
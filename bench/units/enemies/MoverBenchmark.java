@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package units.enemies;
+
+import engine.BoardState;
+import engine.Simulation;
+import java.awt.Point;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import units.towers.Blocker;
+import units.towers.Tower;
+
+/**
+ * Benchmark of Mover.move for a crowd of Burrowers wandering a board partly
+ * covered in Towers. Each call moves every Burrower once.
+ *
+ * @author Nick Houser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoverBenchmark {
+
+    //the number of squares along each side of the board
+    private static final int SQUARES = 30;
+
+    //the number of Burrowers on the board
+    @Param({"100", "10000"})
+    public int movers;
+
+    //the board being moved on
+    private Simulation board;
+
+    //the Burrowers being moved
+    private Mover[] crowd;
+
+    /**
+     * Method which scatters Towers and Burrowers across a board.
+     */
+    @Setup
+    public void fillBoard() {
+        Random rng = new Random(42);
+        board = new Simulation(new BoardState(SQUARES, 0));
+        int squareSize = board.getSquareSize();
+
+        for (int x = 0; x < SQUARES; x++) {
+            for (int y = 0; y < SQUARES; y++) {
+                if (rng.nextInt(5) == 0) {
+                    board.addUnit(new Blocker(x * squareSize, y * squareSize, squareSize));
+                }
+            }
+        }
+
+        crowd = new Mover[movers];
+        for (int index = 0; index < movers; index++) {
+            Point target = new Point(rng.nextInt(BoardState.SIZE), rng.nextInt(BoardState.SIZE));
+            crowd[index] = new Burrower(rng.nextInt(BoardState.SIZE), rng.nextInt(BoardState.SIZE), target, squareSize);
+            board.addUnit(crowd[index]);
+        }
+    }
+
+    /**
+     * Benchmark of moving every Burrower once.
+     *
+     * @return the number of moves blocked by a Tower
+     */
+    @Benchmark
+    public int moveAll() {
+        int blocked = 0;
+        for (Mover mover : crowd) {
+            Tower blocker = mover.move(board);
+            if (blocker != null) {
+                blocked = blocked + 1;
+            }
+        }
+        return blocked;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.ArrayList;
+import units.Unit;
+import units.enemies.Enemy;
+import units.towers.Tower;
+
+/**
+ * Class which passes events about the units on a board to every subscribed
+ * BoardListener, in the order they subscribed. Units hold a link to the
+ * BoardEvents of the board they are on and report their own damage and death
+ * through it; the Simulation reports spawns and placements.
+ *
+ * @author Nick Houser
+ */
+public class BoardEvents {
+
+    //the listeners to pass events to
+    private final ArrayList<BoardListener> listeners;
+
+    /**
+     * Constructor which creates a BoardEvents with no listeners.
+     */
+    public BoardEvents() {
+        listeners = new ArrayList<>();
+    }
+
+    /**
+     * Method which subscribes a listener to every later event.
+     *
+     * @param listener the listener to subscribe
+     */
+    public void subscribe(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Method which reports that a unit lost health.
+     *
+     * @param unit the unit which was damaged
+     */
+    public void damaged(Unit unit) {
+        for (int index = 0; index < listeners.size(); index++) {
+            listeners.get(index).onDamaged(unit);
+        }
+    }
+
+    /**
+     * Method which reports that a unit died.
+     *
+     * @param unit the unit which died
+     */
+    public void died(Unit unit) {
+        for (int index = 0; index < listeners.size(); index++) {
+            listeners.get(index).onDeath(unit);
+        }
+    }
+
+    /**
+     * Method which reports that an Enemy was added to the board.
+     *
+     * @param enemy the Enemy which was added
+     */
+    public void spawned(Enemy enemy) {
+        for (int index = 0; index < listeners.size(); index++) {
+            listeners.get(index).onSpawn(enemy);
+        }
+    }
+
+    /**
+     * Method which reports that a Tower was placed on the board.
+     *
+     * @param tower the Tower which was placed
+     */
+    public void placed(Tower tower) {
+        for (int index = 0; index < listeners.size(); index++) {
+            listeners.get(index).onPlaced(tower);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import units.Unit;
+import units.enemies.Enemy;
+import units.towers.Tower;
+
+/**
+ * Interface for anything which needs to react to what happens to the units on
+ * a board, such as cleaning up dead units or updating the power grid, without
+ * checking every unit on every tick. Listeners are subscribed to the board's
+ * BoardEvents and are always called on the thread running the simulation.
+ *
+ * @author Nick Houser
+ */
+public interface BoardListener {
+
+    /**
+     * Method called when a unit on the board loses health.
+     *
+     * @param unit the unit which was damaged
+     */
+    void onDamaged(Unit unit);
+
+    /**
+     * Method called when a unit on the board dies. The unit is still on the
+     * board and is removed later in the tick.
+     *
+     * @param unit the unit which died
+     */
+    void onDeath(Unit unit);
+
+    /**
+     * Method called when an Enemy is added to the board.
+     *
+     * @param enemy the Enemy which was added
+     */
+    void onSpawn(Enemy enemy);
+
+    /**
+     * Method called when a Tower is placed on the board.
+     *
+     * @param tower the Tower which was placed
+     */
+    void onPlaced(Tower tower);
+}
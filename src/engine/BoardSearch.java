@@ -0,0 +1,553 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.towers.TargetingPolicy;
+import units.towers.Terrain;
+import units.towers.Tower;
+
+/**
+ * Class which exposes an API for searching the board for units.
+ *
+ * @author Nick Houser
+ */
+public class BoardSearch {
+
+    /**
+     * Constant returned by edgesHit for a grid square on the board.
+     */
+    public static final int EDGE_NONE = 0;
+
+    /**
+     * Flag set by edgesHit for a grid square left of the board.
+     */
+    public static final int EDGE_LEFT = 1;
+
+    /**
+     * Flag set by edgesHit for a grid square right of the board.
+     */
+    public static final int EDGE_RIGHT = 2;
+
+    /**
+     * Flag set by edgesHit for a grid square above the board.
+     */
+    public static final int EDGE_TOP = 4;
+
+    /**
+     * Flag set by edgesHit for a grid square below the board.
+     */
+    public static final int EDGE_BOTTOM = 8;
+
+    //the BoardState to query for searches
+    private BoardState boardState;
+
+    //index of the Enemies on the board by the grid square they occupy
+    private EnemyGrid enemyGrid;
+
+    //the metrics which searches report their duration to
+    private final TickMetrics metrics;
+
+    /**
+     * Constructor which saves a link to a BoardState for later queries and
+     * indexes the Enemies already on it.
+     *
+     * @param state
+     */
+    public BoardSearch(BoardState state) {
+        boardState = state;
+        metrics = new TickMetrics();
+        enemyGrid = new EnemyGrid(state.numSquares, state.squareSize);
+        for (Enemy enemy : state.enemies) {
+            enemyGrid.add(enemy);
+        }
+    }
+
+    /**
+     * Converts the passed co-ordinates to grid indices before delegating the
+     * search to the towerAtGridPositionMethod to find the tower at the passed
+     * position. This is used to ensure that Enemies cannot move freely into
+     * squares where the player has placed Towers.
+     *
+     * @param position a Point object representing the position to check
+     * @return the Tower at the passed position, or null if none exists
+     * @throws OffscreenException if passed a position not on the board
+     */
+    public Tower towerAtPosition(Point position) throws OffscreenException {
+        int gridX = Math.floorDiv(position.x, boardState.squareSize);
+        int gridY = Math.floorDiv(position.y, boardState.squareSize);
+        return towerAtGridPosition(new Point(gridX, gridY));
+    }
+
+    /**
+     * Checks whether a given position on the grid imposed on the board is
+     * occupied by a Tower. This is used to ensure that Enemies cannot move
+     * freely into squares where the player has placed Towers.
+     *
+     * @param position a Point object representing the grid position to check
+     * @return the Tower at the passed position, or null if none exists
+     * @throws OffscreenException if passed a position not on the board
+     */
+    public Tower towerAtGridPosition(Point position) throws OffscreenException {
+        int edges = edgesHit(position.x, position.y);
+        if (edges != EDGE_NONE) {
+            throw new OffscreenException((edges & EDGE_LEFT) != 0, (edges & EDGE_RIGHT) != 0, (edges & EDGE_TOP) != 0, (edges & EDGE_BOTTOM) != 0);
+        }
+        return towerInSquare(position.x, position.y);
+    }
+
+    /**
+     * Checks which edges of the board a grid square lies beyond. This is the
+     * exception-free way to detect a search that strays off the board.
+     *
+     * @param gridX the x index of the grid square to check
+     * @param gridY the y index of the grid square to check
+     * @return EDGE_NONE if the square is on the board, otherwise a combination
+     * of the EDGE_LEFT, EDGE_RIGHT, EDGE_TOP and EDGE_BOTTOM flags
+     */
+    public int edgesHit(int gridX, int gridY) {
+        int edges = EDGE_NONE;
+
+        if (gridX < 0) {
+            edges = edges | EDGE_LEFT;
+        } else if (gridX >= boardState.numSquares) {
+            edges = edges | EDGE_RIGHT;
+        }
+
+        if (gridY < 0) {
+            edges = edges | EDGE_TOP;
+        } else if (gridY >= boardState.numSquares) {
+            edges = edges | EDGE_BOTTOM;
+        }
+
+        return edges;
+    }
+
+    /**
+     * Gets the Tower in a given grid square without throwing for squares off
+     * the board. Callers which need to tell the two apart should check
+     * edgesHit first. If the square holds Terrain which has no Terrain object
+     * yet, one is created so that it can be damaged.
+     *
+     * @param gridX the x index of the grid square to check
+     * @param gridY the y index of the grid square to check
+     * @return the Tower in that square, or null if there is none or the square
+     * is not on the board
+     */
+    public Tower towerInSquare(int gridX, int gridY) {
+        if (edgesHit(gridX, gridY) != EDGE_NONE) {
+            return null;
+        }
+
+        Tower tower = boardState.towers.get(gridX, gridY);
+        if (tower == null && boardState.terrain.get(boardState.towers.cell(gridX, gridY))) {
+            tower = materializeTerrain(gridX, gridY);
+        }
+        return tower;
+    }
+
+    /**
+     * Checks whether a given grid square holds a Tower or Terrain, without
+     * creating a Terrain object for the square. Unlike towerInSquare this
+     * never changes the board, so it is safe to call while Enemies are
+     * planned on several threads at once.
+     *
+     * @param gridX the x index of the grid square to check
+     * @param gridY the y index of the grid square to check
+     * @return true if the square holds a Tower or Terrain, false if it is
+     * empty or not on the board
+     */
+    public boolean squareBlocked(int gridX, int gridY) {
+        if (edgesHit(gridX, gridY) != EDGE_NONE) {
+            return false;
+        }
+
+        int cell = boardState.towers.cell(gridX, gridY);
+        return boardState.towers.get(cell) != null || boardState.terrain.get(cell);
+    }
+
+    /**
+     * Returns all Towers in the specified grid area.
+     *
+     * @param topLeft the top left corner of the grid rectangle to search
+     * @param bottomRight the bottom left corner of the grid rectangle to search
+     * @return a LinkedList containing all of the Towers in the specified area
+     */
+    public LinkedList<Tower> allTowersInArea(Point topLeft, Point bottomRight) {
+        LinkedList<Tower> toReturn = new LinkedList<>();
+        visitTowersInArea(topLeft, bottomRight, tower -> {
+            toReturn.add(tower);
+            return false;
+        });
+        return toReturn;
+    }
+
+    /**
+     * Method which visits each Tower object in the specified grid area, in
+     * order of x and then y, until the visitor asks to stop. Nothing is
+     * allocated, and empty squares are never looked at.
+     *
+     * @param topLeft the top left corner of the grid rectangle to search
+     * @param bottomRight the bottom right corner of the grid rectangle to
+     * search
+     * @param visitor the visitor to pass each Tower to
+     * @return the Tower at which the visitor stopped, or null if it visited
+     * every Tower
+     */
+    public Tower visitTowersInArea(Point topLeft, Point bottomRight, TowerVisitor visitor) {
+        long started = System.nanoTime();
+        int minX = Math.max(topLeft.x, 0);
+        int minY = Math.max(topLeft.y, 0);
+        int maxX = Math.min(bottomRight.x, boardState.numSquares - 1);
+        int maxY = Math.min(bottomRight.y, boardState.numSquares - 1);
+
+        BitSet occupied = boardState.towers.occupied();
+        for (int xSearch = minX; xSearch <= maxX; xSearch++) {
+            int rowStart = boardState.towers.cell(xSearch, 0);
+            for (int cell = occupied.nextSetBit(rowStart + minY); cell >= 0 && cell <= rowStart + maxY; cell = occupied.nextSetBit(cell + 1)) {
+                Tower tower = boardState.towers.get(cell);
+                if (visitor.visit(tower)) {
+                    metrics.addSearch(started);
+                    return tower;
+                }
+            }
+        }
+
+        metrics.addSearch(started);
+        return null;
+    }
+
+    /**
+     * Method which visits each Tower object in the passed Neighbourhood until
+     * the visitor asks to stop, in the same way as visitTowersInArea but
+     * without working out the area again.
+     *
+     * @param area the grid squares to search
+     * @param visitor the visitor to pass each Tower to
+     * @return the Tower at which the visitor stopped, or null if it visited
+     * every Tower
+     */
+    public Tower visitTowersIn(Neighbourhood area, TowerVisitor visitor) {
+        long started = System.nanoTime();
+        Tower stoppedAt = boardState.towers.visit(area, visitor);
+        metrics.addSearch(started);
+        return stoppedAt;
+    }
+
+    /**
+     * Method which returns a single Enemy from the specified area. Does not
+     * find Hives, because they should not be target by Towers. Which enemy will
+     * be returned if multiple are found is undefined. Returns null if no
+     * enemies are found. Only the grid squares inside the area are examined.
+     *
+     * @param topLeft the top left grid square of the search area
+     * @param bottomRight the bottom right grid square of the search area
+     * @return an Enemy within the specified area, or null if none are found
+     */
+    public Enemy firstEnemyInArea(Point topLeft, Point bottomRight) {
+        long started = System.nanoTime();
+        Enemy found = searchEnemyInArea(topLeft, bottomRight);
+        metrics.addSearch(started);
+        return found;
+    }
+
+    /**
+     * Method which returns a single Enemy other than a Hive from the passed
+     * Neighbourhood, in the same way as firstEnemyInArea but without building
+     * the area or checking its bounds again.
+     *
+     * @param area the grid squares to search
+     * @return an Enemy within the area, or null if none are found
+     */
+    public Enemy firstEnemyIn(Neighbourhood area) {
+        long started = System.nanoTime();
+        Enemy found = searchEnemyIn(area);
+        metrics.addSearch(started);
+        return found;
+    }
+
+    /**
+     * Method which chooses the Enemy other than a Hive in the passed
+     * Neighbourhood that the passed policy most prefers, taking the nearest to
+     * the Tower of those it prefers equally. The Neighbourhood is searched a
+     * ring of squares at a time outwards from the Tower, and the search stops
+     * once no Enemy in a further ring could be chosen.
+     *
+     * @param area the grid squares in range of the Tower
+     * @param policy the policy deciding which Enemy is preferred
+     * @param tower the Tower choosing a target, at the centre of the area
+     * @return the chosen Enemy, or null if there are none in the area
+     */
+    public Enemy targetIn(Neighbourhood area, TargetingPolicy policy, Tower tower) {
+        long started = System.nanoTime();
+        Enemy found = searchTargetIn(area, policy, tower);
+        metrics.addSearch(started);
+        return found;
+    }
+
+    /**
+     * Method which gets the grid squares within the passed range of a grid
+     * square on the board. Towers never move, so they can look this up once
+     * and search it on every tick.
+     *
+     * @param gridPosition the grid square at the centre
+     * @param range the number of squares the area extends in each direction
+     * @return the Neighbourhood of the square
+     */
+    public Neighbourhood neighbourhood(Point gridPosition, int range) {
+        return boardState.towers.neighbourhood(gridPosition.x, gridPosition.y, range);
+    }
+
+    /**
+     * Method which checks whether any Enemy, including a Hive, occupies the
+     * passed grid square. This is used to stop Towers being placed on top of
+     * Enemies.
+     *
+     * @param gridPosition the grid square to check
+     * @return true if an Enemy is in that square, false otherwise
+     */
+    public boolean enemyAtGridPosition(Point gridPosition) {
+        if (gridPosition.x < 0 || gridPosition.x >= boardState.numSquares || gridPosition.y < 0 || gridPosition.y >= boardState.numSquares) {
+            return false;
+        }
+
+        ArrayList<Enemy> inSquare = enemyGrid.enemiesAt(gridPosition.x, gridPosition.y);
+        if (inSquare == null) {
+            return false;
+        }
+
+        for (Enemy enemy : inSquare) {
+            if (isEnemyInArea(enemy, gridPosition, gridPosition)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method which must be called whenever an Enemy changes position so that
+     * the index used by area searches stays up to date.
+     *
+     * @param enemy the Enemy which moved
+     */
+    public void enemyMoved(Enemy enemy) {
+        enemyGrid.update(enemy);
+    }
+
+    /**
+     * Method which adds a new Enemy to the index used by area searches.
+     *
+     * @param enemy the Enemy which was added to the board
+     */
+    void enemyAdded(Enemy enemy) {
+        enemyGrid.add(enemy);
+    }
+
+    /**
+     * Method which removes an Enemy from the index used by area searches.
+     *
+     * @param enemy the Enemy which was removed from the board
+     */
+    void enemyRemoved(Enemy enemy) {
+        enemyGrid.remove(enemy);
+    }
+
+    /**
+     * Method which exposes the metrics that searches report their duration
+     * to, so that the Simulation can record the rest of the tick alongside.
+     *
+     * @return the metrics of the board being searched
+     */
+    TickMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Method which returns all Enemies.
+     *
+     * @return a UnitList of all Enemies on the board
+     */
+    public UnitList<Enemy> allEnemies() {
+        return boardState.enemies;
+    }
+
+    /**
+     * Helper method which converts an absolute position to a grid position.
+     *
+     * @param absolute the absolute position
+     * @return the equivalent grid position
+     */
+    public Point absoluteToGridPosition(Point absolute) {
+        int gridX = Math.floorDiv(absolute.x, boardState.squareSize);
+        int gridY = Math.floorDiv(absolute.y, boardState.squareSize);
+        return new Point(gridX, gridY);
+    }
+
+    /**
+     * Helper method which creates the Terrain object for a square holding
+     * Terrain. This places the Terrain on the board, so it must only be
+     * reached from a single thread; plans use squareBlocked instead.
+     *
+     * @param gridX the x index of the grid square
+     * @param gridY the y index of the grid square
+     * @return the Terrain in that square
+     */
+    private Tower materializeTerrain(int gridX, int gridY) {
+        Tower tower = boardState.towers.get(gridX, gridY);
+        if (tower == null) {
+            tower = new Terrain(gridX * boardState.squareSize, gridY * boardState.squareSize, boardState.squareSize);
+            boardState.towers.set(gridX, gridY, tower);
+        }
+        return tower;
+    }
+
+    /**
+     * Helper method which finds an Enemy other than a Hive in the passed area
+     * by examining only the grid squares inside it.
+     *
+     * @param topLeft the top left grid square of the search area
+     * @param bottomRight the bottom right grid square of the search area
+     * @return an Enemy within the specified area, or null if none are found
+     */
+    private Enemy searchEnemyInArea(Point topLeft, Point bottomRight) {
+        int minX = Math.max(topLeft.x, 0);
+        int minY = Math.max(topLeft.y, 0);
+        int maxX = Math.min(bottomRight.x, boardState.numSquares - 1);
+        int maxY = Math.min(bottomRight.y, boardState.numSquares - 1);
+
+        for (int xSearch = minX; xSearch <= maxX; xSearch++) {
+            for (int ySearch = minY; ySearch <= maxY; ySearch++) {
+                ArrayList<Enemy> inSquare = enemyGrid.enemiesAt(xSearch, ySearch);
+                if (inSquare == null) {
+                    continue;
+                }
+
+                for (Enemy enemy : inSquare) {
+                    if (enemy instanceof Hive) {
+                        continue;
+                    }
+
+                    if (isEnemyInArea(enemy, topLeft, bottomRight)) {
+                        return enemy;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method which finds an Enemy other than a Hive in the passed
+     * Neighbourhood by examining only the grid squares listed in it.
+     *
+     * @param area the grid squares to search
+     * @return an Enemy within the area, or null if none are found
+     */
+    private Enemy searchEnemyIn(Neighbourhood area) {
+        for (int cell : area.cells) {
+            ArrayList<Enemy> inSquare = enemyGrid.enemiesIn(cell);
+            if (inSquare == null) {
+                continue;
+            }
+
+            for (Enemy enemy : inSquare) {
+                if (enemy instanceof Hive) {
+                    continue;
+                }
+
+                int gridX = Math.floorDiv(enemy.getPositionX(), boardState.squareSize);
+                int gridY = Math.floorDiv(enemy.getPositionY(), boardState.squareSize);
+                if (area.contains(gridX, gridY)) {
+                    return enemy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method which chooses an Enemy for targetIn. Each Enemy is ranked
+     * by its priority in the upper bits and its squared distance from the
+     * centre of the Tower in the lower bits. Every Enemy in ring r is at least
+     * r - 1 squares from the centre of the Tower, so once the best rank found
+     * is no more than that squared, the rest of the rings can be skipped.
+     *
+     * @param area the grid squares in range of the Tower
+     * @param policy the policy deciding which Enemy is preferred
+     * @param tower the Tower choosing a target
+     * @return the chosen Enemy, or null if there are none in the area
+     */
+    private Enemy searchTargetIn(Neighbourhood area, TargetingPolicy policy, Tower tower) {
+        int centreX = tower.getPosition().x + tower.getScaledSize() / 2;
+        int centreY = tower.getPosition().y + tower.getScaledSize() / 2;
+        Enemy best = null;
+        long bestRank = Long.MAX_VALUE;
+
+        int ringStart = 0;
+        for (int ring = 0; ring < area.ringEnds.length; ring++) {
+            long nearest = (long) Math.max(ring - 1, 0) * boardState.squareSize;
+            if (best != null && bestRank <= nearest * nearest) {
+                break;
+            }
+
+            for (int index = ringStart; index < area.ringEnds[ring]; index++) {
+                ArrayList<Enemy> inSquare = enemyGrid.enemiesIn(area.byDistance[index]);
+                if (inSquare == null) {
+                    continue;
+                }
+
+                for (Enemy enemy : inSquare) {
+                    int gridX = Math.floorDiv(enemy.getPositionX(), boardState.squareSize);
+                    int gridY = Math.floorDiv(enemy.getPositionY(), boardState.squareSize);
+                    if (enemy instanceof Hive || !area.contains(gridX, gridY)) {
+                        continue;
+                    }
+
+                    long xDistance = enemy.getPositionX() - centreX;
+                    long yDistance = enemy.getPositionY() - centreY;
+                    long rank = ((long) policy.priority(enemy) << 32) + xDistance * xDistance + yDistance * yDistance;
+                    if (rank < bestRank) {
+                        best = enemy;
+                        bestRank = rank;
+                    }
+                }
+            }
+            ringStart = area.ringEnds[ring];
+        }
+        return best;
+    }
+
+    /**
+     * Helper method which checks whether an Enemy's exact grid position lies
+     * within the passed grid area.
+     *
+     * @param enemy the Enemy to check
+     * @param topLeft the top left grid square of the area
+     * @param bottomRight the bottom right grid square of the area
+     * @return true if the Enemy is within the area, false otherwise
+     */
+    private boolean isEnemyInArea(Enemy enemy, Point topLeft, Point bottomRight) {
+        int gridX = Math.floorDiv(enemy.getPositionX(), boardState.squareSize);
+        int gridY = Math.floorDiv(enemy.getPositionY(), boardState.squareSize);
+        return gridX >= topLeft.x && gridX <= bottomRight.x && gridY >= topLeft.y && gridY <= bottomRight.y;
+    }
+}
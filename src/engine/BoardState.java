@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.SplittableRandom;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.towers.Generator;
+import units.towers.Terrain;
+
+/**
+ * Class which tracks the current state of the board, consisting mainly of which
+ * units are on the board.
+ *
+ * @author Nick Houser
+ */
+public class BoardState {
+
+    /**
+     * Constant representing the size of the board.
+     */
+    public static final int SIZE = 900;
+
+    //a list of the Enemies on the board
+    public UnitList<Enemy> enemies;
+
+    //the events which units on the board report to
+    public final BoardEvents events;
+
+    //the Towers on the board
+    public final TowerGrid towers;
+
+    //the grid squares holding Terrain, indexed by x * numSquares + y; a
+    //Terrain object, which holds its health, is only put in towers once
+    //something needs one, so untouched Terrain costs a single bit
+    public final BitSet terrain;
+
+    //variables which track the size of the board
+    public final int squareSize;
+    public final int numSquares;
+    public final int initialTime;
+
+    //the seed which every random number used on this board is derived from
+    public final long seed;
+
+    //the source of the random number streams handed out to units
+    private final SplittableRandom streams;
+
+    /**
+     * Constructor which takes an initial state and sets the board up according
+     * to that state.
+     * 
+     * @param numSquares the number of squares to create for this board state
+     * @param initialTime the amount of time available to solve the level
+     */
+    public BoardState(int numSquares, int initialTime) {
+        this(numSquares, initialTime, System.nanoTime());
+    }
+
+    /**
+     * Constructor which takes an initial state and a seed, so that every
+     * random choice made on the board can be reproduced by using the same
+     * seed again.
+     *
+     * @param numSquares the number of squares to create for this board state
+     * @param initialTime the amount of time available to solve the level
+     * @param seed the seed to derive all random numbers on the board from
+     */
+    public BoardState(int numSquares, int initialTime, long seed) {
+        this.numSquares = numSquares;
+        this.initialTime = initialTime;
+        this.seed = seed;
+        streams = new SplittableRandom(seed);
+        squareSize = Math.floorDiv(SIZE, numSquares);
+        enemies = new UnitList<>();
+        events = new BoardEvents();
+        towers = new TowerGrid(numSquares, events);
+        terrain = new BitSet(numSquares * numSquares);
+    }
+
+    /**
+     * Method which creates a random number generator for a unit, such as a
+     * new Hive. Each generator is an independent stream split from the
+     * board's seed, so the numbers a unit draws do not depend on how many
+     * other units are drawing numbers, only on the order units are created.
+     *
+     * @return a new random number generator
+     */
+    public Random newRandom() {
+        return new Random(streams.nextLong());
+    }
+}
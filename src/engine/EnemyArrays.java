@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Class which stores the state of many Enemies as parallel primitive arrays
+ * rather than as one object per Enemy. Entry i of every array describes the
+ * same Enemy. Removal swaps the last Enemy into the removed slot, so indices
+ * are only stable until the next removal.
+ *
+ * @author Nick Houser
+ */
+public class EnemyArrays {
+
+    /**
+     * Type tag for a Burrower.
+     */
+    public static final byte TYPE_BURROWER = 0;
+
+    /**
+     * Type tag for a Queen.
+     */
+    public static final byte TYPE_QUEEN = 1;
+
+    /**
+     * Type tag for a Hive.
+     */
+    public static final byte TYPE_HIVE = 2;
+
+    //the initial capacity of the arrays
+    private static final int INITIAL_CAPACITY = 64;
+
+    //the number of Enemies stored
+    public int count;
+
+    //the position of each Enemy
+    public double[] x;
+    public double[] y;
+
+    //the velocity of each Enemy, in board units per tick
+    public double[] xDirection;
+    public double[] yDirection;
+
+    //the health of each Enemy
+    public int[] health;
+
+    //the number of ticks each Enemy has been alive, used by Hives and Queens
+    public int[] lifetime;
+
+    //the type tag of each Enemy
+    public byte[] type;
+
+    //whether each Burrower was blocked by a Tower and dug into it last tick
+    public boolean[] burrowing;
+
+    //variables which track the size of the board
+    private final int squareSize;
+    private final int numSquares;
+
+    //index of the Enemies by grid square: the Enemies in square c are
+    //cellOrder[cellStart[c]] up to but not including cellOrder[cellStart[c + 1]]
+    private final int[] cellStart;
+    private final int[] cellFill;
+    private int[] cellOrder;
+
+    /**
+     * Constructor which creates an empty store for a board of the passed size.
+     *
+     * @param numSquares the number of squares along each side of the board
+     * @param squareSize the size of one grid square on the board
+     */
+    public EnemyArrays(int numSquares, int squareSize) {
+        this.numSquares = numSquares;
+        this.squareSize = squareSize;
+        cellStart = new int[numSquares * numSquares + 1];
+        cellFill = new int[numSquares * numSquares];
+        cellOrder = new int[INITIAL_CAPACITY];
+        count = 0;
+        x = new double[INITIAL_CAPACITY];
+        y = new double[INITIAL_CAPACITY];
+        xDirection = new double[INITIAL_CAPACITY];
+        yDirection = new double[INITIAL_CAPACITY];
+        health = new int[INITIAL_CAPACITY];
+        lifetime = new int[INITIAL_CAPACITY];
+        type = new byte[INITIAL_CAPACITY];
+        burrowing = new boolean[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds an Enemy to the end of the store.
+     *
+     * @param enemyType the type tag of the Enemy
+     * @param xPosition the x position of the Enemy
+     * @param yPosition the y position of the Enemy
+     * @param xVelocity the x component of the Enemy's velocity
+     * @param yVelocity the y component of the Enemy's velocity
+     * @param initialHealth the starting health of the Enemy
+     * @return the index of the new Enemy
+     */
+    public int add(byte enemyType, double xPosition, double yPosition, double xVelocity, double yVelocity, int initialHealth) {
+        if (count == type.length) {
+            grow();
+        }
+
+        x[count] = xPosition;
+        y[count] = yPosition;
+        xDirection[count] = xVelocity;
+        yDirection[count] = yVelocity;
+        health[count] = initialHealth;
+        lifetime[count] = 0;
+        type[count] = enemyType;
+        burrowing[count] = false;
+        count = count + 1;
+        return count - 1;
+    }
+
+    /**
+     * Removes the Enemy at the passed index by moving the last Enemy into its
+     * slot.
+     *
+     * @param index the index of the Enemy to remove
+     */
+    public void remove(int index) {
+        count = count - 1;
+        x[index] = x[count];
+        y[index] = y[count];
+        xDirection[index] = xDirection[count];
+        yDirection[index] = yDirection[count];
+        health[index] = health[count];
+        lifetime[index] = lifetime[count];
+        type[index] = type[count];
+        burrowing[index] = burrowing[count];
+    }
+
+    /**
+     * Rebuilds the index of Enemies by grid square with a counting sort over
+     * their current positions. Enemies just off the board are filed under the
+     * nearest edge square. The index is only valid until Enemies next move,
+     * are added or are removed.
+     */
+    public void indexCells() {
+        if (cellOrder.length < count) {
+            cellOrder = new int[type.length];
+        }
+
+        Arrays.fill(cellStart, 0);
+        for (int index = 0; index < count; index++) {
+            cellStart[cellOf(index) + 1]++;
+        }
+        for (int cell = 0; cell < cellFill.length; cell++) {
+            cellStart[cell + 1] = cellStart[cell + 1] + cellStart[cell];
+        }
+
+        System.arraycopy(cellStart, 0, cellFill, 0, cellFill.length);
+        for (int index = 0; index < count; index++) {
+            int cell = cellOf(index);
+            cellOrder[cellFill[cell]] = index;
+            cellFill[cell] = cellFill[cell] + 1;
+        }
+    }
+
+    /**
+     * Finds an Enemy other than a Hive whose grid position lies in the passed
+     * grid area, using the index built by indexCells.
+     *
+     * @param minX the left edge of the grid area
+     * @param minY the top edge of the grid area
+     * @param maxX the right edge of the grid area
+     * @param maxY the bottom edge of the grid area
+     * @return the index of an Enemy in the area, or -1 if there is none
+     */
+    public int firstInArea(int minX, int minY, int maxX, int maxY) {
+        int fromX = Math.max(minX, 0);
+        int fromY = Math.max(minY, 0);
+        int toX = Math.min(maxX, numSquares - 1);
+        int toY = Math.min(maxY, numSquares - 1);
+
+        for (int gridX = fromX; gridX <= toX; gridX++) {
+            for (int gridY = fromY; gridY <= toY; gridY++) {
+                int cell = gridX * numSquares + gridY;
+                for (int entry = cellStart[cell]; entry < cellStart[cell + 1]; entry++) {
+                    int index = cellOrder[entry];
+                    if (type[index] == TYPE_HIVE) {
+                        continue;
+                    }
+
+                    int exactX = Math.floorDiv(roundedX(index), squareSize);
+                    int exactY = Math.floorDiv(roundedY(index), squareSize);
+                    if (exactX >= minX && exactX <= maxX && exactY >= minY && exactY <= maxY) {
+                        return index;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the Enemy other than a Hive in the passed Neighbourhood with the
+     * lowest priority, taking the one nearest the passed centre of those with
+     * equal priority, using the index built by indexCells. The rings of the
+     * Neighbourhood are searched outwards in the same way as
+     * BoardSearch.targetIn, stopping once no Enemy in a further ring could
+     * rank better.
+     *
+     * @param area the grid squares to search
+     * @param centreX the x position distances are measured from
+     * @param centreY the y position distances are measured from
+     * @param priority gives the priority of the Enemy at an index, from 0 for
+     * the most preferred upwards
+     * @return the index of the chosen Enemy, or -1 if there is none
+     */
+    public int bestIn(Neighbourhood area, int centreX, int centreY, IntUnaryOperator priority) {
+        int best = -1;
+        long bestRank = Long.MAX_VALUE;
+
+        int ringStart = 0;
+        for (int ring = 0; ring < area.ringEnds.length; ring++) {
+            long nearest = (long) Math.max(ring - 1, 0) * squareSize;
+            if (best >= 0 && bestRank <= nearest * nearest) {
+                break;
+            }
+
+            for (int square = ringStart; square < area.ringEnds[ring]; square++) {
+                int cell = area.byDistance[square];
+                for (int entry = cellStart[cell]; entry < cellStart[cell + 1]; entry++) {
+                    int index = cellOrder[entry];
+                    int gridX = Math.floorDiv(roundedX(index), squareSize);
+                    int gridY = Math.floorDiv(roundedY(index), squareSize);
+                    if (type[index] == TYPE_HIVE || !area.contains(gridX, gridY)) {
+                        continue;
+                    }
+
+                    long xDistance = roundedX(index) - centreX;
+                    long yDistance = roundedY(index) - centreY;
+                    long rank = ((long) priority.applyAsInt(index) << 32) + xDistance * xDistance + yDistance * yDistance;
+                    if (rank < bestRank) {
+                        best = index;
+                        bestRank = rank;
+                    }
+                }
+            }
+            ringStart = area.ringEnds[ring];
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether any Enemy, including a Hive, is in the passed grid
+     * square. This scans every Enemy rather than using the index, because it
+     * is only needed when the player places a Tower.
+     *
+     * @param gridX the x index of the square
+     * @param gridY the y index of the square
+     * @return true if an Enemy is in that square, false otherwise
+     */
+    public boolean anyInSquare(int gridX, int gridY) {
+        for (int index = 0; index < count; index++) {
+            if (Math.floorDiv(roundedX(index), squareSize) == gridX && Math.floorDiv(roundedY(index), squareSize) == gridY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the x position of an Enemy rounded to the nearest integer.
+     *
+     * @param index the index of the Enemy
+     * @return the rounded x position
+     */
+    public int roundedX(int index) {
+        return (int) Math.round(x[index]);
+    }
+
+    /**
+     * Gets the y position of an Enemy rounded to the nearest integer.
+     *
+     * @param index the index of the Enemy
+     * @return the rounded y position
+     */
+    public int roundedY(int index) {
+        return (int) Math.round(y[index]);
+    }
+
+    /**
+     * Helper method which finds the grid square an Enemy is filed under.
+     *
+     * @param index the index of the Enemy
+     * @return the index of the grid square
+     */
+    private int cellOf(int index) {
+        int gridX = Math.max(0, Math.min(numSquares - 1, Math.floorDiv(roundedX(index), squareSize)));
+        int gridY = Math.max(0, Math.min(numSquares - 1, Math.floorDiv(roundedY(index), squareSize)));
+        return gridX * numSquares + gridY;
+    }
+
+    /**
+     * Helper method which doubles the capacity of every array.
+     */
+    private void grow() {
+        int capacity = type.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        xDirection = Arrays.copyOf(xDirection, capacity);
+        yDirection = Arrays.copyOf(yDirection, capacity);
+        health = Arrays.copyOf(health, capacity);
+        lifetime = Arrays.copyOf(lifetime, capacity);
+        type = Arrays.copyOf(type, capacity);
+        burrowing = Arrays.copyOf(burrowing, capacity);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.ArrayList;
+import units.enemies.Enemy;
+
+/**
+ * Class which files every Enemy on the board under the grid square it occupies,
+ * so that area searches only need to look at the squares inside the area
+ * instead of at every Enemy on the board. Enemies which have strayed just off
+ * the edge of the board are filed under the nearest edge square.
+ *
+ * @author Nick Houser
+ */
+public class EnemyGrid {
+
+    //the Enemies in each grid square, indexed by x * numSquares + y
+    private final ArrayList<Enemy>[] cells;
+
+    //variables which track the size of the board
+    private final int squareSize;
+    private final int numSquares;
+
+    /**
+     * Constructor which creates an empty grid for a board of the passed size.
+     *
+     * @param numSquares the number of squares along each side of the board
+     * @param squareSize the size of one grid square on the board
+     */
+    public EnemyGrid(int numSquares, int squareSize) {
+        this.numSquares = numSquares;
+        this.squareSize = squareSize;
+        //generic arrays cannot be created directly, but every element is only
+        //ever given an ArrayList<Enemy>
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayList<Enemy>[] buckets = new ArrayList[numSquares * numSquares];
+        cells = buckets;
+    }
+
+    /**
+     * Files a newly added Enemy under the square it currently occupies.
+     *
+     * @param enemy the Enemy to add
+     */
+    public void add(Enemy enemy) {
+        int cell = cellOf(enemy);
+        bucket(cell).add(enemy);
+        enemy.setGridCell(cell);
+    }
+
+    /**
+     * Removes an Enemy from the grid, for example when it dies.
+     *
+     * @param enemy the Enemy to remove
+     */
+    public void remove(Enemy enemy) {
+        if (cells[enemy.getGridCell()] != null) {
+            cells[enemy.getGridCell()].remove(enemy);
+        }
+    }
+
+    /**
+     * Re-files an Enemy after it has moved. This only touches the grid if the
+     * Enemy has crossed into a different square.
+     *
+     * @param enemy the Enemy which moved
+     */
+    public void update(Enemy enemy) {
+        int cell = cellOf(enemy);
+        if (cell != enemy.getGridCell()) {
+            remove(enemy);
+            bucket(cell).add(enemy);
+            enemy.setGridCell(cell);
+        }
+    }
+
+    /**
+     * Gets the Enemies filed under the passed grid square.
+     *
+     * @param gridX the x index of the square, which must be on the board
+     * @param gridY the y index of the square, which must be on the board
+     * @return the Enemies in that square, or null if there have never been any
+     */
+    public ArrayList<Enemy> enemiesAt(int gridX, int gridY) {
+        return cells[gridX * numSquares + gridY];
+    }
+
+    /**
+     * Gets the Enemies filed under the grid square with the passed index.
+     *
+     * @param cell the index of the square, x * numSquares + y
+     * @return the Enemies in that square, or null if there have never been any
+     */
+    public ArrayList<Enemy> enemiesIn(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Helper method which finds the square an Enemy should be filed under,
+     * clamping positions just off the board onto the nearest edge square.
+     *
+     * @param enemy the Enemy to locate
+     * @return the index of the square the Enemy belongs in
+     */
+    private int cellOf(Enemy enemy) {
+        int gridX = clamp(Math.floorDiv(enemy.getPositionX(), squareSize));
+        int gridY = clamp(Math.floorDiv(enemy.getPositionY(), squareSize));
+        return gridX * numSquares + gridY;
+    }
+
+    /**
+     * Helper method which clamps a grid index onto the board.
+     *
+     * @param gridIndex the index to clamp
+     * @return the nearest index which is on the board
+     */
+    private int clamp(int gridIndex) {
+        return Math.max(0, Math.min(numSquares - 1, gridIndex));
+    }
+
+    /**
+     * Helper method which gets the list for a square, creating it if needed.
+     *
+     * @param cell the index of the square
+     * @return the list of Enemies in that square
+     */
+    private ArrayList<Enemy> bucket(int cell) {
+        if (cells[cell] == null) {
+            cells[cell] = new ArrayList<>();
+        }
+        return cells[cell];
+    }
+}
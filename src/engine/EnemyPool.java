@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.enemies.Queen;
+
+/**
+ * Class which keeps Burrowers and Queens that have died and been removed from
+ * the board, so that Hives can reuse them instead of allocating new ones.
+ * A released Enemy is left exactly as it died until it is handed out again,
+ * so anything still holding on to it sees a dead Enemy.
+ *
+ * @author Nick Houser
+ */
+public class EnemyPool {
+
+    //the most Enemies of each type kept for reuse
+    public static final int CAPACITY = 1024;
+
+    //the dead Enemies waiting to be reused
+    private final ArrayList<Burrower> burrowers;
+    private final ArrayList<Queen> queens;
+
+    //the size of one grid square on the board
+    private final int squareSize;
+
+    //the metrics which reuses and allocations are counted in
+    private final TickMetrics metrics;
+
+    /**
+     * Constructor which creates an empty pool.
+     *
+     * @param squareSize the size of one grid square on the board
+     * @param metrics the metrics to count reuses and allocations in
+     */
+    public EnemyPool(int squareSize, TickMetrics metrics) {
+        this.squareSize = squareSize;
+        this.metrics = metrics;
+        burrowers = new ArrayList<>();
+        queens = new ArrayList<>();
+    }
+
+    /**
+     * Method which gets a Burrower at the passed position heading for the
+     * passed target, reusing a dead one if there is one.
+     *
+     * @param xPosition the x position of the Burrower
+     * @param yPosition the y position of the Burrower
+     * @param targetX the x position the Burrower should travel towards
+     * @param targetY the y position the Burrower should travel towards
+     * @return a live Burrower which is not on any board
+     */
+    public Burrower burrower(int xPosition, int yPosition, int targetX, int targetY) {
+        if (burrowers.isEmpty()) {
+            metrics.enemyPooled(false);
+            return new Burrower(xPosition, yPosition, new Point(targetX, targetY), squareSize);
+        }
+
+        Burrower burrower = burrowers.remove(burrowers.size() - 1);
+        burrower.reset(xPosition, yPosition, targetX, targetY);
+        metrics.enemyPooled(true);
+        return burrower;
+    }
+
+    /**
+     * Method which gets a Queen at the passed position heading for the passed
+     * target, reusing a dead one if there is one.
+     *
+     * @param xPosition the x position of the Queen
+     * @param yPosition the y position of the Queen
+     * @param targetX the x position the Queen should travel towards
+     * @param targetY the y position the Queen should travel towards
+     * @return a live Queen which is not on any board
+     */
+    public Queen queen(int xPosition, int yPosition, int targetX, int targetY) {
+        if (queens.isEmpty()) {
+            metrics.enemyPooled(false);
+            return new Queen(xPosition, yPosition, new Point(targetX, targetY), squareSize);
+        }
+
+        Queen queen = queens.remove(queens.size() - 1);
+        queen.reset(xPosition, yPosition, targetX, targetY);
+        metrics.enemyPooled(true);
+        return queen;
+    }
+
+    /**
+     * Method which offers an Enemy which has died and been removed from the
+     * board for reuse. Only plain Burrowers and Queens are kept, and only up
+     * to CAPACITY of each.
+     *
+     * @param enemy the dead Enemy
+     */
+    public void release(Enemy enemy) {
+        if (enemy.getClass() == Burrower.class && burrowers.size() < CAPACITY) {
+            burrowers.add((Burrower) enemy);
+        } else if (enemy.getClass() == Queen.class && queens.size() < CAPACITY) {
+            queens.add((Queen) enemy);
+        }
+    }
+
+    /**
+     * Method which gets the number of Enemies waiting to be reused.
+     *
+     * @return the number of pooled Enemies
+     */
+    public int size() {
+        return burrowers.size() + queens.size();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+/**
+ * Class which decides when a game loop should step its Simulation so that the
+ * Simulation runs at a fixed rate no matter how long each step or frame takes.
+ * Steps are scheduled on an absolute timeline, so time lost to a slow step is
+ * made up by running extra steps on the next pass. Only when the loop falls
+ * more than a set number of steps behind is the backlog dropped, which is the
+ * one case where the game slows down. All times are in nanoseconds as returned
+ * by System.nanoTime().
+ *
+ * @author Nick Houser
+ */
+public class FixedStepClock {
+
+    //the length of one simulation step
+    private final long stepLength;
+
+    //the largest number of steps run in one pass to catch up
+    private final int maxCatchUp;
+
+    //the time at which the next step is due
+    private long nextStep;
+
+    /**
+     * Constructor which starts the clock so that the first step is due one
+     * step length after the passed time.
+     *
+     * @param stepLength the length of one simulation step
+     * @param maxCatchUp the largest number of steps to run in one pass
+     * @param start the time at which the clock starts
+     */
+    public FixedStepClock(long stepLength, int maxCatchUp, long start) {
+        this.stepLength = stepLength;
+        this.maxCatchUp = maxCatchUp;
+        nextStep = start + stepLength;
+    }
+
+    /**
+     * Method which works out how many steps are due at the passed time and
+     * moves the clock past them. If more than the catch up limit are due, the
+     * rest are dropped.
+     *
+     * @param now the current time
+     * @return the number of steps the caller should run now
+     */
+    public int advance(long now) {
+        int steps = 0;
+        while (now - nextStep >= 0 && steps < maxCatchUp) {
+            nextStep = nextStep + stepLength;
+            steps = steps + 1;
+        }
+
+        if (now - nextStep >= 0) {
+            nextStep = now + stepLength;
+        }
+        return steps;
+    }
+
+    /**
+     * Method which gets how far the passed time is between the last step and
+     * the next one, used to draw moving units between their positions.
+     *
+     * @param now the current time
+     * @return a fraction from 0, just after a step, to 1, when the next is due
+     */
+    public double interpolation(long now) {
+        double fraction = 1.0 - (double) (nextStep - now) / stepLength;
+        return Math.max(0.0, Math.min(1.0, fraction));
+    }
+
+    /**
+     * Method which gets how long the caller can wait before the next step is
+     * due.
+     *
+     * @param now the current time
+     * @return the time until the next step, or 0 if it is already due
+     */
+    public long untilNextStep(long now) {
+        return Math.max(0, nextStep - now);
+    }
+}
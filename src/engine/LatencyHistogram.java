@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Class which records a distribution of durations in a fixed set of buckets,
+ * in the style of HdrHistogram. Buckets are exact below 32 nanoseconds and
+ * above that split each power of two into 16 equal parts, so every recorded
+ * value is kept to within about 6% while the whole range of a long fits in
+ * under a thousand counters. Recording never allocates.
+ *
+ * Only one thread may record into or reset a histogram. Other threads may read
+ * it at any time, but may then see results that are a few records out of
+ * date. To clear a histogram from another thread, replace it with a new one
+ * instead, as TickMetrics does.
+ *
+ * @author Nick Houser
+ */
+public class LatencyHistogram {
+
+    //the number of low order bits kept exactly within each power of two
+    private static final int SUB_BUCKET_BITS = 4;
+
+    //the number of sub buckets in each power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    //the number of buckets needed to cover every non-negative long
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    //the number of values recorded in each bucket
+    private final long[] counts;
+
+    //summary values of everything recorded
+    private long total;
+    private long sum;
+    private long max;
+
+    /**
+     * Constructor which creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        counts = new long[BUCKETS];
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Records one duration. Negative durations are recorded as 0.
+     *
+     * @param nanos the duration to record, in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        total = total + 1;
+        sum = sum + value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Method which gets the number of durations recorded.
+     *
+     * @return the number of durations recorded
+     */
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Method which gets the longest duration recorded.
+     *
+     * @return the longest duration, in nanoseconds
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Method which gets the mean of the durations recorded.
+     *
+     * @return the mean duration in nanoseconds, or 0 if none were recorded
+     */
+    public double mean() {
+        return (total == 0) ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Method which gets the duration below which the passed percentage of the
+     * recorded durations fall. The result is the top of the bucket holding
+     * that duration, so it may overstate it by the bucket's width.
+     *
+     * @param percentile the percentage to look up, from 0 to 100
+     * @return the duration at that percentile, in nanoseconds
+     */
+    public long percentile(double percentile) {
+        long wanted = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen = seen + counts[bucket];
+            if (seen >= wanted) {
+                return Math.min(max, highestValueIn(bucket));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Method which forgets everything recorded. Like record, this must only be
+     * called by the thread recording into the histogram.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Helper method which finds the bucket a value belongs in.
+     *
+     * @param value the non-negative value to file
+     * @return the index of the bucket
+     */
+    private static int bucketOf(long value) {
+        int magnitude = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1);
+        return magnitude * SUB_BUCKETS + (int) (value >>> magnitude);
+    }
+
+    /**
+     * Helper method which finds the largest value filed in a bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value in that bucket
+     */
+    private static long highestValueIn(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket - (long) magnitude * SUB_BUCKETS;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+/**
+ * Class which describes the square of grid squares within a fixed range of a
+ * grid square, as a flat list of the indices of the squares which lie on the
+ * board. Towers never move, so each one can look up its Neighbourhood once
+ * and then search it every tick without building corner Points or checking
+ * the edges of the board again. Neighbourhoods never change, so Towers with
+ * the same range in the same square share one.
+ *
+ * @author Nick Houser
+ */
+public class Neighbourhood {
+
+    //the indices of the grid squares in range which are on the board, in
+    //order of x and then y, each indexed by x * numSquares + y
+    public final int[] cells;
+
+    //the same grid squares in order of their distance from the centre, where
+    //the squares ring steps out from the centre end at index ringEnds[ring]
+    public final int[] byDistance;
+    public final int[] ringEnds;
+
+    //the edges of the area, which may lie off the board
+    public final int minX;
+    public final int minY;
+    public final int maxX;
+    public final int maxY;
+
+    /**
+     * Constructor which lists the grid squares within the passed range of the
+     * passed grid square.
+     *
+     * @param gridX the x index of the square at the centre
+     * @param gridY the y index of the square at the centre
+     * @param range the number of squares the area extends in each direction
+     * @param numSquares the number of squares along each side of the board
+     */
+    public Neighbourhood(int gridX, int gridY, int range, int numSquares) {
+        minX = gridX - range;
+        minY = gridY - range;
+        maxX = gridX + range;
+        maxY = gridY + range;
+
+        int fromX = Math.max(minX, 0);
+        int fromY = Math.max(minY, 0);
+        int toX = Math.min(maxX, numSquares - 1);
+        int toY = Math.min(maxY, numSquares - 1);
+
+        cells = new int[Math.max(0, toX - fromX + 1) * Math.max(0, toY - fromY + 1)];
+        int next = 0;
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                cells[next] = x * numSquares + y;
+                next = next + 1;
+            }
+        }
+
+        ringEnds = new int[range + 1];
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                ringEnds[ring(gridX, gridY, x, y)]++;
+            }
+        }
+        for (int ring = 1; ring <= range; ring++) {
+            ringEnds[ring] = ringEnds[ring] + ringEnds[ring - 1];
+        }
+
+        byDistance = new int[cells.length];
+        int[] fill = new int[range + 1];
+        for (int ring = 1; ring <= range; ring++) {
+            fill[ring] = ringEnds[ring - 1];
+        }
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                int ring = ring(gridX, gridY, x, y);
+                byDistance[fill[ring]] = x * numSquares + y;
+                fill[ring] = fill[ring] + 1;
+            }
+        }
+    }
+
+    /**
+     * Method which checks whether a grid square lies within the area, whether
+     * or not it is on the board.
+     *
+     * @param gridX the x index of the square to check
+     * @param gridY the y index of the square to check
+     * @return true if the square is in the area, false otherwise
+     */
+    public boolean contains(int gridX, int gridY) {
+        return gridX >= minX && gridX <= maxX && gridY >= minY && gridY <= maxY;
+    }
+
+    /**
+     * Helper method which finds how many squares out from the centre a grid
+     * square lies, counting diagonal steps as one square.
+     *
+     * @param centreX the x index of the square at the centre
+     * @param centreY the y index of the square at the centre
+     * @param gridX the x index of the square
+     * @param gridY the y index of the square
+     * @return the ring the square lies in, where the centre is ring 0
+     */
+    private static int ring(int centreX, int centreY, int gridX, int gridY) {
+        return Math.max(Math.abs(gridX - centreX), Math.abs(gridY - centreY));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import units.enemies.Enemy;
+
+/**
+ * Extension of Simulation which spreads the Enemy half of each tick across
+ * several threads. Each tick runs in two phases: first every Enemy plans its
+ * move in parallel, which only reads the Towers and changes the Enemy's own
+ * position, then the usual single threaded tick applies the results in list
+ * order, including creating Terrain objects, damage to Towers, spawns and
+ * deaths. Because no Enemy's
+ * plan depends on anything another Enemy does during the tick, the result is
+ * identical to that of a plain Simulation.
+ *
+ * Towers are still ticked on a single thread, because Healers and the power
+ * grid depend on the order in which the Towers around them are updated.
+ *
+ * @author Nick Houser
+ */
+public class ParallelSimulation extends Simulation {
+
+    //the number of Enemies below which a range is planned on a single thread
+    private static final int THRESHOLD = 256;
+
+    //the pool whose threads plan Enemy moves
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor which sets up a simulation running on the passed state and
+     * using the common thread pool.
+     *
+     * @param initialState the initial board state to simulate
+     */
+    public ParallelSimulation(BoardState initialState) {
+        this(initialState, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor which sets up a simulation running on the passed state and
+     * using the passed thread pool.
+     *
+     * @param initialState the initial board state to simulate
+     * @param pool the pool whose threads plan Enemy moves
+     */
+    public ParallelSimulation(BoardState initialState, ForkJoinPool pool) {
+        super(initialState);
+        this.pool = pool;
+    }
+
+    /**
+     * Helper method which plans the moves of every Enemy in parallel and then
+     * runs the normal Enemy pass, which applies them in order.
+     */
+    @Override
+    protected void tickEnemies() {
+        int enemyCount = state().enemies.size();
+        if (enemyCount > THRESHOLD) {
+            pool.invoke(new PlanTask(0, enemyCount));
+        } else {
+            planRange(0, enemyCount);
+        }
+        super.tickEnemies();
+    }
+
+    /**
+     * Helper method which plans the moves of a range of Enemies on the calling
+     * thread.
+     *
+     * @param from the index of the first Enemy to plan
+     * @param to the index after the last Enemy to plan
+     */
+    private void planRange(int from, int to) {
+        UnitList<Enemy> enemies = state().enemies;
+        for (int index = from; index < to; index++) {
+            enemies.get(index).plan(this);
+        }
+    }
+
+    /**
+     * Task which plans a range of Enemies, splitting it in half until each
+     * piece is small enough to run on one thread.
+     */
+    private class PlanTask extends RecursiveAction {
+
+        //the version of the serialized form, which is never used
+        private static final long serialVersionUID = 1L;
+
+        //the range of Enemies to plan
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor which sets the range of Enemies to plan.
+         *
+         * @param from the index of the first Enemy to plan
+         * @param to the index after the last Enemy to plan
+         */
+        PlanTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plans the range directly if it is small, otherwise splits it.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                planRange(from, to);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlanTask(from, middle), new PlanTask(middle, to));
+        }
+    }
+}
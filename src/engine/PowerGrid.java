@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import units.Unit;
+import units.enemies.Enemy;
+import units.towers.Generator;
+import units.towers.Powered;
+import units.towers.Tower;
+
+/**
+ * Class which keeps track of which Towers on the board are receiving power.
+ * Power flows outwards from the source Generators placed by the level: a
+ * powered Generator powers every Powered Tower within its range, and each
+ * Powered Tower remembers the Generator powering it. The grid is only updated
+ * when a Tower is placed or destroyed, so checking whether a Tower is powered
+ * never needs a search of the board. Placements arrive as board events; a
+ * Tower is only cut out of the grid once the Simulation removes it, rather
+ * than as soon as it dies, so that power is never routed back into it.
+ *
+ * @author Nick Houser
+ */
+public class PowerGrid implements BoardListener {
+
+    //the BoardState holding the Towers being powered
+    private final BoardState boardState;
+
+    //the metrics which grid updates report their duration to
+    private final TickMetrics metrics;
+
+    //the visitor which passes power on from a Generator to the Towers in range
+    private final Spreader spreader;
+
+    //the visitor which stops at the first powered Generator in range
+    private final TowerVisitor poweredGenerator;
+
+    /**
+     * Constructor which powers every Tower already connected to a source
+     * Generator on the passed board.
+     *
+     * @param state the BoardState holding the Towers to power
+     */
+    public PowerGrid(BoardState state) {
+        this(state, new TickMetrics());
+    }
+
+    /**
+     * Constructor which powers every Tower already connected to a source
+     * Generator on the passed board and reports the duration of later
+     * updates to the passed metrics.
+     *
+     * @param state the BoardState holding the Towers to power
+     * @param metrics the metrics to report update durations to
+     */
+    public PowerGrid(BoardState state, TickMetrics metrics) {
+        boardState = state;
+        this.metrics = metrics;
+        spreader = new Spreader();
+        poweredGenerator = tower -> tower instanceof Generator && ((Generator) tower).isPowered();
+
+        ArrayDeque<Generator> frontier = new ArrayDeque<>();
+        for (int x = 0; x < boardState.numSquares; x++) {
+            for (int y = 0; y < boardState.numSquares; y++) {
+                Tower tower = boardState.towers.get(x, y);
+                if (tower instanceof Generator && ((Generator) tower).isSource()) {
+                    frontier.add((Generator) tower);
+                }
+            }
+        }
+        spread(frontier);
+    }
+
+    /**
+     * Method which must be called after a Tower is placed on the board. Powers
+     * the Tower if a powered Generator is in range, and if the Tower is itself
+     * a powered Generator, passes power on to everything it can now reach.
+     *
+     * @param tower the Tower which was placed
+     */
+    public void towerAdded(Tower tower) {
+        long started = System.nanoTime();
+        applyAdded(tower);
+        metrics.addPower(started);
+    }
+
+    /**
+     * Method which does nothing, because damage does not affect power.
+     *
+     * @param unit the unit which was damaged
+     */
+    @Override
+    public void onDamaged(Unit unit) {
+        //do nothing
+    }
+
+    /**
+     * Method which does nothing, because a dead Tower keeps its place in the
+     * grid until towerRemoved is called for it.
+     *
+     * @param unit the unit which died
+     */
+    @Override
+    public void onDeath(Unit unit) {
+        //do nothing
+    }
+
+    /**
+     * Method which does nothing, because Enemies do not affect power.
+     *
+     * @param enemy the Enemy which was added
+     */
+    @Override
+    public void onSpawn(Enemy enemy) {
+        //do nothing
+    }
+
+    /**
+     * Method which updates the grid when a Tower is placed.
+     *
+     * @param tower the Tower which was placed
+     */
+    @Override
+    public void onPlaced(Tower tower) {
+        towerAdded(tower);
+    }
+
+    /**
+     * Method which must be called after a Tower is removed from the board. If
+     * the Tower was a Generator, everything downstream of it loses power and
+     * is then reconnected through any other powered Generator in range.
+     *
+     * @param tower the Tower which was removed
+     */
+    public void towerRemoved(Tower tower) {
+        long started = System.nanoTime();
+        applyRemoved(tower);
+        metrics.addPower(started);
+    }
+
+    /**
+     * Helper method which powers a newly placed Tower and spreads power on
+     * from it.
+     *
+     * @param tower the Tower which was placed
+     */
+    private void applyAdded(Tower tower) {
+        if (!(tower instanceof Powered)) {
+            return;
+        }
+
+        Powered added = (Powered) tower;
+        if (!added.isPowered()) {
+            Generator provider = poweredGeneratorNear(added);
+            if (provider != null) {
+                supply(provider, added);
+            }
+        }
+
+        if (added.isPowered() && added instanceof Generator) {
+            ArrayDeque<Generator> frontier = new ArrayDeque<>();
+            frontier.add((Generator) added);
+            spread(frontier);
+        }
+    }
+
+    /**
+     * Helper method which cuts power to a removed Tower and everything
+     * downstream of it, then reconnects what it can.
+     *
+     * @param tower the Tower which was removed
+     */
+    private void applyRemoved(Tower tower) {
+        if (!(tower instanceof Powered)) {
+            return;
+        }
+
+        Powered removed = (Powered) tower;
+        if (removed.getProvider() != null) {
+            removed.getProvider().disconnect(removed);
+        }
+        if (!(removed instanceof Generator)) {
+            unPower(removed);
+            return;
+        }
+
+        ArrayList<Powered> orphans = new ArrayList<>();
+        ArrayDeque<Generator> downstream = new ArrayDeque<>();
+        downstream.add((Generator) removed);
+        while (!downstream.isEmpty()) {
+            Generator generator = downstream.poll();
+            for (Powered consumer : generator.getConsumers()) {
+                orphans.add(consumer);
+                if (consumer instanceof Generator) {
+                    downstream.add((Generator) consumer);
+                }
+            }
+            unPower(generator);
+        }
+
+        ArrayDeque<Generator> frontier = new ArrayDeque<>();
+        for (Powered orphan : orphans) {
+            unPower(orphan);
+        }
+        for (Powered orphan : orphans) {
+            if (orphan.isPowered()) {
+                continue;
+            }
+
+            Generator provider = poweredGeneratorNear(orphan);
+            if (provider != null) {
+                supply(provider, orphan);
+                if (orphan instanceof Generator) {
+                    frontier.add((Generator) orphan);
+                }
+            }
+        }
+        spread(frontier);
+    }
+
+    /**
+     * Helper method which passes power outwards from the passed Generators,
+     * powering every unpowered Powered Tower in range and continuing through
+     * any Generators among them.
+     *
+     * @param frontier the powered Generators to spread power from
+     */
+    private void spread(ArrayDeque<Generator> frontier) {
+        while (!frontier.isEmpty()) {
+            spreader.generator = frontier.poll();
+            spreader.frontier = frontier;
+            boardState.towers.visit(inRangeOf(spreader.generator), spreader);
+        }
+        spreader.generator = null;
+        spreader.frontier = null;
+    }
+
+    /**
+     * Helper method which finds a powered Generator within range of the passed
+     * Tower. The Tower itself is never found, because it is not powered.
+     *
+     * @param consumer the Tower which needs power
+     * @return a powered Generator in range, or null if there is none
+     */
+    private Generator poweredGeneratorNear(Powered consumer) {
+        return (Generator) boardState.towers.visit(inRangeOf(consumer), poweredGenerator);
+    }
+
+    /**
+     * Helper method which powers a consumer from a Generator and records the
+     * change on the board's TowerGrid.
+     *
+     * @param provider the Generator to supply power from
+     * @param consumer the Tower to power
+     */
+    private void supply(Generator provider, Powered consumer) {
+        provider.supply(consumer);
+        boardState.towers.powerChanged(consumer);
+    }
+
+    /**
+     * Helper method which cuts power to a Tower and records the change on the
+     * board's TowerGrid.
+     *
+     * @param tower the Tower to unpower
+     */
+    private void unPower(Powered tower) {
+        tower.unPower();
+        boardState.towers.powerChanged(tower);
+    }
+
+    /**
+     * Helper method which gets the grid squares within range of a Generator
+     * placed at the passed Tower's square.
+     *
+     * @param tower the Tower at the centre of the area
+     * @return the Neighbourhood of the Tower's square
+     */
+    private Neighbourhood inRangeOf(Tower tower) {
+        Point center = tower.getGridPosition();
+        return boardState.towers.neighbourhood(center.x, center.y, Generator.RANGE);
+    }
+
+    /**
+     * Visitor which powers every unpowered Powered Tower in range of a
+     * Generator, adding any Generators among them to the frontier so that
+     * power spreads on from them too.
+     */
+    private class Spreader implements TowerVisitor {
+
+        //the Generator power is being spread from
+        private Generator generator;
+
+        //the Generators still to spread power from
+        private ArrayDeque<Generator> frontier;
+
+        /**
+         * Method which powers the passed Tower from the Generator if it needs
+         * power.
+         *
+         * @param tower a Tower in range of the Generator
+         * @return false, so that every Tower in range is visited
+         */
+        @Override
+        public boolean visit(Tower tower) {
+            if (tower == generator || !(tower instanceof Powered)) {
+                return false;
+            }
+
+            Powered consumer = (Powered) tower;
+            if (!consumer.isPowered()) {
+                supply(generator, consumer);
+                if (consumer instanceof Generator) {
+                    frontier.add((Generator) consumer);
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+/**
+ * Class which passes RenderSnapshots from the simulation thread to the thread
+ * painting the board using three snapshots in rotation. The simulation thread
+ * records into the back snapshot and publishes it, while the painting thread
+ * reads the most recently published one. Neither thread ever waits for the
+ * other to finish drawing, and no snapshot is allocated after construction.
+ *
+ * @author Nick Houser
+ */
+public class RenderBuffer {
+
+    //the snapshot being recorded by the simulation thread
+    private RenderSnapshot back;
+
+    //the most recently published snapshot not yet picked up for painting
+    private RenderSnapshot ready;
+
+    //the snapshot being painted
+    private RenderSnapshot front;
+
+    //variable tracking whether ready holds a snapshot newer than front
+    private boolean fresh;
+
+    /**
+     * Constructor which creates the three snapshots.
+     */
+    public RenderBuffer() {
+        back = new RenderSnapshot();
+        ready = new RenderSnapshot();
+        front = new RenderSnapshot();
+        fresh = false;
+    }
+
+    /**
+     * Method which gets an empty snapshot to record the next tick into. Only
+     * the simulation thread may call this.
+     *
+     * @return the cleared back snapshot
+     */
+    public RenderSnapshot back() {
+        back.clear();
+        return back;
+    }
+
+    /**
+     * Method which makes the back snapshot available for painting. Only the
+     * simulation thread may call this.
+     */
+    public synchronized void publish() {
+        RenderSnapshot published = back;
+        back = ready;
+        ready = published;
+        fresh = true;
+    }
+
+    /**
+     * Method which gets the newest published snapshot for painting. Only the
+     * painting thread may call this, and the snapshot stays valid until its
+     * next call.
+     *
+     * @return the snapshot to paint
+     */
+    public synchronized RenderSnapshot acquire() {
+        if (fresh) {
+            RenderSnapshot acquired = ready;
+            ready = front;
+            front = acquired;
+            fresh = false;
+        }
+        return front;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+
+/**
+ * Class which records everything the units on the board draw during one tick
+ * as a list of primitive drawing commands, so that the board can be painted
+ * later from another thread without touching the units themselves. Its
+ * drawing methods mirror those of Graphics. A snapshot is reused from tick to
+ * tick rather than reallocated.
+ *
+ * Moving rectangles, which are what Enemies draw, are kept apart from the
+ * other commands in one batch per color. Each batch is painted with a single
+ * color change straight from its coordinate array, beneath everything else,
+ * so thousands of Enemies cost one fillRect each and a handful of setColor
+ * calls in total.
+ *
+ * @author Nick Houser
+ */
+public class RenderSnapshot {
+
+    //the kinds of drawing command which can be recorded
+    private static final int FILL_RECT = 0;
+    private static final int DRAW_LINE = 1;
+
+    //the number of ints used to store each command: its kind and four arguments
+    private static final int FIELDS = 5;
+
+    //the number of ints used to store each moving rectangle
+    private static final int MOVING_FIELDS = 6;
+
+    //the number of commands which fit before the snapshot first grows
+    private static final int INITIAL_CAPACITY = 1024;
+
+    //the number of moving rectangles which fit before a batch first grows
+    private static final int INITIAL_BATCH_CAPACITY = 256;
+
+    //the recorded commands and the color each one is drawn in
+    private int[] commands;
+    private Color[] colors;
+    private int count;
+
+    //the moving rectangles recorded, one batch per color; batches are kept
+    //when the snapshot is cleared so that their arrays can be reused
+    private Color[] batchColors;
+    private int[][] batchRects;
+    private int[] batchSizes;
+    private int batchCount;
+
+    //the batch the last moving rectangle was recorded into
+    private int lastBatch;
+
+    //the color used for commands recorded from now on
+    private Color color;
+
+    /**
+     * Constructor which creates an empty snapshot.
+     */
+    public RenderSnapshot() {
+        commands = new int[INITIAL_CAPACITY * FIELDS];
+        colors = new Color[INITIAL_CAPACITY];
+        count = 0;
+        batchColors = new Color[4];
+        batchRects = new int[4][];
+        batchSizes = new int[4];
+        batchCount = 0;
+        lastBatch = 0;
+        color = Color.BLACK;
+    }
+
+    /**
+     * Method which empties the snapshot so it can record a new tick.
+     */
+    public void clear() {
+        count = 0;
+        Arrays.fill(batchSizes, 0);
+        color = Color.BLACK;
+    }
+
+    /**
+     * Method which gets the number of commands recorded.
+     *
+     * @return the number of commands in the snapshot
+     */
+    public int size() {
+        int size = count;
+        for (int batch = 0; batch < batchCount; batch++) {
+            size = size + batchSizes[batch];
+        }
+        return size;
+    }
+
+    /**
+     * Sets the color used for commands recorded from now on.
+     *
+     * @param c the color to draw in
+     */
+    public void setColor(Color c) {
+        color = c;
+    }
+
+    /**
+     * Records a filled rectangle.
+     *
+     * @param x the x co-ordinate of the rectangle
+     * @param y the y co-ordinate of the rectangle
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    public void fillRect(int x, int y, int width, int height) {
+        append(FILL_RECT, x, y, width, height);
+    }
+
+    /**
+     * Records a line.
+     *
+     * @param x1 the x co-ordinate of the start of the line
+     * @param y1 the y co-ordinate of the start of the line
+     * @param x2 the x co-ordinate of the end of the line
+     * @param y2 the y co-ordinate of the end of the line
+     */
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        append(DRAW_LINE, x1, y1, x2, y2);
+    }
+
+    /**
+     * Records a filled rectangle which moved during the tick. When painted it
+     * is drawn part way between its two positions.
+     *
+     * @param fromX the x co-ordinate of the rectangle before the tick
+     * @param fromY the y co-ordinate of the rectangle before the tick
+     * @param toX the x co-ordinate of the rectangle after the tick
+     * @param toY the y co-ordinate of the rectangle after the tick
+     * @param width the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    public void fillMovingRect(int fromX, int fromY, int toX, int toY, int width, int height) {
+        int batch = batchFor(color);
+        int[] rects = batchRects[batch];
+        int base = batchSizes[batch] * MOVING_FIELDS;
+        if (base == rects.length) {
+            rects = Arrays.copyOf(rects, rects.length * 2);
+            batchRects[batch] = rects;
+        }
+
+        rects[base] = fromX;
+        rects[base + 1] = fromY;
+        rects[base + 2] = toX;
+        rects[base + 3] = toY;
+        rects[base + 4] = width;
+        rects[base + 5] = height;
+        batchSizes[batch] = batchSizes[batch] + 1;
+    }
+
+    /**
+     * Method which replays the recorded commands onto a Graphics object,
+     * starting with the batches of moving rectangles.
+     *
+     * @param g the Graphics object to draw on
+     * @param interpolation how far between their two positions to draw moving
+     * rectangles, from 0 for the start of the tick to 1 for the end
+     */
+    public void paint(Graphics g, double interpolation) {
+        for (int batch = 0; batch < batchCount; batch++) {
+            if (batchSizes[batch] > 0) {
+                paintBatch(g, batch, interpolation);
+            }
+        }
+
+        Color current = null;
+        for (int command = 0; command < count; command++) {
+            if (colors[command] != current) {
+                current = colors[command];
+                g.setColor(current);
+            }
+
+            int base = command * FIELDS;
+            switch (commands[base]) {
+                case FILL_RECT:
+                    g.fillRect(commands[base + 1], commands[base + 2], commands[base + 3], commands[base + 4]);
+                    break;
+                case DRAW_LINE:
+                    g.drawLine(commands[base + 1], commands[base + 2], commands[base + 3], commands[base + 4]);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Helper method which paints every moving rectangle in one batch.
+     *
+     * @param g the Graphics object to draw on
+     * @param batch the index of the batch to paint
+     * @param interpolation how far between their two positions to draw the
+     * rectangles, from 0 for the start of the tick to 1 for the end
+     */
+    private void paintBatch(Graphics g, int batch, double interpolation) {
+        g.setColor(batchColors[batch]);
+        int[] rects = batchRects[batch];
+        int end = batchSizes[batch] * MOVING_FIELDS;
+        for (int base = 0; base < end; base = base + MOVING_FIELDS) {
+            int x = (int) Math.round(rects[base] + (rects[base + 2] - rects[base]) * interpolation);
+            int y = (int) Math.round(rects[base + 1] + (rects[base + 3] - rects[base + 1]) * interpolation);
+            g.fillRect(x, y, rects[base + 4], rects[base + 5]);
+        }
+    }
+
+    /**
+     * Helper method which finds the batch of moving rectangles for a color,
+     * creating it if there is none yet. Consecutive rectangles are usually the
+     * same color, so the last batch used is checked first.
+     *
+     * @param c the color of the batch
+     * @return the index of the batch
+     */
+    private int batchFor(Color c) {
+        if (lastBatch < batchCount && batchColors[lastBatch] == c) {
+            return lastBatch;
+        }
+
+        for (int batch = 0; batch < batchCount; batch++) {
+            if (batchColors[batch] == c) {
+                lastBatch = batch;
+                return batch;
+            }
+        }
+
+        if (batchCount == batchColors.length) {
+            batchColors = Arrays.copyOf(batchColors, batchCount * 2);
+            batchRects = Arrays.copyOf(batchRects, batchCount * 2);
+            batchSizes = Arrays.copyOf(batchSizes, batchCount * 2);
+        }
+        batchColors[batchCount] = c;
+        batchRects[batchCount] = new int[INITIAL_BATCH_CAPACITY * MOVING_FIELDS];
+        lastBatch = batchCount;
+        batchCount = batchCount + 1;
+        return lastBatch;
+    }
+
+    /**
+     * Helper method which stores a command, growing the storage if needed.
+     *
+     * @param kind the kind of command
+     * @param a the first argument
+     * @param b the second argument
+     * @param c the third argument
+     * @param d the fourth argument
+     */
+    private void append(int kind, int a, int b, int c, int d) {
+        if (count == colors.length) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+            colors = Arrays.copyOf(colors, colors.length * 2);
+        }
+
+        int base = count * FIELDS;
+        commands[base] = kind;
+        commands[base + 1] = a;
+        commands[base + 2] = b;
+        commands[base + 3] = c;
+        commands[base + 4] = d;
+        colors[count] = color;
+        count = count + 1;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import units.towers.TowerType;
+
+/**
+ * Class which holds a replay written by ReplayRecorder and can run it against
+ * a fresh Simulation of the same level and seed, placing each Tower at the
+ * start of the same step as in the original game.
+ *
+ * @author Nick Houser
+ */
+public class Replay {
+
+    //the level and seed the game was played on
+    public final int level;
+    public final long seed;
+
+    //the number of steps the game ran for, or -1 if the replay was cut short
+    public final long length;
+
+    //the placements in order: the step, type and grid position of each
+    private long[] ticks;
+    private TowerType[] types;
+    private int[] gridX;
+    private int[] gridY;
+    private int count;
+
+    /**
+     * Constructor which reads a whole replay from a stream. A replay which
+     * stops part way, for example because the game was never closed, is read
+     * up to its last complete placement.
+     *
+     * @param source the stream to read the replay from
+     * @throws IOException if the stream cannot be read or is not a replay
+     */
+    public Replay(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        if (in.readInt() != ReplayRecorder.REPLAY_MAGIC || in.readUnsignedByte() != ReplayRecorder.VERSION) {
+            throw new IOException("Not a replay written by this version.");
+        }
+        level = (int) readVarint(in);
+        seed = in.readLong();
+
+        ticks = new long[16];
+        types = new TowerType[16];
+        gridX = new int[16];
+        gridY = new int[16];
+        count = 0;
+
+        long tick = 0;
+        long end = -1;
+        try {
+            while (end < 0) {
+                tick = tick + readVarint(in);
+                int type = in.readUnsignedByte();
+                if (type == ReplayRecorder.END) {
+                    end = tick;
+                } else {
+                    add(tick, TowerType.values()[type], (int) readVarint(in), (int) readVarint(in));
+                }
+            }
+        } catch (EOFException cutShort) {
+            //keep the placements read so far
+        }
+        length = end;
+    }
+
+    /**
+     * Method which gets the number of placements in the replay.
+     *
+     * @return the number of Towers the player placed
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Method which steps a Simulation through the replay, queueing each
+     * recorded Tower just before the step it was originally placed in. The
+     * Simulation must have been created from the same level and seed, and not
+     * yet stepped.
+     *
+     * @param simulation the Simulation to run
+     * @param steps the number of steps to run for
+     */
+    public void run(Simulation simulation, long steps) {
+        int next = 0;
+        for (long tick = 0; tick < steps; tick++) {
+            while (next < count && ticks[next] == tick) {
+                simulation.queueUnit(types[next].build(gridX[next] * simulation.getSquareSize(), gridY[next] * simulation.getSquareSize(), simulation.getSquareSize()));
+                next = next + 1;
+            }
+            simulation.step();
+        }
+    }
+
+    /**
+     * Helper method which stores one placement, growing the arrays if needed.
+     *
+     * @param tick the step the Tower was placed in
+     * @param type the type of the Tower
+     * @param x the x index of the Tower's grid square
+     * @param y the y index of the Tower's grid square
+     */
+    private void add(long tick, TowerType type, int x, int y) {
+        if (count == ticks.length) {
+            ticks = Arrays.copyOf(ticks, count * 2);
+            types = Arrays.copyOf(types, count * 2);
+            gridX = Arrays.copyOf(gridX, count * 2);
+            gridY = Arrays.copyOf(gridY, count * 2);
+        }
+        ticks[count] = tick;
+        types[count] = type;
+        gridX[count] = x;
+        gridY[count] = y;
+        count = count + 1;
+    }
+
+    /**
+     * Helper method which reads a number written by ReplayRecorder seven bits
+     * at a time.
+     *
+     * @param in the stream to read from
+     * @return the number read
+     * @throws IOException if the number cannot be read
+     */
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int next = in.readUnsignedByte();
+        while ((next & 0x80) != 0) {
+            value = value | ((long) (next & 0x7F) << shift);
+            shift = shift + 7;
+            next = in.readUnsignedByte();
+        }
+        return value | ((long) next << shift);
+    }
+}
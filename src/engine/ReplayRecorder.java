@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import units.towers.Tower;
+import units.towers.TowerType;
+
+/**
+ * Class which records the Towers the player places during a game into a
+ * compact binary replay. Together with the level and seed written at the
+ * start, that is everything needed to run the game again step for step.
+ *
+ * The format is the magic number REPLAY_MAGIC, a version byte, the level as a
+ * varint and the seed as a long. Each placement follows as the number of steps
+ * since the previous placement as a varint, the ordinal of its TowerType as a
+ * byte and its grid position as two varints. The replay ends with the number
+ * of steps since the last placement and the byte END, written when the
+ * recorder is closed.
+ *
+ * @author Nick Houser
+ */
+public class ReplayRecorder {
+
+    /**
+     * Constant which every replay starts with.
+     */
+    public static final int REPLAY_MAGIC = 0x54445250;
+
+    /**
+     * Constant giving the version of the format written.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Constant written in place of a TowerType to mark the end of a replay.
+     */
+    public static final int END = 0xFF;
+
+    //the stream the replay is written to, or null once closed or failed
+    private DataOutputStream out;
+
+    //the step of the last placement written
+    private long lastTick;
+
+    /**
+     * Constructor which starts a replay by writing its header.
+     *
+     * @param destination the stream to write the replay to
+     * @param level the level being played
+     * @param seed the seed of the board being played
+     * @throws IOException if the header cannot be written
+     */
+    public ReplayRecorder(OutputStream destination, int level, long seed) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(destination));
+        out.writeInt(REPLAY_MAGIC);
+        out.writeByte(VERSION);
+        writeVarint(level);
+        out.writeLong(seed);
+        out.flush();
+        lastTick = 0;
+    }
+
+    /**
+     * Method which records a Tower the player placed. Towers the player cannot
+     * place, such as Terrain, are ignored. If writing fails the recording
+     * stops, but the game carries on.
+     *
+     * @param tick the step at the start of which the Tower was placed
+     * @param tower the Tower which was placed
+     */
+    public synchronized void placed(long tick, Tower tower) {
+        TowerType type = TowerType.of(tower);
+        if (out == null || type == null) {
+            return;
+        }
+
+        try {
+            writeVarint(tick - lastTick);
+            out.writeByte(type.ordinal());
+            writeVarint(tower.getGridPosition().x);
+            writeVarint(tower.getGridPosition().y);
+            out.flush();
+            lastTick = tick;
+        } catch (IOException e) {
+            out = null;
+        }
+    }
+
+    /**
+     * Method which ends the replay at the passed step and closes the stream.
+     *
+     * @param tick the number of steps the game ran for
+     */
+    public synchronized void close(long tick) {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            writeVarint(tick - lastTick);
+            out.writeByte(END);
+            out.close();
+        } catch (IOException e) {
+            //the replay can still be played up to its last placement
+        }
+        out = null;
+    }
+
+    /**
+     * Helper method which writes a non-negative number seven bits at a time,
+     * so that small numbers take a single byte.
+     *
+     * @param value the number to write
+     * @throws IOException if the number cannot be written
+     */
+    private void writeVarint(long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining = remaining >>> 7;
+        }
+        out.writeByte((int) remaining);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+/**
+ * Interface for a unit which only needs to act at particular ticks, such as a
+ * Hive spawning Enemies. Rather than counting ticks itself, the unit asks the
+ * Simulation to wake it at the tick it next needs to act, and costs nothing
+ * in between.
+ *
+ * @author Nick Houser
+ */
+public interface Scheduled {
+
+    /**
+     * Method called when the unit is added to a Simulation, so that it can
+     * schedule its first action.
+     *
+     * @param board the Simulation the unit was added to
+     */
+    void start(Simulation board);
+
+    /**
+     * Method called at the tick the unit asked to be woken at.
+     *
+     * @param board the Simulation the unit is on
+     */
+    void wake(Simulation board);
+}
@@ -0,0 +1,486 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import units.Unit;
+import units.enemies.Enemy;
+import units.towers.Terrain;
+import units.towers.Tower;
+
+/**
+ * Class which runs the game logic for a single board. It owns the state of the
+ * board and the search APIs over it, and has no dependency on the user
+ * interface, so it can be stepped headless as well as behind a game window.
+ *
+ * @author Nick Houser
+ */
+public class Simulation {
+
+    //variable which tracks which units are currently on the board
+    private final BoardState boardState;
+
+    //variable which exposes search APIs for units on the board
+    private final BoardSearch boardSearch;
+
+    //variable which tracks which Towers are receiving power
+    private final PowerGrid powerGrid;
+
+    //units placed from other threads, waiting to be added at the next step
+    private final ConcurrentLinkedQueue<Unit> queuedUnits;
+
+    //variable which measures where the time in each tick goes
+    private final TickMetrics metrics;
+
+    //the grid squares whose Tower was placed or removed, for redrawing
+    private final BitSet changedTowers;
+
+    //the number of Enemies which have died since dead Enemies were last
+    //removed, so that the removal pass can be skipped when none have
+    private int deadEnemies;
+
+    //the number of steps run so far
+    private volatile long ticks;
+
+    //the first step in which a Unit added now will be ticked
+    private long nextUnitTick;
+
+    //the units waiting to be woken at a later step
+    private final TimingWheel wheel;
+
+    //the dead Enemies kept for reuse
+    private final EnemyPool enemyPool;
+
+    //where to record the units placed through queueUnit, or null
+    private ReplayRecorder recorder;
+
+    /**
+     * Constructor which sets up a simulation running on the passed state.
+     *
+     * @param initialState the initial board state to simulate
+     */
+    public Simulation(BoardState initialState) {
+        this(initialState, new BoardSearch(initialState));
+    }
+
+    /**
+     * Constructor which allows a subclass to supply its own search APIs over
+     * the board, for example when it stores Enemies differently.
+     *
+     * @param initialState the initial board state to simulate
+     * @param search the search APIs to expose to units
+     */
+    protected Simulation(BoardState initialState, BoardSearch search) {
+        boardState = initialState;
+        boardSearch = search;
+        metrics = search.metrics();
+        powerGrid = new PowerGrid(initialState, metrics);
+        queuedUnits = new ConcurrentLinkedQueue<>();
+        changedTowers = new BitSet(initialState.numSquares * initialState.numSquares);
+        changedTowers.set(0, initialState.numSquares * initialState.numSquares);
+        ticks = 0;
+        nextUnitTick = 0;
+        recorder = null;
+        wheel = new TimingWheel();
+        enemyPool = new EnemyPool(initialState.squareSize, metrics);
+
+        deadEnemies = 0;
+        for (Enemy enemy : initialState.enemies) {
+            enemy.setEvents(initialState.events);
+            if (enemy.isDead()) {
+                deadEnemies = deadEnemies + 1;
+            }
+            if (enemy instanceof Scheduled) {
+                ((Scheduled) enemy).start(this);
+            }
+        }
+        initialState.events.subscribe(new Cleanup());
+        initialState.events.subscribe(powerGrid);
+    }
+
+    /**
+     * Method which exposes the square size of the current board state.
+     *
+     * @return the draw size of one grid square
+     */
+    public int getSquareSize() {
+        return boardState.squareSize;
+    }
+
+    /**
+     * Method which exposes the state being simulated, used for rendering.
+     *
+     * @return the BoardState owned by this simulation
+     */
+    public BoardState state() {
+        return boardState;
+    }
+
+    /**
+     * Method which returns an object that exposes various methods for searching
+     * the units on the board.
+     *
+     * @return a BoardSearch object which exposes many methods for searching
+     */
+    public BoardSearch search() {
+        return boardSearch;
+    }
+
+    /**
+     * Method which exposes the grid tracking which Towers are powered.
+     *
+     * @return the PowerGrid of this board
+     */
+    public PowerGrid powerGrid() {
+        return powerGrid;
+    }
+
+    /**
+     * Method which exposes the Enemies kept for reuse, so that units spawning
+     * Enemies can take them from it instead of allocating new ones.
+     *
+     * @return the EnemyPool of this simulation
+     */
+    public EnemyPool enemyPool() {
+        return enemyPool;
+    }
+
+    /**
+     * Method which exposes the metrics recorded for each tick.
+     *
+     * @return the TickMetrics of this simulation
+     */
+    public TickMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Method which gets the number of steps run so far.
+     *
+     * @return the number of steps run
+     */
+    public long ticks() {
+        return ticks;
+    }
+
+    /**
+     * Method which gets the first step in which a Unit added now will be
+     * ticked. Units added before a step starts are ticked in it, while units
+     * added part way through, for example by a Hive, wait for the next one.
+     *
+     * @return the step a new Unit will first be ticked in
+     */
+    public long nextUnitTick() {
+        return nextUnitTick;
+    }
+
+    /**
+     * Method which asks for a unit to be woken at a later step, in the enemy
+     * phase after every Enemy has been ticked. A Tower waiting to be woken is
+     * not ticked until then.
+     *
+     * @param unit the unit to wake
+     * @param tick the step to wake it in
+     */
+    public void schedule(Scheduled unit, long tick) {
+        wheel.schedule(unit, tick);
+        if (unit instanceof Tower) {
+            boardState.towers.setDormant((Tower) unit, true);
+        }
+    }
+
+    /**
+     * Method which wakes a unit whose step has come. The wheel calls this.
+     *
+     * @param unit the unit to wake
+     */
+    void wake(Scheduled unit) {
+        if (unit instanceof Tower) {
+            boardState.towers.setDormant((Tower) unit, false);
+        }
+        unit.wake(this);
+    }
+
+    /**
+     * Method which creates a random number generator for a new unit, split
+     * from the seed of the board.
+     *
+     * @return a new random number generator
+     */
+    public Random newRandom() {
+        return boardState.newRandom();
+    }
+
+    /**
+     * Method which starts recording every Tower placed through queueUnit,
+     * with the step it was placed in, so the game can be replayed later.
+     * Only the thread running the simulation may call this.
+     *
+     * @param recorder the recorder to write placements to
+     */
+    public void record(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Method which exposes the grid squares whose Tower has been placed or
+     * removed since the set was last cleared, indexed by x * numSquares + y.
+     * Every square starts out changed. Whoever redraws the squares should
+     * clear the set, on the thread running the simulation.
+     *
+     * @return the set of changed grid squares
+     */
+    public BitSet changedTowers() {
+        return changedTowers;
+    }
+
+    /**
+     * Method which asks for a Unit to be added to the board at the start of
+     * the next step. Unlike addUnit, this is safe to call from any thread, so
+     * it is how the user interface places Towers while the simulation runs.
+     *
+     * @param toAdd the Unit to be added
+     */
+    public void queueUnit(Unit toAdd) {
+        queuedUnits.add(toAdd);
+    }
+
+    /**
+     * Adds a Unit to the board.
+     *
+     * @param toAdd the Unit to be added
+     */
+    public void addUnit(Unit toAdd) {
+        if (toAdd instanceof Tower) {
+            Tower addTower = (Tower) toAdd;
+            if (boardSearch.edgesHit(addTower.getGridPosition().x, addTower.getGridPosition().y) != BoardSearch.EDGE_NONE) {
+                return;
+            }
+
+            int cell = boardState.towers.cell(addTower.getGridPosition().x, addTower.getGridPosition().y);
+            Tower currentOccupant = boardState.towers.get(cell);
+            if (currentOccupant != null && !(currentOccupant instanceof Terrain)) {
+                return;
+            }
+
+            if (boardSearch.enemyAtGridPosition(addTower.getGridPosition())) {
+                return;
+            }
+
+            boardState.towers.set(cell, addTower);
+            boardState.terrain.clear(cell);
+            boardState.events.placed(addTower);
+        } else if (toAdd instanceof Enemy) {
+            Enemy addEnemy = (Enemy) toAdd;
+            boardState.enemies.add(addEnemy);
+            boardSearch.enemyAdded(addEnemy);
+            addEnemy.setEvents(boardState.events);
+            if (addEnemy.isDead()) {
+                deadEnemies = deadEnemies + 1;
+            }
+            if (addEnemy instanceof Scheduled) {
+                ((Scheduled) addEnemy).start(this);
+            }
+            boardState.events.spawned(addEnemy);
+        } else {
+            throw new Error("Tried to add a unit that was neither a Tower nor an Enemy.");
+        }
+    }
+
+    /**
+     * Update method. This is called continuously by the main game loop to
+     * simulate continuous action. Adds any units queued from other threads,
+     * calls all objects on the board to update themselves and wakes the units
+     * scheduled for this step, then clears out the Enemies that died during
+     * the tick.
+     * Enemies spawned during the tick are not ticked until the next one.
+     * The duration of each phase is recorded in the metrics.
+     */
+    public void step() {
+        long tickStarted = System.nanoTime();
+        addQueuedUnits();
+        nextUnitTick = ticks + 1;
+        long phaseStarted = System.nanoTime();
+        tickEnemies();
+        wheel.advance(ticks, this);
+        phaseStarted = metrics.record(TickMetrics.ENEMIES, phaseStarted);
+        int towerCount = tickTowers();
+        metrics.record(TickMetrics.TOWERS, phaseStarted);
+        removeDeadEnemies();
+        ticks = ticks + 1;
+        nextUnitTick = ticks;
+        metrics.endTick(tickStarted, enemyCount(), towerCount);
+    }
+
+    /**
+     * Helper method which adds every Unit queued by queueUnit to the board,
+     * recording each one if a recorder is set.
+     */
+    protected void addQueuedUnits() {
+        Unit queued = queuedUnits.poll();
+        while (queued != null) {
+            if (recorder != null && queued instanceof Tower) {
+                recorder.placed(ticks, (Tower) queued);
+            }
+            addUnit(queued);
+            queued = queuedUnits.poll();
+        }
+    }
+
+    /**
+     * Helper method which ticks every Enemy that was on the board when the
+     * tick started.
+     */
+    protected void tickEnemies() {
+        int enemyCount = boardState.enemies.size();
+        for (int index = 0; index < enemyCount; index++) {
+            boardState.enemies.get(index).tick(this);
+        }
+    }
+
+    /**
+     * Helper method which clears out the Towers killed since the last tick and
+     * then ticks every Tower which has something to do. Passive Towers, such
+     * as Terrain and Blockers, are only looked at once they report their
+     * death, so the cost of this scales with the number of active Towers
+     * rather than the size of the board.
+     *
+     * @return the number of Towers on the board
+     */
+    protected int tickTowers() {
+        TowerGrid towers = boardState.towers;
+        int towerCount = towers.occupied().cardinality();
+
+        BitSet dead = towers.dead();
+        for (int cell = dead.nextSetBit(0); cell >= 0; cell = dead.nextSetBit(cell + 1)) {
+            removeTower(cell, towers.get(cell));
+        }
+
+        BitSet ticking = towers.ticking();
+        for (int cell = ticking.nextSetBit(0); cell >= 0; cell = ticking.nextSetBit(cell + 1)) {
+            Tower current = towers.get(cell);
+            current.tick(this);
+            if (current.isDead()) {
+                removeTower(cell, current);
+            }
+        }
+        return towerCount;
+    }
+
+    /**
+     * Helper method which removes a dead Tower from the board.
+     *
+     * @param cell the index of the square holding the Tower
+     * @param tower the Tower to remove
+     */
+    private void removeTower(int cell, Tower tower) {
+        boardState.towers.set(cell, null);
+        boardState.terrain.clear(cell);
+        powerGrid.towerRemoved(tower);
+        changedTowers.set(cell);
+    }
+
+    /**
+     * Helper method which removes every dead Enemy from the board in a single
+     * pass over the Enemy list. The pass is skipped entirely on ticks where no
+     * Enemy reported its death.
+     */
+    protected void removeDeadEnemies() {
+        if (deadEnemies == 0) {
+            return;
+        }
+
+        int index = 0;
+        while (index < boardState.enemies.size()) {
+            Enemy enemy = boardState.enemies.get(index);
+            if (enemy.isDead()) {
+                boardState.enemies.removeAt(index);
+                boardSearch.enemyRemoved(enemy);
+                enemy.setEvents(null);
+                enemyPool.release(enemy);
+                metrics.enemyDied();
+            } else {
+                index = index + 1;
+            }
+        }
+        deadEnemies = 0;
+    }
+
+    /**
+     * Helper method which counts the Enemies on the board.
+     *
+     * @return the number of Enemies on the board
+     */
+    protected int enemyCount() {
+        return boardState.enemies.size();
+    }
+
+    /**
+     * Listener which keeps track of the units which die, so they can be
+     * cleared out without checking every unit, and of the squares which need
+     * redrawing and the spawns which need counting.
+     */
+    private class Cleanup implements BoardListener {
+
+        /**
+         * Method which does nothing, because damage alone does not need any
+         * cleaning up.
+         *
+         * @param unit the unit which was damaged
+         */
+        @Override
+        public void onDamaged(Unit unit) {
+            //do nothing
+        }
+
+        /**
+         * Method which records a dead unit for removal.
+         *
+         * @param unit the unit which died
+         */
+        @Override
+        public void onDeath(Unit unit) {
+            if (unit instanceof Tower) {
+                boardState.towers.towerDied((Tower) unit);
+            } else {
+                deadEnemies = deadEnemies + 1;
+            }
+        }
+
+        /**
+         * Method which counts a new Enemy in the metrics.
+         *
+         * @param enemy the Enemy which was added
+         */
+        @Override
+        public void onSpawn(Enemy enemy) {
+            metrics.enemySpawned();
+        }
+
+        /**
+         * Method which marks the square of a new Tower for redrawing.
+         *
+         * @param tower the Tower which was placed
+         */
+        @Override
+        public void onPlaced(Tower tower) {
+            changedTowers.set(boardState.towers.cell(tower.getGridPosition().x, tower.getGridPosition().y));
+        }
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+import units.Unit;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.enemies.Queen;
+import units.towers.TargetingPolicy;
+import units.towers.Tower;
+
+/**
+ * Alternative Simulation intended for headless stress runs with very large
+ * numbers of Enemies. Instead of one object per Enemy, Enemies are kept in an
+ * EnemyArrays store and the Hive, Burrower and Queen behaviours run as batch
+ * passes over those arrays. Towers are still ordinary objects and tick exactly
+ * as they do in a regular Simulation; Shooters see the Enemies through the
+ * search APIs as usual.
+ *
+ * @author Nick Houser
+ */
+public class SwarmSimulation extends Simulation {
+
+    //the Enemies on the board
+    private final EnemyArrays enemies;
+
+    //random number generator used to aim newly spawned Enemies
+    private final Random rng;
+
+    //variables which track the size of the board
+    private final int squareSize;
+    private final int numSquares;
+
+    /**
+     * Constructor which sets up a simulation running on the passed state. Any
+     * Hives already in the state are moved into the array store.
+     *
+     * @param initialState the initial board state to simulate
+     */
+    public SwarmSimulation(BoardState initialState) {
+        this(initialState, adoptEnemies(initialState));
+    }
+
+    /**
+     * Constructor which sets up a simulation over an existing array store.
+     *
+     * @param initialState the initial board state to simulate
+     * @param enemies the store holding the Enemies on the board
+     */
+    private SwarmSimulation(BoardState initialState, EnemyArrays enemies) {
+        super(initialState, new SwarmSearch(initialState, enemies));
+        this.enemies = enemies;
+        rng = initialState.newRandom();
+        squareSize = initialState.squareSize;
+        numSquares = initialState.numSquares;
+        enemies.indexCells();
+    }
+
+    /**
+     * Method which exposes the array store holding the Enemies on the board.
+     *
+     * @return the Enemy store
+     */
+    public EnemyArrays enemies() {
+        return enemies;
+    }
+
+    /**
+     * Adds a Unit to the board. Towers are added as usual and Hives are added
+     * to the array store; other Enemies can only be spawned by Hives.
+     *
+     * @param toAdd the Unit to be added
+     */
+    @Override
+    public void addUnit(Unit toAdd) {
+        if (toAdd instanceof Hive) {
+            Point position = toAdd.getPosition();
+            enemies.add(EnemyArrays.TYPE_HIVE, position.x, position.y, 0, 0, 1);
+            metrics().enemySpawned();
+        } else if (toAdd instanceof Enemy) {
+            throw new Error("Only Hives can be added to a SwarmSimulation.");
+        } else {
+            super.addUnit(toAdd);
+        }
+    }
+
+    /**
+     * Helper method which runs the Enemy passes over the array store and then
+     * re-indexes it for the Towers' searches.
+     */
+    @Override
+    protected void tickEnemies() {
+        int enemyCount = enemies.count;
+        spawnFromHives(enemyCount);
+        moveEnemies(enemyCount);
+        enemies.indexCells();
+    }
+
+    /**
+     * Pass which advances the timer of every Hive and spawns Burrowers and
+     * Queens at the same cadence as a Hive on an ordinary Simulation.
+     *
+     * @param enemyCount the number of Enemies present when the tick started
+     */
+    private void spawnFromHives(int enemyCount) {
+        for (int index = 0; index < enemyCount; index++) {
+            if (enemies.type[index] != EnemyArrays.TYPE_HIVE) {
+                continue;
+            }
+
+            enemies.lifetime[index] = (enemies.lifetime[index] + 1) % 100000;
+            int centerX = enemies.roundedX(index) + squareSize / 2;
+            int centerY = enemies.roundedY(index) + squareSize / 2;
+
+            if (enemies.lifetime[index] % Hive.CADENCE_BURROWER == 0) {
+                spawn(EnemyArrays.TYPE_BURROWER, centerX, centerY, squareSize / Burrower.SPEED, Burrower.HEALTH);
+            }
+            if (enemies.lifetime[index] % Hive.CADENCE_QUEEN == 0) {
+                spawn(EnemyArrays.TYPE_QUEEN, centerX, centerY, squareSize / Queen.SPEED, Queen.HEALTH);
+            }
+        }
+    }
+
+    /**
+     * Pass which moves every Burrower and Queen, lets blocked Burrowers attack
+     * the Tower in their way and lets old enough Queens found new Hives. The
+     * movement itself mirrors Mover.move.
+     *
+     * @param enemyCount the number of Enemies present when the tick started
+     */
+    private void moveEnemies(int enemyCount) {
+        BoardSearch search = search();
+        int burrowerSize = Math.max(Math.floorDiv(squareSize, Burrower.SIZE), 1);
+        int queenSize = Math.max(Math.floorDiv(squareSize, Queen.SIZE), 1);
+
+        for (int index = 0; index < enemyCount; index++) {
+            byte type = enemies.type[index];
+            if (type == EnemyArrays.TYPE_HIVE) {
+                continue;
+            }
+
+            double targetX = enemies.x[index] + enemies.xDirection[index];
+            double targetY = enemies.y[index] + enemies.yDirection[index];
+            int left = (int) Math.round(targetX);
+            int top = (int) Math.round(targetY);
+            int size = (type == EnemyArrays.TYPE_BURROWER) ? burrowerSize : queenSize;
+
+            Tower blocker = null;
+            for (int corner = 0; corner < 4 && blocker == null; corner++) {
+                int gridX = Math.floorDiv(left + (corner % 2) * size, squareSize);
+                int gridY = Math.floorDiv(top + (corner / 2) * size, squareSize);
+
+                int edges = search.edgesHit(gridX, gridY);
+                if (edges != BoardSearch.EDGE_NONE) {
+                    if ((edges & (BoardSearch.EDGE_TOP | BoardSearch.EDGE_BOTTOM)) != 0) {
+                        enemies.yDirection[index] = -enemies.yDirection[index];
+                    }
+                    if ((edges & (BoardSearch.EDGE_LEFT | BoardSearch.EDGE_RIGHT)) != 0) {
+                        enemies.xDirection[index] = -enemies.xDirection[index];
+                    }
+                    break;
+                }
+
+                blocker = search.towerInSquare(gridX, gridY);
+            }
+
+            enemies.burrowing[index] = blocker != null && type == EnemyArrays.TYPE_BURROWER;
+            if (blocker == null) {
+                enemies.x[index] = targetX;
+                enemies.y[index] = targetY;
+            } else if (enemies.burrowing[index]) {
+                blocker.changeHealth(-1);
+            }
+
+            if (type == EnemyArrays.TYPE_QUEEN) {
+                enemies.lifetime[index] = enemies.lifetime[index] + 1;
+                if (enemies.lifetime[index] >= Queen.HIVE_DELAY) {
+                    int hiveX = enemies.roundedX(index);
+                    int hiveY = enemies.roundedY(index);
+                    enemies.add(EnemyArrays.TYPE_HIVE, hiveX - (hiveX % squareSize), hiveY - (hiveY % squareSize), 0, 0, 1);
+                    metrics().enemySpawned();
+                    enemies.health[index] = -1000;
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method which removes every dead Burrower and Queen from the array
+     * store in a single pass.
+     */
+    @Override
+    protected void removeDeadEnemies() {
+        int index = 0;
+        while (index < enemies.count) {
+            if (enemies.type[index] != EnemyArrays.TYPE_HIVE && enemies.health[index] <= 0) {
+                enemies.remove(index);
+                metrics().enemyDied();
+            } else {
+                index = index + 1;
+            }
+        }
+    }
+
+    /**
+     * Helper method which counts the Enemies in the array store.
+     *
+     * @return the number of Enemies on the board
+     */
+    @Override
+    protected int enemyCount() {
+        return enemies.count;
+    }
+
+    /**
+     * Helper method which spawns a moving Enemy aimed at a random point, in the
+     * same way Hive does.
+     *
+     * @param type the type tag of the Enemy to spawn
+     * @param x the x position to spawn at
+     * @param y the y position to spawn at
+     * @param speed the scaled speed of the Enemy
+     * @param health the starting health of the Enemy
+     */
+    private void spawn(byte type, int x, int y, double speed, int health) {
+        int yTarget = rng.nextInt();
+        int xTarget = rng.nextInt();
+        double xDir = xTarget - x;
+        double yDir = yTarget - y;
+        double length = Math.sqrt((xDir * xDir) + (yDir * yDir));
+        enemies.add(type, x, y, (xDir / length) * speed, (yDir / length) * speed, health);
+        metrics().enemySpawned();
+    }
+
+    /**
+     * Helper method which moves the Hives placed in a BoardState by the level
+     * loader into a new array store, leaving the state's Enemy list empty.
+     *
+     * @param state the state to take the Enemies from
+     * @return the array store holding the Hives
+     */
+    private static EnemyArrays adoptEnemies(BoardState state) {
+        EnemyArrays adopted = new EnemyArrays(state.numSquares, state.squareSize);
+        while (!state.enemies.isEmpty()) {
+            Enemy enemy = state.enemies.get(0);
+            if (!(enemy instanceof Hive)) {
+                throw new Error("Only Hives can be added to a SwarmSimulation.");
+            }
+            adopted.add(EnemyArrays.TYPE_HIVE, enemy.getPositionX(), enemy.getPositionY(), 0, 0, 1);
+            state.enemies.removeAt(0);
+        }
+        return adopted;
+    }
+
+    /**
+     * Extension of BoardSearch which answers Enemy queries from the array
+     * store instead of from Enemy objects.
+     */
+    private static class SwarmSearch extends BoardSearch {
+
+        //the store holding the Enemies on the board
+        private final EnemyArrays enemies;
+
+        //the size of one grid square on the board
+        private final int squareSize;
+
+        //the view of each index of the store handed out so far, reused so
+        //that searches do not allocate
+        private ArrayEnemy[] views;
+
+        //the priorities of the TargetingPolicy constants, read from the store
+        private final IntUnaryOperator nearest;
+        private final IntUnaryOperator lowestHealth;
+        private final IntUnaryOperator burrowingFirst;
+        private final IntUnaryOperator queensFirst;
+
+        /**
+         * Constructor which links the search to the array store.
+         *
+         * @param state the BoardState to query for Tower searches
+         * @param enemies the store holding the Enemies on the board
+         */
+        SwarmSearch(BoardState state, EnemyArrays enemies) {
+            super(state);
+            this.enemies = enemies;
+            squareSize = state.squareSize;
+            views = new ArrayEnemy[0];
+            nearest = index -> 0;
+            lowestHealth = index -> Math.max(0, enemies.health[index]);
+            burrowingFirst = index -> enemies.burrowing[index] ? 0 : 1;
+            queensFirst = index -> (enemies.type[index] == EnemyArrays.TYPE_QUEEN) ? 0 : 1;
+        }
+
+        /**
+         * Finds a Burrower or Queen in the passed area and wraps it so that
+         * Towers can damage it like any other Enemy.
+         *
+         * @param topLeft the top left grid square of the search area
+         * @param bottomRight the bottom right grid square of the search area
+         * @return an Enemy within the specified area, or null if none are found
+         */
+        @Override
+        public Enemy firstEnemyInArea(Point topLeft, Point bottomRight) {
+            long started = System.nanoTime();
+            int index = enemies.firstInArea(topLeft.x, topLeft.y, bottomRight.x, bottomRight.y);
+            metrics().addSearch(started);
+            if (index < 0) {
+                return null;
+            }
+            return view(index);
+        }
+
+        /**
+         * Finds a Burrower or Queen in the passed Neighbourhood and wraps it so
+         * that Towers can damage it like any other Enemy.
+         *
+         * @param area the grid squares to search
+         * @return an Enemy within the area, or null if none are found
+         */
+        @Override
+        public Enemy firstEnemyIn(Neighbourhood area) {
+            long started = System.nanoTime();
+            int index = enemies.firstInArea(area.minX, area.minY, area.maxX, area.maxY);
+            metrics().addSearch(started);
+            if (index < 0) {
+                return null;
+            }
+            return view(index);
+        }
+
+        /**
+         * Chooses the Burrower or Queen in the passed Neighbourhood that the
+         * passed policy most prefers, nearest first among equals. The store
+         * keeps no Enemy objects for the policy to look at, so each of the
+         * TargetingPolicy constants is answered from the arrays instead.
+         *
+         * @param area the grid squares in range of the Tower
+         * @param policy one of the TargetingPolicy constants
+         * @param tower the Tower choosing a target
+         * @return the chosen Enemy, or null if there are none in the area
+         * @throws IllegalArgumentException if passed any other policy
+         */
+        @Override
+        public Enemy targetIn(Neighbourhood area, TargetingPolicy policy, Tower tower) {
+            IntUnaryOperator priority = priorityOf(policy);
+            long started = System.nanoTime();
+            int centreX = tower.getPosition().x + tower.getScaledSize() / 2;
+            int centreY = tower.getPosition().y + tower.getScaledSize() / 2;
+            int index = enemies.bestIn(area, centreX, centreY, priority);
+            metrics().addSearch(started);
+            if (index < 0) {
+                return null;
+            }
+            return view(index);
+        }
+
+        /**
+         * Helper method which finds how to read the priority of one of the
+         * TargetingPolicy constants from the store.
+         *
+         * @param policy the policy to look up
+         * @return the priority of the Enemy at an index under that policy
+         * @throws IllegalArgumentException if the policy is not one of the
+         * TargetingPolicy constants
+         */
+        private IntUnaryOperator priorityOf(TargetingPolicy policy) {
+            if (policy == TargetingPolicy.NEAREST) {
+                return nearest;
+            } else if (policy == TargetingPolicy.LOWEST_HEALTH) {
+                return lowestHealth;
+            } else if (policy == TargetingPolicy.BURROWING_FIRST) {
+                return burrowingFirst;
+            } else if (policy == TargetingPolicy.QUEENS_FIRST) {
+                return queensFirst;
+            }
+            throw new IllegalArgumentException("A SwarmSimulation can only target with the TargetingPolicy constants.");
+        }
+
+        /**
+         * Helper method which gets the view of an index of the store, creating
+         * it the first time that index is found.
+         *
+         * @param index the index of the Enemy in the store
+         * @return the view of that index
+         */
+        private ArrayEnemy view(int index) {
+            if (index >= views.length) {
+                views = Arrays.copyOf(views, Math.max(index + 1, views.length * 2));
+            }
+            if (views[index] == null) {
+                views[index] = new ArrayEnemy(enemies, index, squareSize);
+            }
+            return views[index];
+        }
+
+        /**
+         * Checks whether any Enemy, including a Hive, is in the passed square.
+         *
+         * @param gridPosition the grid square to check
+         * @return true if an Enemy is in that square, false otherwise
+         */
+        @Override
+        public boolean enemyAtGridPosition(Point gridPosition) {
+            return enemies.anyInSquare(gridPosition.x, gridPosition.y);
+        }
+    }
+
+    /**
+     * Extension of Enemy which is a view of one index of the array store. The
+     * same view is handed out every time that index is found, and it always
+     * reads the entry currently at the index. Removing dead Enemies reorders
+     * the store, so a view only stands for the same Enemy until the end of the
+     * tick in which it was found.
+     */
+    private static class ArrayEnemy extends Enemy {
+
+        //the store and index of the Enemy being viewed
+        private final EnemyArrays enemies;
+        private final int index;
+
+        /**
+         * Constructor which links the view to an entry in the store.
+         *
+         * @param enemies the store holding the Enemy
+         * @param index the index of the Enemy in the store
+         * @param squareSize the size of one grid square on the board
+         */
+        ArrayEnemy(EnemyArrays enemies, int index, int squareSize) {
+            super(enemies.roundedX(index), enemies.roundedY(index), squareSize);
+            this.enemies = enemies;
+            this.index = index;
+        }
+
+        /**
+         * Gets the x co-ordinate of the Enemy's entry in the store.
+         *
+         * @return the x co-ordinate of the Enemy
+         */
+        @Override
+        public int getPositionX() {
+            return enemies.roundedX(index);
+        }
+
+        /**
+         * Gets the y co-ordinate of the Enemy's entry in the store.
+         *
+         * @return the y co-ordinate of the Enemy
+         */
+        @Override
+        public int getPositionY() {
+            return enemies.roundedY(index);
+        }
+
+        /**
+         * Gets the exact x co-ordinate of the Enemy's entry in the store.
+         *
+         * @return the exact x co-ordinate of the Enemy
+         */
+        @Override
+        public double getExactX() {
+            return enemies.x[index];
+        }
+
+        /**
+         * Gets the exact y co-ordinate of the Enemy's entry in the store.
+         *
+         * @return the exact y co-ordinate of the Enemy
+         */
+        @Override
+        public double getExactY() {
+            return enemies.y[index];
+        }
+
+        /**
+         * Gets the health of the Enemy's entry in the store.
+         *
+         * @return the health of the Enemy
+         */
+        @Override
+        public int getHealth() {
+            return enemies.health[index];
+        }
+
+        /**
+         * Applies damage or healing to the Enemy's entry in the store.
+         *
+         * @param delta the amount to increment the health
+         */
+        @Override
+        public void changeHealth(int delta) {
+            int maximum = (enemies.type[index] == EnemyArrays.TYPE_QUEEN) ? Queen.HEALTH : Burrower.HEALTH;
+            enemies.health[index] = Math.min(maximum, enemies.health[index] + delta);
+        }
+
+        /**
+         * Checks the Enemy's entry in the store to see if it has died.
+         *
+         * @return true if the Enemy's health is 0 or less, false otherwise
+         */
+        @Override
+        public boolean isDead() {
+            return enemies.health[index] <= 0;
+        }
+
+        /**
+         * Method which returns a placeholder initial health; the real health
+         * is kept in the array store.
+         *
+         * @return a placeholder initial health
+         */
+        @Override
+        protected int initialHealth() {
+            return 1;
+        }
+
+        /**
+         * Method which returns the draw size of the Enemy being viewed.
+         *
+         * @return the draw size of the Enemy
+         */
+        @Override
+        protected int getSize() {
+            return (enemies.type[index] == EnemyArrays.TYPE_QUEEN) ? Queen.SIZE : Burrower.SIZE;
+        }
+
+        /**
+         * Method which does nothing because the Enemy is moved by the batch
+         * passes of the SwarmSimulation.
+         *
+         * @param board the game board on which the unit is acting
+         */
+        @Override
+        public void tick(Simulation board) {
+            //do nothing
+        }
+
+        /**
+         * Method which does nothing because a SwarmSimulation is not drawn.
+         *
+         * @param g the snapshot to draw on
+         */
+        @Override
+        public void drawSelf(RenderSnapshot g) {
+            //do nothing
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Class which measures where the time in each tick of a Simulation goes and
+ * counts what happened during it. Each phase of the tick has its own
+ * LatencyHistogram. Search and power grid time is summed over a tick and
+ * recorded once per tick; it is spent inside the other phases, so it is a
+ * breakdown of them rather than extra time. Recording costs a couple of
+ * System.nanoTime() calls per measured section and never allocates, so the
+ * metrics are always on.
+ *
+ * Everything except the paint phase is recorded by the thread running the
+ * simulation; the paint phase is recorded by the thread painting the board.
+ *
+ * @author Nick Houser
+ */
+public class TickMetrics implements TickMetricsMXBean {
+
+    /**
+     * Phase covering the update of every Enemy.
+     */
+    public static final int ENEMIES = 0;
+
+    /**
+     * Phase covering the update of every Tower.
+     */
+    public static final int TOWERS = 1;
+
+    /**
+     * Phase covering power grid updates, summed over a tick.
+     */
+    public static final int POWER = 2;
+
+    /**
+     * Phase covering board searches, summed over a tick.
+     */
+    public static final int SEARCH = 3;
+
+    /**
+     * Phase covering recording a snapshot of the board for painting.
+     */
+    public static final int CAPTURE = 4;
+
+    /**
+     * Phase covering painting a snapshot of the board.
+     */
+    public static final int PAINT = 5;
+
+    /**
+     * Phase covering a whole tick.
+     */
+    public static final int TICK = 6;
+
+    //the name under which the metrics are published over JMX
+    private static final String OBJECT_NAME = "towerdefense4x:type=TickMetrics";
+
+    //the names of the phases, indexed by phase
+    private static final String[] PHASE_NAMES = {"enemies", "towers", "power", "search", "capture", "paint", "tick"};
+
+    //the recorded durations of each phase, replaced as a whole rather than
+    //cleared on reset, because other threads are recording into them
+    private volatile LatencyHistogram[] phases;
+
+    //time spent in sections summed over the current tick
+    private long searchNanos;
+    private long powerNanos;
+
+    //counts for the current tick
+    private int pendingSpawns;
+    private int pendingDeaths;
+
+    //counts for the last complete tick
+    private volatile int enemies;
+    private volatile int towers;
+    private volatile int spawns;
+    private volatile int deaths;
+
+    //totals since the simulation started
+    private volatile long ticks;
+    private volatile long totalSpawns;
+    private volatile long totalDeaths;
+    private volatile long poolHits;
+    private volatile long poolMisses;
+
+    /**
+     * Constructor which creates empty metrics.
+     */
+    public TickMetrics() {
+        phases = emptyPhases();
+    }
+
+    /**
+     * Method which records the duration of a phase which started at the passed
+     * time and has just finished.
+     *
+     * @param phase the phase which finished
+     * @param started the value of System.nanoTime() when the phase started
+     * @return the current value of System.nanoTime(), so the next phase can
+     * start from it
+     */
+    public long record(int phase, long started) {
+        long now = System.nanoTime();
+        phases[phase].record(now - started);
+        return now;
+    }
+
+    /**
+     * Method which adds the time since the passed start to this tick's search
+     * total.
+     *
+     * @param started the value of System.nanoTime() when the search started
+     */
+    public void addSearch(long started) {
+        searchNanos = searchNanos + (System.nanoTime() - started);
+    }
+
+    /**
+     * Method which adds the time since the passed start to this tick's power
+     * grid total.
+     *
+     * @param started the value of System.nanoTime() when the update started
+     */
+    public void addPower(long started) {
+        powerNanos = powerNanos + (System.nanoTime() - started);
+    }
+
+    /**
+     * Method which counts an Enemy spawned during this tick.
+     */
+    public void enemySpawned() {
+        pendingSpawns = pendingSpawns + 1;
+    }
+
+    /**
+     * Method which counts an Enemy removed as dead during this tick.
+     */
+    public void enemyDied() {
+        pendingDeaths = pendingDeaths + 1;
+    }
+
+    /**
+     * Method which counts an Enemy handed out by the EnemyPool.
+     *
+     * @param reused true if a dead Enemy was reused, false if a new one had to
+     * be allocated
+     */
+    public void enemyPooled(boolean reused) {
+        if (reused) {
+            poolHits = poolHits + 1;
+        } else {
+            poolMisses = poolMisses + 1;
+        }
+    }
+
+    /**
+     * Method which finishes a tick, recording its total duration and the
+     * totals and counts gathered during it.
+     *
+     * @param started the value of System.nanoTime() when the tick started
+     * @param enemyCount the number of Enemies on the board after the tick
+     * @param towerCount the number of Towers ticked
+     */
+    public void endTick(long started, int enemyCount, int towerCount) {
+        record(TICK, started);
+        phases[SEARCH].record(searchNanos);
+        phases[POWER].record(powerNanos);
+        searchNanos = 0;
+        powerNanos = 0;
+
+        enemies = enemyCount;
+        towers = towerCount;
+        spawns = pendingSpawns;
+        deaths = pendingDeaths;
+        totalSpawns = totalSpawns + pendingSpawns;
+        totalDeaths = totalDeaths + pendingDeaths;
+        pendingSpawns = 0;
+        pendingDeaths = 0;
+        ticks = ticks + 1;
+    }
+
+    /**
+     * Method which gets the recorded durations of a phase.
+     *
+     * @param phase the phase to look up
+     * @return the histogram of that phase's durations
+     */
+    public LatencyHistogram phase(int phase) {
+        return phases[phase];
+    }
+
+    /**
+     * Method which gets the name of a phase.
+     *
+     * @param phase the phase to look up
+     * @return the name of the phase
+     */
+    public static String phaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Method which gets the number of phases measured.
+     *
+     * @return the number of phases
+     */
+    public static int phaseCount() {
+        return PHASE_NAMES.length;
+    }
+
+    /**
+     * Method which publishes these metrics over JMX, replacing any metrics
+     * published before, for example by the previous game.
+     */
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            //the metrics are still available on screen without JMX
+        }
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks;
+    }
+
+    @Override
+    public int getEnemies() {
+        return enemies;
+    }
+
+    @Override
+    public int getTowers() {
+        return towers;
+    }
+
+    @Override
+    public int getSpawns() {
+        return spawns;
+    }
+
+    @Override
+    public int getDeaths() {
+        return deaths;
+    }
+
+    @Override
+    public long getTotalSpawns() {
+        return totalSpawns;
+    }
+
+    @Override
+    public long getTotalDeaths() {
+        return totalDeaths;
+    }
+
+    @Override
+    public long getPoolHits() {
+        return poolHits;
+    }
+
+    @Override
+    public long getPoolMisses() {
+        return poolMisses;
+    }
+
+    @Override
+    public double getPoolHitRate() {
+        long hits = poolHits;
+        long requests = hits + poolMisses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public Map<String, Double> getMedianMicros() {
+        return percentileMicros(50);
+    }
+
+    @Override
+    public Map<String, Double> getP99Micros() {
+        return percentileMicros(99);
+    }
+
+    @Override
+    public Map<String, Double> getMaxMicros() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int phase = 0; phase < phases.length; phase++) {
+            result.put(PHASE_NAMES[phase], phases[phase].max() / 1000.0);
+        }
+        return result;
+    }
+
+    /**
+     * Forgets all recorded durations. This is called from the JMX thread while
+     * the simulation and painting threads keep recording, so fresh histograms
+     * are swapped in instead of clearing the ones being recorded into. A
+     * duration being recorded at the moment of the swap may be lost.
+     */
+    @Override
+    public void resetDurations() {
+        phases = emptyPhases();
+    }
+
+    /**
+     * Helper method which creates an empty histogram for every phase.
+     *
+     * @return the histograms, indexed by phase
+     */
+    private static LatencyHistogram[] emptyPhases() {
+        LatencyHistogram[] empty = new LatencyHistogram[PHASE_NAMES.length];
+        for (int phase = 0; phase < empty.length; phase++) {
+            empty[phase] = new LatencyHistogram();
+        }
+        return empty;
+    }
+
+    /**
+     * Helper method which looks up the same percentile of every phase.
+     *
+     * @param percentile the percentage to look up, from 0 to 100
+     * @return the duration of each phase at that percentile in microseconds
+     */
+    private Map<String, Double> percentileMicros(double percentile) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int phase = 0; phase < phases.length; phase++) {
+            result.put(PHASE_NAMES[phase], phases[phase].percentile(percentile) / 1000.0);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.Map;
+
+/**
+ * Management interface through which a Simulation's TickMetrics are published
+ * over JMX. Durations are given in microseconds, keyed by phase name.
+ *
+ * @author Nick Houser
+ */
+public interface TickMetricsMXBean {
+
+    /**
+     * Gets the number of ticks run so far.
+     *
+     * @return the number of ticks run
+     */
+    long getTicks();
+
+    /**
+     * Gets the number of Enemies on the board after the last tick.
+     *
+     * @return the number of Enemies
+     */
+    int getEnemies();
+
+    /**
+     * Gets the number of Towers ticked during the last tick.
+     *
+     * @return the number of Towers
+     */
+    int getTowers();
+
+    /**
+     * Gets the number of Enemies spawned during the last tick.
+     *
+     * @return the number of spawns
+     */
+    int getSpawns();
+
+    /**
+     * Gets the number of Enemies removed as dead during the last tick.
+     *
+     * @return the number of deaths
+     */
+    int getDeaths();
+
+    /**
+     * Gets the number of Enemies spawned since the simulation started.
+     *
+     * @return the total number of spawns
+     */
+    long getTotalSpawns();
+
+    /**
+     * Gets the number of Enemies removed as dead since the simulation started.
+     *
+     * @return the total number of deaths
+     */
+    long getTotalDeaths();
+
+    /**
+     * Gets the number of spawned Enemies which reused a dead Enemy.
+     *
+     * @return the number of pool hits
+     */
+    long getPoolHits();
+
+    /**
+     * Gets the number of spawned Enemies which had to be allocated because no
+     * dead Enemy was available to reuse.
+     *
+     * @return the number of pool misses
+     */
+    long getPoolMisses();
+
+    /**
+     * Gets the fraction of spawned Enemies which reused a dead Enemy.
+     *
+     * @return the pool hit rate from 0 to 1, or 0 if nothing has been spawned
+     */
+    double getPoolHitRate();
+
+    /**
+     * Gets the median duration of each phase.
+     *
+     * @return the median duration of each phase in microseconds
+     */
+    Map<String, Double> getMedianMicros();
+
+    /**
+     * Gets the 99th percentile duration of each phase.
+     *
+     * @return the 99th percentile duration of each phase in microseconds
+     */
+    Map<String, Double> getP99Micros();
+
+    /**
+     * Gets the longest duration of each phase.
+     *
+     * @return the longest duration of each phase in microseconds
+     */
+    Map<String, Double> getMaxMicros();
+
+    /**
+     * Forgets all recorded durations, for example after changing the board.
+     */
+    void resetDurations();
+}
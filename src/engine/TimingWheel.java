@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Class which holds the units waiting to be woken at a later tick, in a hashed
+ * timing wheel: a ring of slots, where a unit due at tick t is filed in slot
+ * t modulo the number of slots. Advancing the wheel by a tick only looks at
+ * one slot, so the cost does not depend on how many units are waiting. Units
+ * due more than one turn of the wheel away simply stay in their slot until
+ * their tick comes round.
+ *
+ * @author Nick Houser
+ */
+public class TimingWheel {
+
+    //the number of slots in the wheel, which must be a power of two
+    private static final int SLOTS = 256;
+
+    //the units waiting in each slot, and the ticks they are due at
+    private final ArrayList<Scheduled>[] units;
+    private final long[][] dueTicks;
+    private final int[] counts;
+
+    //the units being woken by the current call to advance
+    private final ArrayList<Scheduled> waking;
+
+    //the last tick the wheel was advanced to
+    private long current;
+
+    /**
+     * Constructor which creates an empty wheel.
+     */
+    public TimingWheel() {
+        //generic arrays cannot be created directly, but every slot is only
+        //ever given an ArrayList<Scheduled>
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayList<Scheduled>[] slots = new ArrayList[SLOTS];
+        units = slots;
+        dueTicks = new long[SLOTS][];
+        counts = new int[SLOTS];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            units[slot] = new ArrayList<>();
+            dueTicks[slot] = new long[4];
+        }
+        waking = new ArrayList<>();
+        current = -1;
+    }
+
+    /**
+     * Method which files a unit to be woken at the passed tick. A unit asking
+     * for a tick which has already been reached is woken at the next one.
+     *
+     * @param unit the unit to wake
+     * @param tick the tick to wake it at
+     */
+    public void schedule(Scheduled unit, long tick) {
+        long due = Math.max(tick, current + 1);
+        int slot = (int) (due & (SLOTS - 1));
+        if (counts[slot] == dueTicks[slot].length) {
+            dueTicks[slot] = Arrays.copyOf(dueTicks[slot], counts[slot] * 2);
+        }
+        units[slot].add(unit);
+        dueTicks[slot][counts[slot]] = due;
+        counts[slot] = counts[slot] + 1;
+    }
+
+    /**
+     * Method which advances the wheel to the passed tick and wakes every unit
+     * due at it, in the order they were scheduled. Units may schedule
+     * themselves again while being woken.
+     *
+     * @param tick the tick to advance to
+     * @param board the Simulation to pass to the units being woken
+     */
+    public void advance(long tick, Simulation board) {
+        current = tick;
+        int slot = (int) (tick & (SLOTS - 1));
+        ArrayList<Scheduled> inSlot = units[slot];
+        long[] due = dueTicks[slot];
+
+        int kept = 0;
+        for (int index = 0; index < counts[slot]; index++) {
+            if (due[index] == tick) {
+                waking.add(inSlot.get(index));
+            } else {
+                inSlot.set(kept, inSlot.get(index));
+                due[kept] = due[index];
+                kept = kept + 1;
+            }
+        }
+        for (int index = inSlot.size() - 1; index >= kept; index--) {
+            inSlot.remove(index);
+        }
+        counts[slot] = kept;
+
+        for (int index = 0; index < waking.size(); index++) {
+            board.wake(waking.get(index));
+        }
+        waking.clear();
+    }
+
+    /**
+     * Method which counts the units waiting to be woken.
+     *
+     * @return the number of units in the wheel
+     */
+    public int size() {
+        int size = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            size = size + counts[slot];
+        }
+        return size;
+    }
+}
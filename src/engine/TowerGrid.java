@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import units.towers.Blocker;
+import units.towers.Generator;
+import units.towers.Healer;
+import units.towers.Powered;
+import units.towers.Shooter;
+import units.towers.Terrain;
+import units.towers.Tower;
+
+/**
+ * Class which stores the Towers on the board in a single flat array indexed by
+ * x * numSquares + y, alongside a type code for each square and bitsets of the
+ * squares which are occupied, powered, ticking and dead. Ticking and drawing
+ * walk the bitsets, so empty squares and Terrain which has no Terrain object
+ * are never visited, Towers which would do nothing are never called, and
+ * passive Towers are only looked at once they have died.
+ *
+ * @author Nick Houser
+ */
+public class TowerGrid {
+
+    /**
+     * Type code for an empty square.
+     */
+    public static final byte TYPE_NONE = 0;
+
+    /**
+     * Type code for a Terrain.
+     */
+    public static final byte TYPE_TERRAIN = 1;
+
+    /**
+     * Type code for a Blocker.
+     */
+    public static final byte TYPE_BLOCKER = 2;
+
+    /**
+     * Type code for a Generator. The Powered type codes are TYPE_GENERATOR,
+     * TYPE_SHOOTER and TYPE_HEALER.
+     */
+    public static final byte TYPE_GENERATOR = 3;
+
+    /**
+     * Type code for a Shooter.
+     */
+    public static final byte TYPE_SHOOTER = 4;
+
+    /**
+     * Type code for a Healer.
+     */
+    public static final byte TYPE_HEALER = 5;
+
+    /**
+     * Type code for any other kind of Tower.
+     */
+    public static final byte TYPE_OTHER = 6;
+
+    //the number of squares along each side of the board
+    private final int numSquares;
+
+    //the Tower in each square, indexed by x * numSquares + y
+    private final Tower[] towers;
+
+    //the type code of the Tower in each square
+    private final byte[] types;
+
+    //the squares holding a Tower object
+    private final BitSet occupied;
+
+    //the squares holding a powered Tower
+    private final BitSet powered;
+
+    //the squares holding a Tower which acts when ticked
+    private final BitSet ticking;
+
+    //the squares whose Tower has died but not yet been removed
+    private final BitSet dead;
+
+    //the squares whose Tower is waiting to be woken by the Simulation and so
+    //does not need ticking until then
+    private final BitSet dormant;
+
+    //the events which Towers on the grid report to
+    private final BoardEvents events;
+
+    //the Neighbourhood of each square looked up so far, by range
+    private final HashMap<Integer, Neighbourhood[]> neighbourhoods;
+
+    /**
+     * Constructor which creates an empty grid for a board of the passed size.
+     *
+     * @param numSquares the number of squares along each side of the board
+     * @param events the events which Towers placed on the grid report to
+     */
+    public TowerGrid(int numSquares, BoardEvents events) {
+        this.numSquares = numSquares;
+        this.events = events;
+        towers = new Tower[numSquares * numSquares];
+        types = new byte[numSquares * numSquares];
+        occupied = new BitSet(numSquares * numSquares);
+        powered = new BitSet(numSquares * numSquares);
+        ticking = new BitSet(numSquares * numSquares);
+        dead = new BitSet(numSquares * numSquares);
+        dormant = new BitSet(numSquares * numSquares);
+        neighbourhoods = new HashMap<>();
+    }
+
+    /**
+     * Gets the index of a grid square in the flat arrays.
+     *
+     * @param gridX the x index of the square
+     * @param gridY the y index of the square
+     * @return the index of the square
+     */
+    public int cell(int gridX, int gridY) {
+        return gridX * numSquares + gridY;
+    }
+
+    /**
+     * Gets the grid squares within the passed range of a grid square, which
+     * must be on the board. Each Neighbourhood is only built the first time it
+     * is asked for, and is then shared by everything searching the same area.
+     *
+     * @param gridX the x index of the square at the centre
+     * @param gridY the y index of the square at the centre
+     * @param range the number of squares the area extends in each direction
+     * @return the Neighbourhood of the square
+     */
+    public synchronized Neighbourhood neighbourhood(int gridX, int gridY, int range) {
+        Neighbourhood[] ofRange = neighbourhoods.get(range);
+        if (ofRange == null) {
+            ofRange = new Neighbourhood[towers.length];
+            neighbourhoods.put(range, ofRange);
+        }
+
+        int cell = cell(gridX, gridY);
+        if (ofRange[cell] == null) {
+            ofRange[cell] = new Neighbourhood(gridX, gridY, range, numSquares);
+        }
+        return ofRange[cell];
+    }
+
+    /**
+     * Visits each Tower object in the passed Neighbourhood, in the order of
+     * its squares, until the visitor asks to stop. Squares with no Tower and
+     * Terrain which has no Terrain object are skipped.
+     *
+     * @param area the grid squares to visit
+     * @param visitor the visitor to pass each Tower to
+     * @return the Tower at which the visitor stopped, or null if it visited
+     * every Tower
+     */
+    public Tower visit(Neighbourhood area, TowerVisitor visitor) {
+        for (int cell : area.cells) {
+            Tower tower = towers[cell];
+            if (tower != null && visitor.visit(tower)) {
+                return tower;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the Tower in a grid square, which must be on the board.
+     *
+     * @param gridX the x index of the square
+     * @param gridY the y index of the square
+     * @return the Tower in the square, or null if there is none
+     */
+    public Tower get(int gridX, int gridY) {
+        return towers[gridX * numSquares + gridY];
+    }
+
+    /**
+     * Gets the Tower in a grid square by its index.
+     *
+     * @param cell the index of the square
+     * @return the Tower in the square, or null if there is none
+     */
+    public Tower get(int cell) {
+        return towers[cell];
+    }
+
+    /**
+     * Puts a Tower in a grid square, replacing anything already there.
+     *
+     * @param gridX the x index of the square
+     * @param gridY the y index of the square
+     * @param tower the Tower to put in the square, or null to empty it
+     */
+    public void set(int gridX, int gridY, Tower tower) {
+        set(gridX * numSquares + gridY, tower);
+    }
+
+    /**
+     * Puts a Tower in a grid square by its index, replacing anything already
+     * there. The Tower reports its damage and death to the board's events
+     * until it is replaced.
+     *
+     * @param cell the index of the square
+     * @param tower the Tower to put in the square, or null to empty it
+     */
+    public void set(int cell, Tower tower) {
+        if (towers[cell] != null) {
+            towers[cell].setEvents(null);
+        }
+        dead.clear(cell);
+        dormant.clear(cell);
+        if (tower != null) {
+            tower.setEvents(events);
+            dead.set(cell, tower.isDead());
+        }
+
+        towers[cell] = tower;
+        types[cell] = typeOf(tower);
+        occupied.set(cell, tower != null);
+        updatePower(cell);
+    }
+
+    /**
+     * Gets the type code of the Tower in a grid square.
+     *
+     * @param cell the index of the square
+     * @return the type code, which is TYPE_NONE for an empty square
+     */
+    public byte type(int cell) {
+        return types[cell];
+    }
+
+    /**
+     * Checks whether the Tower in a grid square acts when ticked.
+     *
+     * @param cell the index of the square
+     * @return true if the Tower needs to be ticked, false otherwise
+     */
+    public boolean isTicking(int cell) {
+        return ticking.get(cell);
+    }
+
+    /**
+     * Gets the squares holding a Tower object. The set must not be modified.
+     *
+     * @return the occupied squares
+     */
+    public BitSet occupied() {
+        return occupied;
+    }
+
+    /**
+     * Gets the squares holding a powered Tower. The set must not be modified.
+     *
+     * @return the powered squares
+     */
+    public BitSet powered() {
+        return powered;
+    }
+
+    /**
+     * Gets the squares holding a Tower which acts when ticked. The set must
+     * not be modified.
+     *
+     * @return the ticking squares
+     */
+    public BitSet ticking() {
+        return ticking;
+    }
+
+    /**
+     * Gets the squares whose Tower has died but not yet been removed. The set
+     * must not be modified.
+     *
+     * @return the dead squares
+     */
+    public BitSet dead() {
+        return dead;
+    }
+
+    /**
+     * Method which records that a Tower on the grid has died, so that it is
+     * removed on the next tick. Does nothing if the Tower is no longer on the
+     * grid.
+     *
+     * @param tower the Tower which died
+     */
+    public void towerDied(Tower tower) {
+        int cell = cell(tower.getGridPosition().x, tower.getGridPosition().y);
+        if (cell >= 0 && cell < towers.length && towers[cell] == tower) {
+            dead.set(cell);
+        }
+    }
+
+    /**
+     * Method which marks a Tower on the grid as waiting to be woken, so that
+     * it is not ticked, or as awake again. Does nothing if the Tower is no
+     * longer on the grid.
+     *
+     * @param tower the Tower to mark
+     * @param isDormant true if the Tower is waiting to be woken
+     */
+    public void setDormant(Tower tower, boolean isDormant) {
+        int cell = cell(tower.getGridPosition().x, tower.getGridPosition().y);
+        if (cell >= 0 && cell < towers.length && towers[cell] == tower) {
+            dormant.set(cell, isDormant);
+            updatePower(cell);
+        }
+    }
+
+    /**
+     * Method which must be called whenever a Tower on the grid gains or loses
+     * power, so that the powered and ticking squares stay up to date. Does
+     * nothing if the Tower is no longer on the grid.
+     *
+     * @param tower the Tower whose power changed
+     */
+    public void powerChanged(Tower tower) {
+        int cell = cell(tower.getGridPosition().x, tower.getGridPosition().y);
+        if (cell >= 0 && cell < towers.length && towers[cell] == tower) {
+            updatePower(cell);
+        }
+    }
+
+    /**
+     * Helper method which recomputes whether a square is powered and ticking
+     * from the Tower in it. Generators act only through the PowerGrid and
+     * every other unpowered or inactive Tower does nothing when ticked, so
+     * only powered Shooters, Healers and unknown Towers tick, and only while
+     * they are not dormant.
+     *
+     * @param cell the index of the square
+     */
+    private void updatePower(int cell) {
+        Tower tower = towers[cell];
+        boolean isPowered = tower instanceof Powered && ((Powered) tower).isPowered();
+        powered.set(cell, isPowered);
+        byte type = types[cell];
+        ticking.set(cell, !dormant.get(cell) && (type == TYPE_OTHER || isPowered && type != TYPE_GENERATOR));
+    }
+
+    /**
+     * Helper method which finds the type code of a Tower.
+     *
+     * @param tower the Tower to look up, which may be null
+     * @return the type code of the Tower
+     */
+    private static byte typeOf(Tower tower) {
+        if (tower == null) {
+            return TYPE_NONE;
+        } else if (tower instanceof Terrain) {
+            return TYPE_TERRAIN;
+        } else if (tower instanceof Blocker) {
+            return TYPE_BLOCKER;
+        } else if (tower instanceof Generator) {
+            return TYPE_GENERATOR;
+        } else if (tower instanceof Shooter) {
+            return TYPE_SHOOTER;
+        } else if (tower instanceof Healer) {
+            return TYPE_HEALER;
+        }
+        return TYPE_OTHER;
+    }
+}
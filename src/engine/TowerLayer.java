@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.BitSet;
+import units.towers.Terrain;
+import units.towers.Tower;
+
+/**
+ * Class which keeps the Towers on the board drawn into an image, so that
+ * painting the board costs a single image copy however many Towers there are.
+ * Towers almost never change, so rather than redrawing them every frame the
+ * simulation thread records only the grid squares whose Tower was placed or
+ * removed, and the painting thread redraws just those squares of the image.
+ *
+ * Redraws recorded between two paints are applied together and in order, so
+ * no change is lost when the painting thread skips frames.
+ *
+ * @author Nick Houser
+ */
+public class TowerLayer {
+
+    //the redraws recorded by the simulation thread, guarded by this object
+    private RenderSnapshot pending;
+
+    //the redraws being applied by the painting thread
+    private RenderSnapshot applying;
+
+    //the image holding the drawn Towers, only touched by the painting thread
+    private final BufferedImage image;
+
+    /**
+     * Constructor which creates a blank layer covering a board of the passed
+     * size.
+     *
+     * @param size the width and height of the board
+     */
+    public TowerLayer(int size) {
+        pending = new RenderSnapshot();
+        applying = new RenderSnapshot();
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D blank = image.createGraphics();
+        blank.setColor(Color.WHITE);
+        blank.fillRect(0, 0, size, size);
+        blank.dispose();
+    }
+
+    /**
+     * Method which records a redraw of every passed grid square: the square is
+     * cleared and the Tower now in it, if any, draws itself. Terrain which
+     * has no Terrain object is drawn straight from the board's bitmap. Only
+     * the simulation thread may call this.
+     *
+     * @param state the BoardState holding the Towers
+     * @param cells the grid squares to redraw, indexed by x * numSquares + y
+     */
+    public synchronized void redraw(BoardState state, BitSet cells) {
+        for (int cell = cells.nextSetBit(0); cell >= 0; cell = cells.nextSetBit(cell + 1)) {
+            int gridX = cell / state.numSquares;
+            int gridY = cell % state.numSquares;
+            pending.setColor(Color.WHITE);
+            pending.fillRect(gridX * state.squareSize, gridY * state.squareSize, state.squareSize, state.squareSize);
+
+            Tower tower = state.towers.get(cell);
+            if (tower != null) {
+                tower.drawSelf(pending);
+            } else if (state.terrain.get(cell)) {
+                pending.setColor(Terrain.COLOR);
+                pending.fillRect(gridX * state.squareSize, gridY * state.squareSize, state.squareSize, state.squareSize);
+            }
+        }
+    }
+
+    /**
+     * Method which applies any recorded redraws to the image and then copies
+     * the image onto the passed Graphics. Only the painting thread may call
+     * this.
+     *
+     * @param g the Graphics object to draw on
+     */
+    public void paint(Graphics g) {
+        if (takePending()) {
+            Graphics2D target = image.createGraphics();
+            applying.paint(target, 1.0);
+            target.dispose();
+            applying.clear();
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    /**
+     * Helper method which swaps the recorded redraws out for applying, leaving
+     * an empty snapshot for the simulation thread to record into.
+     *
+     * @return true if there were redraws to apply, false otherwise
+     */
+    private synchronized boolean takePending() {
+        if (pending.size() == 0) {
+            return false;
+        }
+        RenderSnapshot taken = pending;
+        pending = applying;
+        applying = taken;
+        return true;
+    }
+}
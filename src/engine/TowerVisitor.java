@@ -14,31 +14,26 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package towerdefense4x;
+package engine;
 
-import java.util.Random;
+import units.towers.Tower;
 
 /**
- * Class which generates global random numbers; this prevents each unit that
- * needs a random number from maintining its own Random(), which can lead to a
- * loss of true randomness.
+ * Interface for anything which looks at each Tower in an area of the board in
+ * turn, such as a Healer looking for a damaged Tower. Visiting an area does
+ * not build a list of the Towers in it, and the visit can be stopped as soon
+ * as the Tower wanted has been found. A visitor is normally created once and
+ * kept, so that searching an area allocates nothing.
  *
  * @author Nick Houser
  */
-public class SingletonRandom {
-    //field which contains a singleton Random
-
-    private static Random rng = null;
+public interface TowerVisitor {
 
     /**
-     * Method which gets the singleton Random. Initializes it if it is null.
+     * Method called for each Tower in the area being visited.
      *
-     * @return a random integer
+     * @param tower the Tower being visited
+     * @return true to stop visiting, false to move on to the next Tower
      */
-    public static Random getRandom() {
-        if (rng == null) {
-            rng = new Random(System.currentTimeMillis());
-        }
-        return rng;
-    }
+    boolean visit(Tower tower);
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import units.Unit;
+
+/**
+ * Class which stores units in a flat array. Units may be added while the list
+ * is being iterated; iteration only visits the units that were present when it
+ * started. Removal swaps the last unit into the removed slot, so it is constant
+ * time but does not preserve order.
+ *
+ * @author Nick Houser
+ * @param <T> the type of unit stored
+ */
+public class UnitList<T extends Unit> implements Iterable<T> {
+
+    //the initial capacity of a new list
+    private static final int INITIAL_CAPACITY = 16;
+
+    //the stored units; slots at or beyond size are always null
+    private Unit[] units;
+
+    //the number of units stored
+    private int size;
+
+    /**
+     * Constructor which creates an empty list.
+     */
+    public UnitList() {
+        units = new Unit[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Adds a unit to the end of the list.
+     *
+     * @param toAdd the unit to add
+     */
+    public void add(T toAdd) {
+        if (size == units.length) {
+            units = Arrays.copyOf(units, size * 2);
+        }
+        units[size] = toAdd;
+        size = size + 1;
+    }
+
+    /**
+     * Gets the unit stored at the passed index.
+     *
+     * @param index the index of the unit, which must be less than size()
+     * @return the unit at that index
+     */
+    @SuppressWarnings("unchecked") //only units of type T are ever added
+    public T get(int index) {
+        return (T) units[index];
+    }
+
+    /**
+     * Removes the unit at the passed index by moving the last unit into its
+     * slot.
+     *
+     * @param index the index of the unit to remove
+     */
+    public void removeAt(int index) {
+        size = size - 1;
+        units[index] = units[size];
+        units[size] = null;
+    }
+
+    /**
+     * Gets the number of units stored.
+     *
+     * @return the number of units in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list is empty.
+     *
+     * @return true if no units are stored, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the passed unit is stored in this list.
+     *
+     * @param unit the unit to look for
+     * @return true if the unit is stored, false otherwise
+     */
+    public boolean contains(Unit unit) {
+        for (int index = 0; index < size; index++) {
+            if (units[index] == unit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets an iterator over the units present when this method was called.
+     *
+     * @return an iterator over the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        int end = size;
+        return new Iterator<T>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < end && next < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked") //only units of type T are ever added
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                next = next + 1;
+                return (T) units[next - 1];
+            }
+        };
+    }
+}
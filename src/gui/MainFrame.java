@@ -28,8 +28,9 @@ import javax.swing.JPanel;
  */
 public class MainFrame extends JFrame {
 
-    //reference to the UI component currently displayed
-    private JPanel visiblePanel;
+    //reference to the UI component currently displayed, which is read by the
+    //simulation thread and replaced on the event dispatch thread
+    private volatile JPanel visiblePanel;
 
     /**
      * Constructor which sets up the initial view.
@@ -57,9 +58,7 @@ public class MainFrame extends JFrame {
             return;
         }
 
-        if (visiblePanel != null) {
-            remove(visiblePanel);
-        }
+        removeVisiblePanel();
 
         visiblePanel = tryAdd;
         add(visiblePanel);
@@ -68,9 +67,7 @@ public class MainFrame extends JFrame {
     }
 
     public void showMenu() {
-        if (visiblePanel != null) {
-            remove(visiblePanel);
-        }
+        removeVisiblePanel();
 
         visiblePanel = new MenuPanel(this);
         add(visiblePanel);
@@ -79,9 +76,7 @@ public class MainFrame extends JFrame {
     }
 
     public void showLevels() {
-        if (visiblePanel != null) {
-            remove(visiblePanel);
-        }
+        removeVisiblePanel();
 
         visiblePanel = new LevelsPanel(this);
         add(visiblePanel);
@@ -89,13 +84,42 @@ public class MainFrame extends JFrame {
         pack();
     }
 
+    /**
+     * Helper method which takes the current view off screen, closing the game
+     * if one is being played.
+     */
+    private void removeVisiblePanel() {
+        if (visiblePanel instanceof GamePanel) {
+            ((GamePanel) visiblePanel).close();
+        }
+        if (visiblePanel != null) {
+            remove(visiblePanel);
+        }
+    }
+
     /**
      * Method which updates the game board if gameplay is underway. Expects to
-     * be called repeatedly to simulate continuous action.
+     * be called repeatedly from the simulation thread to simulate continuous
+     * action.
      */
     public void tick() {
-        if (visiblePanel != null && visiblePanel instanceof GamePanel) {
-            ((GamePanel) visiblePanel).tick();
+        JPanel current = visiblePanel;
+        if (current != null && current instanceof GamePanel) {
+            ((GamePanel) current).tick();
+        }
+    }
+
+    /**
+     * Method which redraws the game board if gameplay is underway. This is
+     * called at its own rate, independent of tick.
+     *
+     * @param interpolation how far between the last two ticks to draw moving
+     * units, from 0 to 1
+     */
+    public void render(double interpolation) {
+        JPanel current = visiblePanel;
+        if (current != null && current instanceof GamePanel) {
+            ((GamePanel) current).setInterpolation(interpolation);
             repaint();
         }
     }
@@ -16,14 +16,11 @@
  */
 package gui.game;
 
+import engine.Simulation;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import javax.swing.event.MouseInputListener;
-import units.towers.Blocker;
-import units.towers.Generator;
-import units.towers.Healer;
-import units.towers.Shooter;
 import units.towers.TowerType;
 
 /**
@@ -36,17 +33,17 @@ public class BoardMouseListener implements MouseInputListener {
     //link to the purchase menu to determine which Tower type to place
     private PurchasePanel buyMenu;
 
-    //link to the game board to place Towers on
-    private GameBoardPanel gameBoard;
+    //link to the simulation to place Towers in
+    private Simulation gameBoard;
 
     /**
      * Constructor which stores a link to the buy menu for querying which Tower
      * type to place and the game board for placing the Tower.
      *
      * @param buyMenu the buy menu to ask which Tower type to buy
-     * @param gameBoard the game board to add new Towers to
+     * @param gameBoard the simulation to add new Towers to
      */
-    public BoardMouseListener(PurchasePanel buyMenu, GameBoardPanel gameBoard) {
+    public BoardMouseListener(PurchasePanel buyMenu, Simulation gameBoard) {
         this.buyMenu = buyMenu;
         this.gameBoard = gameBoard;
     }
@@ -61,20 +58,7 @@ public class BoardMouseListener implements MouseInputListener {
     public void mouseClicked(MouseEvent e) {
         try {
             TowerType selection = buyMenu.selection();
-            switch(selection) {
-                case BLOCKER:
-                    gameBoard.addUnit(new Blocker(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-                case GENERATOR:
-                    gameBoard.addUnit(new Generator(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-                case SHOOTER:
-                    gameBoard.addUnit(new Shooter(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-                case HEALER:
-                    gameBoard.addUnit(new Healer(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-            }
+            gameBoard.queueUnit(selection.build(e.getX(), e.getY(), gameBoard.getSquareSize()));
         }catch (Exception noSelection) {
             //simply don't place a Tower
         }
@@ -100,20 +84,7 @@ public class BoardMouseListener implements MouseInputListener {
     public void mouseDragged(MouseEvent e) {
         try {
             TowerType selection = buyMenu.selection();
-            switch(selection) {
-                case BLOCKER:
-                    gameBoard.addUnit(new Blocker(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-                case GENERATOR:
-                    gameBoard.addUnit(new Generator(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-                case SHOOTER:
-                    gameBoard.addUnit(new Shooter(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-                case HEALER:
-                    gameBoard.addUnit(new Healer(e.getX(), e.getY(), gameBoard.getSquareSize()));
-                    break;
-            }
+            gameBoard.queueUnit(selection.build(e.getX(), e.getY(), gameBoard.getSquareSize()));
         }catch (Exception noSelection) {
             //simply don't place a Tower
         }
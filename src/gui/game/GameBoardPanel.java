@@ -16,21 +16,29 @@
  */
 package gui.game;
 
-import gui.game.levels.BoardState;
-import java.awt.Color;
+import engine.BoardState;
+import engine.RenderBuffer;
+import engine.RenderSnapshot;
+import engine.Simulation;
+import engine.TickMetrics;
+import engine.TowerGrid;
+import engine.TowerLayer;
+import engine.UnitList;
 import java.awt.Dimension;
 import java.awt.Graphics;
-import java.awt.Point;
-import java.util.LinkedList;
+import java.util.BitSet;
 import javax.swing.JPanel;
 import units.enemies.Enemy;
 import units.ILayeredGraphics;
-import units.towers.Terrain;
 import units.towers.Tower;
 import units.Unit;
 
 /**
- * Extension of JPanel which represents the game board.
+ * Extension of JPanel which represents the game board. This is a view over a
+ * Simulation; all game logic lives in the Simulation itself. After each tick
+ * the simulation thread captures what the units look like into a snapshot,
+ * and painting only ever reads the latest snapshot, never the units. Towers
+ * are kept in a TowerLayer instead and only redrawn when they change.
  *
  * @author Nick Houser
  */
@@ -39,148 +47,103 @@ public class GameBoardPanel extends JPanel {
     /**
      * Constant representing the size of the board.
      */
-    public static final int SIZE = 900;
+    public static final int SIZE = BoardState.SIZE;
 
     //variable which tracks which units are currently on the board
     private BoardState boardState;
 
-    //variable which exposes search APIs for units on the board
-    private BoardSearch boardSearch;
+    //the simulation being displayed
+    private final Simulation simulation;
 
-    /**
-     * Constructor which initializes the game board, including setting the size,
-     * and filling the squares with their initial contents.
-     *
-     * @param intitialState the intial board state to use for setting up
-     */
-    public GameBoardPanel(BoardState intitialState) {
-        boardState = intitialState;
-        boardSearch = new BoardSearch(boardState);
-        setPreferredSize(new Dimension(SIZE, SIZE));
-    }
-
-    /**
-     * Method which exposes the square size of the current board state.
-     *
-     * @return the draw size of one grid square
-     */
-    public int getSquareSize() {
-        return boardState.squareSize;
-    }
+    //how far between the last two simulation steps to draw moving Enemies
+    private volatile double interpolation;
 
-    /**
-     * Adds a Unit to the board.
-     *
-     * @param toAdd the Unit to be added
-     */
-    public void addUnit(Unit toAdd) {
-        if (toAdd instanceof Tower) {
-            Tower addTower = (Tower) toAdd;
+    //the snapshots passed from the simulation thread to the painting thread
+    private final RenderBuffer frames;
 
-            Tower currentOccupant = boardState.towers[addTower.getGridPosition().x][addTower.getGridPosition().y];
-            if (currentOccupant != null && !(currentOccupant instanceof Terrain)) {
-                return;
-            }
-            
-            for (Enemy enemy : boardState.enemies) {
-                Point enemyGridPosition = boardSearch.absoluteToGridPosition(enemy.getPosition());
-                if (enemyGridPosition.equals(addTower.getGridPosition())) {
-                    return;
-                }
-            }
+    //the cached drawing of every Tower on the board
+    private final TowerLayer towerLayer;
 
-            boardState.towers[addTower.getGridPosition().x][addTower.getGridPosition().y] = addTower;
-        } else if (toAdd instanceof Enemy) {
-            boardState.enemies.add((Enemy) toAdd);
-        } else {
-            throw new Error("Tried to add a unit that was neither a Tower nor an Enemy.");
-        }
-    }
+    //the metrics which capturing and painting report their duration to
+    private final TickMetrics metrics;
 
     /**
-     * Method which returns an object that exposes various methods for searching
-     * the units on the board.
+     * Constructor which initializes the game board view, including setting the
+     * size, over the passed simulation.
      *
-     * @return a BoardSearch object which exposes many methods for searching
+     * @param simulation the simulation whose board should be displayed
      */
-    public BoardSearch search() {
-        return boardSearch;
+    public GameBoardPanel(Simulation simulation) {
+        this.simulation = simulation;
+        boardState = simulation.state();
+        metrics = simulation.metrics();
+        interpolation = 1.0;
+        frames = new RenderBuffer();
+        towerLayer = new TowerLayer(SIZE);
+        setPreferredSize(new Dimension(SIZE, SIZE));
+        capture();
     }
 
     /**
-     * Update method. This is called continuously by the main game loop to
-     * simulated continuous action. Calls all objects on the game board to
-     * update themselves.
+     * Method which records what the Enemies and top layer graphics look like
+     * into a new snapshot and publishes it for painting, along with redraws of
+     * any Towers placed or removed since the last capture. This must be called
+     * on the thread running the simulation, between ticks.
      */
-    public void tick() {
-        for (Enemy enemy : (LinkedList<Enemy>) boardState.enemies.clone()) {
-            enemy.tick(this);
-            if (enemy.isDead()) {
-                boardState.enemies.remove(enemy);
-            }
+    public void capture() {
+        long started = System.nanoTime();
+        BitSet changed = simulation.changedTowers();
+        if (!changed.isEmpty()) {
+            towerLayer.redraw(boardState, changed);
+            changed.clear();
         }
 
-        for (int x = 0; x < boardState.numSquares; x++) {
-            for (int y = 0; y < boardState.numSquares; y++) {
-                Tower current = boardState.towers[x][y];
-                if (current != null) {
-                    current.tick(this);
-                    if (current.isDead()) {
-                        boardState.towers[x][y] = null;
-                    }
-                }
-            }
-        }
+        RenderSnapshot frame = frames.back();
+        drawEnemies(frame);
+        drawEnemyLayers(frame);
+        drawTowerLayers(frame);
+        frames.publish();
+        metrics.record(TickMetrics.CAPTURE, started);
     }
 
     /**
-     * Override of JPanel's paintComponent which is called every time this
-     * component is rendered. Calls all objects on the game board to draw
-     * themselves.
+     * Method which sets how far between the last two simulation steps moving
+     * Enemies are drawn on the next render.
      *
-     * @param g the Graphics object to draw on
+     * @param interpolation a fraction from 0, for the positions before the
+     * last step, to 1, for the current positions
      */
-    @Override
-    public void paintComponent(Graphics g) {
-        paintWhite(g);
-        drawEnemies(g);
-        drawTowers(g);
-        drawEnemyLayers(g);
-        drawTowerLayers(g);
+    public void setInterpolation(double interpolation) {
+        this.interpolation = interpolation;
     }
 
     /**
-     * Method which fills the entire board with white to prep for a new render.
+     * Override of JPanel's paintComponent which is called every time this
+     * component is rendered. Copies the cached Towers, which also covers the
+     * empty squares in white, then paints the most recently captured snapshot
+     * on top.
      *
      * @param g the Graphics object to draw on
      */
-    private void paintWhite(Graphics g) {
-        g.setColor(Color.WHITE);
-        g.fillRect(0, 0, SIZE, SIZE);
+    @Override
+    public void paintComponent(Graphics g) {
+        long started = System.nanoTime();
+        towerLayer.paint(g);
+        frames.acquire().paint(g, interpolation);
+        metrics.record(TickMetrics.PAINT, started);
     }
 
     /**
      * Method which asks each Enemy to draw itself.
      *
-     * @param g the Graphics object to draw on
-     */
-    private void drawEnemies(Graphics g) {
-        for (Unit unit : (LinkedList<Enemy>) boardState.enemies.clone()) {
-            unit.drawSelf(g);
-        }
-    }
-
-    /**
-     * Method which asks each Tower to draw itself.
-     *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
-    private void drawTowers(Graphics g) {
-        for (int x = 0; x < boardState.numSquares; x++) {
-            for (int y = 0; y < boardState.numSquares; y++) {
-                if (boardState.towers[x][y] != null) {
-                    boardState.towers[x][y].drawSelf(g);
-                }
+    private void drawEnemies(RenderSnapshot g) {
+        UnitList<Enemy> enemies = boardState.enemies;
+        for (int index = 0; index < enemies.size(); index++) {
+            Enemy enemy = enemies.get(index);
+            if (enemy != null) {
+                enemy.drawSelf(g);
             }
         }
     }
@@ -188,10 +151,12 @@ public class GameBoardPanel extends JPanel {
     /**
      * Method which asks each Tnemy that draws top layer graphics to do so.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
-    private void drawEnemyLayers(Graphics g) {
-        for (Unit unit : (LinkedList<Enemy>) boardState.enemies.clone()) {
+    private void drawEnemyLayers(RenderSnapshot g) {
+        UnitList<Enemy> enemies = boardState.enemies;
+        for (int index = 0; index < enemies.size(); index++) {
+            Unit unit = enemies.get(index);
             if (unit instanceof ILayeredGraphics) {
                 ((ILayeredGraphics) unit).drawLayer(g);
             }
@@ -200,16 +165,23 @@ public class GameBoardPanel extends JPanel {
 
     /**
      * Method which asks each Tower that draws top layer graphics to do so.
+     * Only occupied squares are visited, and Terrain and Blockers, which have
+     * no top layer, are skipped by their type code.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
-    private void drawTowerLayers(Graphics g) {
-        for (int x = 0; x < boardState.numSquares; x++) {
-            for (int y = 0; y < boardState.numSquares; y++) {
-                Tower currentTower = boardState.towers[x][y];
-                if (currentTower != null && currentTower instanceof ILayeredGraphics) {
-                    ((ILayeredGraphics) currentTower).drawLayer(g);
-                }
+    private void drawTowerLayers(RenderSnapshot g) {
+        TowerGrid towers = boardState.towers;
+        BitSet occupied = towers.occupied();
+        for (int cell = occupied.nextSetBit(0); cell >= 0; cell = occupied.nextSetBit(cell + 1)) {
+            byte type = towers.type(cell);
+            if (type == TowerGrid.TYPE_TERRAIN || type == TowerGrid.TYPE_BLOCKER) {
+                continue;
+            }
+
+            Tower currentTower = towers.get(cell);
+            if (currentTower instanceof ILayeredGraphics) {
+                ((ILayeredGraphics) currentTower).drawLayer(g);
             }
         }
     }
@@ -16,10 +16,17 @@
  */
 package gui.game;
 
+import engine.BoardState;
+import engine.ParallelSimulation;
+import engine.ReplayRecorder;
+import engine.Simulation;
 import gui.MainFrame;
-import gui.game.levels.BoardState;
 import gui.game.levels.LevelCreator;
 import gui.game.levels.LevelNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.BoxLayout;
 import javax.swing.JPanel;
 
@@ -31,9 +38,16 @@ import javax.swing.JPanel;
  */
 public class GamePanel extends JPanel {
 
-    //references to the game board and gui so they can be updated continuously
-    private GameBoardPanel board;
+    //system property naming a directory to record a replay of each game into
+    private static final String PROPERTY_REPLAY = "towerdefense4x.replay";
+
+    //references to the simulation and gui so they can be updated continuously
+    private Simulation simulation;
     private GuiPanel gui;
+    private GameBoardPanel board;
+
+    //where the game is being recorded, or null if it is not
+    private ReplayRecorder recorder;
     
     /**
      * Constructor which initializes subcomponents and adds them in the proper
@@ -48,11 +62,17 @@ public class GamePanel extends JPanel {
 
         BoardState levelState = LevelCreator.createLevel(level);
         
-        gui = new GuiPanel(parent, level, levelState.initialTime);
-        board = new GameBoardPanel(levelState);
+        simulation = new ParallelSimulation(levelState);
+        recorder = startRecording(level, levelState.seed);
+        if (recorder != null) {
+            simulation.record(recorder);
+        }
+        simulation.metrics().register();
+        gui = new GuiPanel(parent, level, levelState.initialTime, simulation.metrics());
+        board = new GameBoardPanel(simulation);
         PurchasePanel buy = new PurchasePanel();
 
-        BoardMouseListener mouseListener = new BoardMouseListener(buy, board);
+        BoardMouseListener mouseListener = new BoardMouseListener(buy, simulation);
         board.addMouseListener(mouseListener);
         board.addMouseMotionListener(mouseListener);
 
@@ -62,10 +82,55 @@ public class GamePanel extends JPanel {
     }
     
     /**
-     * Method which updates the game board. Expects to be called repeatedly to simulate continuous action.
+     * Method which updates the game board. Expects to be called repeatedly to simulate continuous action,
+     * always from the same thread.
      */
     public void tick() {
-        board.tick();
+        simulation.step();
+        board.capture();
         gui.tick();
     }
+
+    /**
+     * Method which finishes the game's replay, if one is being recorded. This
+     * is called when the panel is taken off screen.
+     */
+    public void close() {
+        if (recorder != null) {
+            recorder.close(simulation.ticks());
+        }
+    }
+
+    /**
+     * Helper method which starts recording a replay of the game if the
+     * towerdefense4x.replay system property names a directory to record into.
+     *
+     * @param level the level being played
+     * @param seed the seed of the board
+     * @return the recorder, or null if the game is not being recorded
+     */
+    private static ReplayRecorder startRecording(int level, long seed) {
+        String directory = System.getProperty(PROPERTY_REPLAY);
+        if (directory == null) {
+            return null;
+        }
+
+        try {
+            Path file = Paths.get(directory, "level" + level + "-" + seed + ".replay");
+            return new ReplayRecorder(Files.newOutputStream(file), level, seed);
+        } catch (IOException e) {
+            //play on without recording
+            return null;
+        }
+    }
+
+    /**
+     * Method which prepares the game board for the next render.
+     *
+     * @param interpolation how far between the last two simulation steps to
+     * draw moving units, from 0 to 1
+     */
+    public void setInterpolation(double interpolation) {
+        board.setInterpolation(interpolation);
+    }
 }
@@ -16,12 +16,15 @@
  */
 package gui.game;
 
+import engine.TickMetrics;
 import gui.MainFrame;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import towerdefense4x.TowerDefense4X;
 
 /**
@@ -48,6 +51,13 @@ public class GuiPanel extends JPanel {
     //UI element to update with the remaining time
     private JLabel timeLabel;
 
+    //the metrics of the running game, and the UI element which displays them
+    private final TickMetrics metrics;
+    private final JLabel statsLabel;
+
+    //whether the metrics overlay is shown, set by the painting thread
+    private volatile boolean showStats;
+
     /**
      * Constructor which initializes the GUI, including adding main menu and
      * reset buttons, as well as time labels.
@@ -55,9 +65,11 @@ public class GuiPanel extends JPanel {
      * @param window the game window to call to reset or return to the main menu
      * @param level the initial level used for the game, used for resetting
      * @param initialSeconds number of seconds the player must survive to win
+     * @param metrics the metrics of the running game, shown on request
      */
-    public GuiPanel(MainFrame window, int level, int initialSeconds) {
+    public GuiPanel(MainFrame window, int level, int initialSeconds, TickMetrics metrics) {
         this.window = window;
+        this.metrics = metrics;
 
         setLayout(new GridLayout(0, 1));
 
@@ -80,6 +92,15 @@ public class GuiPanel extends JPanel {
             window.showMenu();
         });
         add(mainMenu);
+
+        statsLabel = new JLabel();
+        JCheckBox stats = new JCheckBox("Stats");
+        stats.addActionListener((ActionEvent e) -> {
+            showStats = stats.isSelected();
+            statsLabel.setText("");
+        });
+        add(stats);
+        add(statsLabel);
     }
 
     /**
@@ -101,6 +122,33 @@ public class GuiPanel extends JPanel {
             }
         }
         remainingTicks = remainingTicks - 1;
-        timeLabel.setText(remainingMinutes + ":" + remainingSeconds + ":" + remainingTicks);
+        String remaining = remainingMinutes + ":" + remainingSeconds + ":" + remainingTicks;
+        SwingUtilities.invokeLater(() -> timeLabel.setText(remaining));
+
+        if (showStats && remainingTicks == 0) {
+            String stats = describeMetrics();
+            SwingUtilities.invokeLater(() -> statsLabel.setText(stats));
+        }
+    }
+
+    /**
+     * Helper method which summarises the metrics for the overlay: the Enemy
+     * and Tower counts, the pool hit rate, then the median and 99th percentile
+     * duration of each phase in microseconds.
+     *
+     * @return the text to display
+     */
+    private String describeMetrics() {
+        StringBuilder text = new StringBuilder("<html>");
+        text.append("enemies ").append(metrics.getEnemies());
+        text.append(" (+").append(metrics.getSpawns()).append(" -").append(metrics.getDeaths()).append(")");
+        text.append("<br>towers ").append(metrics.getTowers());
+        text.append("<br>pool ").append(Math.round(metrics.getPoolHitRate() * 100)).append('%');
+        for (int phase = 0; phase < TickMetrics.phaseCount(); phase++) {
+            text.append("<br>").append(TickMetrics.phaseName(phase)).append(' ');
+            text.append(metrics.phase(phase).percentile(50) / 1000).append('/');
+            text.append(metrics.phase(phase).percentile(99) / 1000).append("us");
+        }
+        return text.append("</html>").toString();
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package gui.game.levels;
+
+import engine.BoardState;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point which converts text .level files into binary .tdl files next to
+ * them. Run it over the levels in this package after editing any of them, as
+ * the game loads the binary file in preference to the text one.
+ *
+ * Usage: LevelConverter file.level [more.level ...]
+ *
+ * @author Nick Houser
+ */
+public class LevelConverter {
+
+    /**
+     * Main method which converts every level named on the command line.
+     *
+     * @param args the text levels to convert
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: LevelConverter file.level [more.level ...]");
+            return;
+        }
+
+        for (String arg : args) {
+            Path textLevel = Paths.get(arg);
+            String name = textLevel.getFileName().toString().replaceFirst("\\.level$", "") + ".tdl";
+            Path binaryLevel = textLevel.resolveSibling(name);
+            try {
+                BoardState state;
+                try (InputStream in = Files.newInputStream(textLevel)) {
+                    state = LevelCreator.deserializeLines(LevelCreator.readLines(in), 0);
+                }
+                try (OutputStream out = Files.newOutputStream(binaryLevel)) {
+                    LevelFormat.write(state, out);
+                }
+                System.out.println(textLevel + " -> " + binaryLevel);
+            } catch (Exception e) {
+                System.err.println(textLevel + ": " + e);
+            }
+        }
+    }
+}
@@ -16,17 +16,23 @@
  */
 package gui.game.levels;
 
+import engine.BoardState;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.IOException;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import towerdefense4x.SingletonRandom;
 import units.enemies.Hive;
 import units.towers.Generator;
-import units.towers.Terrain;
 
 /**
- * Class which handles creating the board state for any requested level.
+ * Class which handles creating the board state for any requested level. Each
+ * level is loaded from the binary N.tdl file if there is one, and otherwise
+ * from the text N.level file it is converted from.
  *
  * @author Nick Houser
  */
@@ -49,30 +55,93 @@ public class LevelCreator {
     //constant indicating the argument delimiter for .level files
     private static final String DELIMITER_ARGUMENT = ",";
 
+    //system property which, when true, gives every level a fixed seed
+    private static final String PROPERTY_DETERMINISTIC = "towerdefense4x.deterministic";
+
     /**
-     * Sets up and returns the board state for the passed level.
+     * Sets up and returns the board state for the passed level, seeded by
+     * seedFor.
      *
      * @param level the level to create
      * @return an initial board state corresponding to the passed level
      * @throws LevelNotFoundException if an error occurs during deserialization
      */
     public static BoardState createLevel(int level) throws LevelNotFoundException {
-        URL levelFilePath = LevelCreator.class.getResource(level + ".level");
+        return createLevel(level, seedFor(level));
+    }
+
+    /**
+     * Sets up and returns the board state for the passed level with the passed
+     * seed, for example to replay a recorded game.
+     *
+     * @param level the level to create
+     * @param seed the seed to derive all random numbers on the board from
+     * @return an initial board state corresponding to the passed level
+     * @throws LevelNotFoundException if an error occurs during deserialization
+     */
+    public static BoardState createLevel(int level, long seed) throws LevelNotFoundException {
         try {
-            List<String> lines = Files.readAllLines(Paths.get(levelFilePath.toURI()));
-            return deserializeLines(lines);
+            URL binaryLevel = LevelCreator.class.getResource(level + ".tdl");
+            if (binaryLevel != null) {
+                return LevelFormat.load(binaryLevel, seed);
+            }
+
+            URL textLevel = LevelCreator.class.getResource(level + ".level");
+            if (textLevel == null) {
+                throw new FileNotFoundException(level + ".level");
+            }
+            try (InputStream in = textLevel.openStream()) {
+                return deserializeLines(readLines(in), seed);
+            }
         } catch (Exception e) {
             throw new LevelNotFoundException(e, level);
         }
     }
 
+    /**
+     * Method which reads every line of a text level. This works for levels
+     * inside a jar as well as in a directory.
+     *
+     * @param in the stream to read the level from
+     * @return the lines of the level
+     * @throws IOException if the level cannot be read
+     */
+    static List<String> readLines(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+        String line = reader.readLine();
+        while (line != null) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+            line = reader.readLine();
+        }
+        return lines;
+    }
+
+    /**
+     * Method which picks the seed for a new game of the passed level. When the
+     * towerdefense4x.deterministic system property is true every game of a
+     * level uses the same seed, otherwise each game gets a new one.
+     *
+     * @param level the level about to be played
+     * @return the seed to create the level with
+     */
+    public static long seedFor(int level) {
+        if (Boolean.getBoolean(PROPERTY_DETERMINISTIC)) {
+            return level;
+        }
+        return System.nanoTime();
+    }
+
     /**
      * Method which deserializes a list of file lines into a BoardState.
      *
      * @param lines the lines to deserialize
+     * @param seed the seed of the BoardState
      * @return the deserialized BoardState
      */
-    private static BoardState deserializeLines(List<String> lines) {
+    static BoardState deserializeLines(List<String> lines, long seed) {
         int squares = -1;
         BoardState toReturn = null;
 
@@ -86,7 +155,7 @@ public class LevelCreator {
                     squares = Integer.parseInt(args);
                     break;
                 case COMMAND_TIME:
-                    toReturn = new BoardState(squares, Integer.parseInt(args));
+                    toReturn = new BoardState(squares, Integer.parseInt(args), seed);
                     fillTerrain(toReturn);
                     break;
                 case COMMAND_HIVE:
@@ -109,11 +178,7 @@ public class LevelCreator {
      * @param addTo the BoardState to add to
      */
     private static void fillTerrain(BoardState addTo) {
-        for (int gridX = 0; gridX < addTo.numSquares; gridX++) {
-            for (int gridY = 0; gridY < addTo.numSquares; gridY++) {
-                addTo.towers[gridX][gridY] = new Terrain(gridX * addTo.squareSize, gridY * addTo.squareSize, addTo.squareSize);
-            }
-        }
+        addTo.terrain.set(0, addTo.numSquares * addTo.numSquares);
     }
 
     /**
@@ -126,8 +191,8 @@ public class LevelCreator {
         String[] argsSplit = args.split(DELIMITER_ARGUMENT);
         int gridX = Integer.parseInt(argsSplit[0]);
         int gridY = Integer.parseInt(argsSplit[1]);
-        addTo.towers[gridX][gridY] = null;
-        addTo.enemies.add(new Hive(gridX * addTo.squareSize, gridY * addTo.squareSize, addTo.squareSize, SingletonRandom.getRandom()));
+        addTo.terrain.clear(gridX * addTo.numSquares + gridY);
+        addTo.enemies.add(new Hive(gridX * addTo.squareSize, gridY * addTo.squareSize, addTo.squareSize, addTo.newRandom()));
     }
 
     /**
@@ -140,9 +205,9 @@ public class LevelCreator {
         String[] argsSplit = args.split(DELIMITER_ARGUMENT);
         int gridX = Integer.parseInt(argsSplit[0]);
         int gridY = Integer.parseInt(argsSplit[1]);
-        addTo.towers[gridX][gridY] = null;
+        addTo.terrain.clear(gridX * addTo.numSquares + gridY);
         Generator toAdd = new Generator(gridX * addTo.squareSize, gridY * addTo.squareSize, addTo.squareSize);
-        toAdd.power(new Generator(0, 0, 1));
-        addTo.towers[gridX][gridY] = toAdd;
+        toAdd.makeSource();
+        addTo.towers.set(gridX, gridY, toAdd);
     }
 }
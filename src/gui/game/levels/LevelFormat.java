@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package gui.game.levels;
+
+import engine.BoardState;
+import engine.TowerGrid;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.towers.Generator;
+import units.towers.Tower;
+
+/**
+ * Class which reads and writes levels in the compact binary .tdl format. A
+ * level is a header, a bitmap of the squares holding Terrain and tables of the
+ * Hives and source Generators, so it can be read straight out of a mapped
+ * file without creating a String per line.
+ *
+ * The header is the int MAGIC, a version byte, then the number of squares
+ * along each side, the time limit in seconds, the number of Hives and the
+ * number of Generators, all ints. The bitmap follows with one bit per square,
+ * square x * numSquares + y in bit 7 - (index % 8) of byte index / 8. Each
+ * table entry is the grid x and grid y of the unit as unsigned shorts. All
+ * numbers are big-endian.
+ *
+ * @author Nick Houser
+ */
+public class LevelFormat {
+
+    /**
+     * Constant which every binary level starts with.
+     */
+    public static final int MAGIC = 0x54444C56;
+
+    /**
+     * Constant giving the version of the format written.
+     */
+    public static final int VERSION = 1;
+
+    //the size of a buffer used to read a level which cannot be mapped
+    private static final int READ_CHUNK = 8192;
+
+    /**
+     * Method which writes the Terrain, Hives and source Generators of a board
+     * as a binary level. Anything else on the board is not part of a level and
+     * is left out.
+     *
+     * @param state the board to write
+     * @param destination the stream to write to
+     * @throws IOException if the level cannot be written
+     */
+    public static void write(BoardState state, OutputStream destination) throws IOException {
+        int numSquares = state.numSquares;
+        byte[] terrain = new byte[(numSquares * numSquares + 7) / 8];
+        ArrayList<Tower> generators = new ArrayList<>();
+        for (int x = 0; x < numSquares; x++) {
+            for (int y = 0; y < numSquares; y++) {
+                int index = state.towers.cell(x, y);
+                Tower tower = state.towers.get(index);
+                if (state.terrain.get(index) || state.towers.type(index) == TowerGrid.TYPE_TERRAIN) {
+                    terrain[index / 8] = (byte) (terrain[index / 8] | (0x80 >>> (index % 8)));
+                } else if (tower instanceof Generator && ((Generator) tower).isSource()) {
+                    generators.add(tower);
+                }
+            }
+        }
+
+        ArrayList<Enemy> hives = new ArrayList<>();
+        for (int index = 0; index < state.enemies.size(); index++) {
+            if (state.enemies.get(index) instanceof Hive) {
+                hives.add(state.enemies.get(index));
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(destination);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(numSquares);
+        out.writeInt(state.initialTime);
+        out.writeInt(hives.size());
+        out.writeInt(generators.size());
+        out.write(terrain);
+        for (Enemy hive : hives) {
+            out.writeShort(Math.floorDiv(hive.getPositionX(), state.squareSize));
+            out.writeShort(Math.floorDiv(hive.getPositionY(), state.squareSize));
+        }
+        for (Tower generator : generators) {
+            out.writeShort(generator.getGridPosition().x);
+            out.writeShort(generator.getGridPosition().y);
+        }
+        out.flush();
+    }
+
+    /**
+     * Method which builds a board from a binary level held in a buffer.
+     *
+     * @param buffer the buffer holding the level, positioned at its start
+     * @param seed the seed to derive all random numbers on the board from
+     * @return the board described by the level
+     * @throws IOException if the buffer does not hold a binary level
+     */
+    public static BoardState read(ByteBuffer buffer, long seed) throws IOException {
+        if (buffer.remaining() < 21 || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            throw new IOException("Not a binary level written by this version.");
+        }
+
+        int numSquares = buffer.getInt();
+        int initialTime = buffer.getInt();
+        int hiveCount = buffer.getInt();
+        int generatorCount = buffer.getInt();
+        if (numSquares <= 0 || hiveCount < 0 || generatorCount < 0) {
+            throw new IOException("Binary level has a corrupt header.");
+        }
+
+        long terrainSize = ((long) numSquares * numSquares + 7) / 8;
+        if (buffer.remaining() < terrainSize + 4 * ((long) hiveCount + generatorCount)) {
+            throw new IOException("Binary level is truncated.");
+        }
+        int terrainBytes = (int) terrainSize;
+
+        BoardState state = new BoardState(numSquares, initialTime, seed);
+        int squareSize = state.squareSize;
+        int cells = numSquares * numSquares;
+        for (int block = 0; block < terrainBytes; block++) {
+            int bits = buffer.get() & 0xFF;
+            int first = block * 8;
+            if (bits == 0xFF) {
+                state.terrain.set(first, Math.min(first + 8, cells));
+            } else if (bits != 0) {
+                for (int bit = 0; bit < 8 && first + bit < cells; bit++) {
+                    if ((bits & (0x80 >>> bit)) != 0) {
+                        state.terrain.set(first + bit);
+                    }
+                }
+            }
+        }
+
+        for (int hive = 0; hive < hiveCount; hive++) {
+            int gridX = readCoordinate(buffer, numSquares);
+            int gridY = readCoordinate(buffer, numSquares);
+            state.enemies.add(new Hive(gridX * squareSize, gridY * squareSize, squareSize, state.newRandom()));
+        }
+
+        for (int generator = 0; generator < generatorCount; generator++) {
+            int gridX = readCoordinate(buffer, numSquares);
+            int gridY = readCoordinate(buffer, numSquares);
+            Generator toAdd = new Generator(gridX * squareSize, gridY * squareSize, squareSize);
+            toAdd.makeSource();
+            state.towers.set(gridX, gridY, toAdd);
+            state.terrain.clear(gridX * numSquares + gridY);
+        }
+
+        return state;
+    }
+
+    /**
+     * Helper method which reads one grid coordinate of a Hive or Generator
+     * from a binary level.
+     *
+     * @param buffer the buffer holding the level
+     * @param numSquares the number of squares along each side of the board
+     * @return the coordinate read
+     * @throws IOException if the coordinate lies off the board
+     */
+    private static int readCoordinate(ByteBuffer buffer, int numSquares) throws IOException {
+        int coordinate = buffer.getShort() & 0xFFFF;
+        if (coordinate >= numSquares) {
+            throw new IOException("Binary level places a unit off the board.");
+        }
+        return coordinate;
+    }
+
+    /**
+     * Method which loads a binary level from the filesystem by mapping it.
+     *
+     * @param file the level file
+     * @param seed the seed to derive all random numbers on the board from
+     * @return the board described by the level
+     * @throws IOException if the file cannot be read or is not a binary level
+     */
+    public static BoardState load(Path file, long seed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), seed);
+        }
+    }
+
+    /**
+     * Method which loads a binary level from a resource on the classpath. A
+     * resource in a directory is mapped like any other file, while one inside
+     * a jar is read into memory.
+     *
+     * @param resource the location of the level
+     * @param seed the seed to derive all random numbers on the board from
+     * @return the board described by the level
+     * @throws IOException if the level cannot be read or is not a binary level
+     */
+    public static BoardState load(URL resource, long seed) throws IOException {
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return load(Paths.get(resource.toURI()), seed);
+            } catch (URISyntaxException e) {
+                //fall back to reading the resource as a stream
+            }
+        }
+
+        try (InputStream in = resource.openStream()) {
+            ByteArrayOutputStream contents = new ByteArrayOutputStream();
+            byte[] chunk = new byte[READ_CHUNK];
+            int read = in.read(chunk);
+            while (read >= 0) {
+                contents.write(chunk, 0, read);
+                read = in.read(chunk);
+            }
+            return read(ByteBuffer.wrap(contents.toByteArray()), seed);
+        }
+    }
+}
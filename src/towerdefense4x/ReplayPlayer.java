@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package towerdefense4x;
+
+import engine.BoardState;
+import engine.ParallelSimulation;
+import engine.Replay;
+import engine.Simulation;
+import engine.TickMetrics;
+import gui.game.levels.LevelCreator;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Entry point which re-runs a recorded game without a window, as fast as the
+ * simulation can go, and reports how long the ticks took. This is used to
+ * reproduce gameplay bugs and slow games reported by players.
+ *
+ * Usage: ReplayPlayer replay-file [steps]. Without a step count the replay
+ * runs for as long as the original game, or for the whole round if the game
+ * was never closed.
+ *
+ * @author Nick Houser
+ */
+public class ReplayPlayer {
+
+    /**
+     * Main method which plays the replay named on the command line.
+     *
+     * @param args the replay file, optionally followed by the number of steps
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayPlayer replay-file [steps]");
+            return;
+        }
+
+        try {
+            Replay replay;
+            try (InputStream in = Files.newInputStream(Paths.get(args[0]))) {
+                replay = new Replay(in);
+            }
+
+            BoardState state = LevelCreator.createLevel(replay.level, replay.seed);
+            long steps = replay.length;
+            if (args.length > 1) {
+                steps = Long.parseLong(args[1]);
+            } else if (steps < 0) {
+                steps = (long) state.initialTime * 1000 / TowerDefense4X.TICK_LENGTH;
+            }
+
+            Simulation simulation = new ParallelSimulation(state);
+            long started = System.nanoTime();
+            replay.run(simulation, steps);
+            long elapsed = System.nanoTime() - started;
+
+            TickMetrics metrics = simulation.metrics();
+            System.out.println("level " + replay.level + ", seed " + replay.seed + ", " + replay.size() + " placements");
+            System.out.println(steps + " steps in " + elapsed / 1000000 + " ms");
+            System.out.println("enemies " + metrics.getEnemies() + ", towers " + metrics.getTowers()
+                    + ", spawned " + metrics.getTotalSpawns() + ", died " + metrics.getTotalDeaths());
+            System.out.println("tick p50/p99/max us: " + metrics.phase(TickMetrics.TICK).percentile(50) / 1000
+                    + "/" + metrics.phase(TickMetrics.TICK).percentile(99) / 1000
+                    + "/" + metrics.phase(TickMetrics.TICK).max() / 1000);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
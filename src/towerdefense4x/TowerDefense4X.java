@@ -16,7 +16,10 @@
  */
 package towerdefense4x;
 
+import engine.FixedStepClock;
 import gui.MainFrame;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
 
 /**
  * Main class and entry point for the program. Creates the frame which will
@@ -31,28 +34,66 @@ public class TowerDefense4X {
      */
     public static final int TICK_LENGTH = 20;
 
+    /**
+     * Constant indicating how many frames should be drawn per second.
+     */
+    public static final int FRAMES_PER_SECOND = 60;
+
+    /**
+     * Constant indicating how many ticks may be run back to back to catch up
+     * after the game loop falls behind.
+     */
+    public static final int MAX_CATCH_UP_TICKS = 5;
+
     /**
      * Main method and entry point for the program. Creates the main game window
-     * and adds two panels to it: the game board panel and the HUD panel.
+     * on the event dispatch thread, then starts the simulation thread which
+     * runs the main game loop.
      *
      * @param args the command line arguments
      */
     public static void main(String[] args) {
         System.setProperty("sun.java2d.opengl", "true");
 
-        MainFrame frame = new MainFrame();
+        try {
+            MainFrame[] frame = new MainFrame[1];
+            SwingUtilities.invokeAndWait(() -> frame[0] = new MainFrame());
 
+            Thread simulation = new Thread(() -> runGameLoop(frame[0]), "simulation");
+            simulation.start();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Helper method which runs the main game loop: it ticks the game at a fixed
+     * rate and asks for the board to be redrawn at its own rate. All ticks
+     * happen on the thread calling this method.
+     *
+     * @param frame the game window to update
+     */
+    private static void runGameLoop(MainFrame frame) {
         try {
-            long nextTick = System.currentTimeMillis();
-            long delta;
+            long frameLength = TimeUnit.SECONDS.toNanos(1) / FRAMES_PER_SECOND;
+            FixedStepClock clock = new FixedStepClock(TimeUnit.MILLISECONDS.toNanos(TICK_LENGTH), MAX_CATCH_UP_TICKS, System.nanoTime());
+            long nextFrame = System.nanoTime();
             while (true) {
-                nextTick = nextTick + TICK_LENGTH;
+                long now = System.nanoTime();
+                int ticks = clock.advance(now);
+                for (int tick = 0; tick < ticks; tick++) {
+                    frame.tick();
+                }
 
-                frame.tick();
+                now = System.nanoTime();
+                if (now - nextFrame >= 0) {
+                    frame.render(clock.interpolation(now));
+                    nextFrame = Math.max(nextFrame, now - frameLength) + frameLength;
+                }
 
-                delta = nextTick - System.currentTimeMillis();
-                if (delta > 0) {
-                    Thread.sleep(delta);
+                long wait = Math.min(clock.untilNextStep(now), nextFrame - now);
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
                 }
             }
         } catch (Exception e) {
@@ -16,7 +16,7 @@
  */
 package units;
 
-import java.awt.Graphics;
+import engine.RenderSnapshot;
 
 /**
  * Interface which supports drawing graphics over or under the normal graphics.
@@ -29,7 +29,7 @@ public interface ILayeredGraphics {
      * Draws graphics. This expects to be called before or after the regular
      * graphics are drawn to simulate drawing below or on top of those graphics.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
-    void drawLayer(Graphics g);
+    void drawLayer(RenderSnapshot g);
 }
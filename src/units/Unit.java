@@ -16,8 +16,9 @@
  */
 package units;
 
-import gui.game.GameBoardPanel;
-import java.awt.Graphics;
+import engine.BoardEvents;
+import engine.RenderSnapshot;
+import engine.Simulation;
 import java.awt.Point;
 
 /**
@@ -35,6 +36,9 @@ public abstract class Unit {
     //the size of one grid square on the board
     protected int squareSize;
 
+    //the events of the board this unit is on, or null if it is not on one
+    private BoardEvents events;
+
     /**
      * Constructor which initializes health.
      *
@@ -45,15 +49,53 @@ public abstract class Unit {
         this.squareSize = squareSize;
     }
 
+    /**
+     * Sets the events of the board this unit is on, so that it can report its
+     * damage and death. Only the board should call this.
+     *
+     * @param events the BoardEvents of the board, or null once the unit is
+     * removed
+     */
+    public void setEvents(BoardEvents events) {
+        this.events = events;
+    }
+
     /**
      * Method which exposes health for modification. Does not allow health to be
-     * set above its initial value.
+     * set above its initial value. Losing health is reported to the board, as
+     * is dying.
      *
      * @param delta the amount to increment the health
      */
     public void changeHealth(int delta) {
+        boolean wasDead = isDead();
         health = health + delta;
         health = Math.min(initialHealth(), health);
+
+        if (events != null && delta < 0) {
+            events.damaged(this);
+            if (!wasDead && isDead()) {
+                events.died(this);
+            }
+        }
+    }
+
+    /**
+     * Method which restores the unit to full health and detaches it from any
+     * board, so that a unit which has died can be used again.
+     */
+    protected void revive() {
+        health = initialHealth();
+        events = null;
+    }
+
+    /**
+     * Method which gets the current health of the unit.
+     *
+     * @return the health of the unit, which is 0 or less once it is dead
+     */
+    public int getHealth() {
+        return health;
     }
 
     /**
@@ -69,7 +111,12 @@ public abstract class Unit {
      * Method which allows a Unit to be instantly marked for deletion.
      */
     public void destroy() {
+        boolean wasDead = isDead();
         health = -1000;
+
+        if (events != null && !wasDead && isDead()) {
+            events.died(this);
+        }
     }
 
     /**
@@ -133,12 +180,12 @@ public abstract class Unit {
      *
      * @param board the game board on which the unit is acting
      */
-    public abstract void tick(GameBoardPanel board);
+    public abstract void tick(Simulation board);
 
     /**
      * Method which asks the Unit to draw itself on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
-    public abstract void drawSelf(Graphics g);
+    public abstract void drawSelf(RenderSnapshot g);
 }
@@ -16,9 +16,9 @@
  */
 package units.enemies;
 
-import gui.game.GameBoardPanel;
+import engine.RenderSnapshot;
+import engine.Simulation;
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
 import units.towers.Tower;
 
@@ -30,6 +30,14 @@ import units.towers.Tower;
  */
 public class Burrower extends Mover {
 
+    //constants which define the speed, health and draw size of a Burrower
+    public static final double SPEED = 100;
+    public static final int HEALTH = 10;
+    public static final int SIZE = 10;
+
+    //whether the Burrower was blocked by a Tower and dug into it last tick
+    private boolean burrowing;
+
     /**
      * Constructor which calls the parent constructor to initialize position and
      * direction.
@@ -41,6 +49,31 @@ public class Burrower extends Mover {
      */
     public Burrower(int xPosition, int yPosition, Point target, int squareSize) {
         super(xPosition, yPosition, target, squareSize);
+        burrowing = false;
+    }
+
+    /**
+     * Method which prepares a Burrower which has died to be used again.
+     *
+     * @param xPosition the x position the Burrower should start from
+     * @param yPosition the y position the Burrower should start from
+     * @param targetX the x position the Burrower should travel towards
+     * @param targetY the y position the Burrower should travel towards
+     */
+    @Override
+    public void reset(int xPosition, int yPosition, int targetX, int targetY) {
+        super.reset(xPosition, yPosition, targetX, targetY);
+        burrowing = false;
+    }
+
+    /**
+     * Method which checks whether the Burrower is digging into a Tower, which
+     * is the case when a Tower blocked its last move.
+     *
+     * @return true if the Burrower is digging into a Tower, false otherwise
+     */
+    public boolean isBurrowing() {
+        return burrowing;
     }
 
     /**
@@ -50,7 +83,7 @@ public class Burrower extends Mover {
      */
     @Override
     protected double getSpeed() {
-        return 100;
+        return SPEED;
     }
 
     /**
@@ -60,7 +93,7 @@ public class Burrower extends Mover {
      */
     @Override
     public int initialHealth() {
-        return 10;
+        return HEALTH;
     }
 
     /**
@@ -70,7 +103,7 @@ public class Burrower extends Mover {
      */
     @Override
     public int getSize() {
-        return 10;
+        return SIZE;
     }
 
     /**
@@ -79,9 +112,10 @@ public class Burrower extends Mover {
      * @param board the game board on which the unit is acting
      */
     @Override
-    public void tick(GameBoardPanel board) {
+    public void tick(Simulation board) {
         Tower blocker = move(board);
-        if (blocker != null) {
+        burrowing = blocker != null;
+        if (burrowing) {
             blocker.changeHealth(-1);
         }
     }
@@ -89,11 +123,12 @@ public class Burrower extends Mover {
     /**
      * Method which asks the Burrower to draw itself on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
+        int size = getScaledSize();
         g.setColor(Color.BLACK);
-        g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
+        g.fillMovingRect(getDrawX(0.0), getDrawY(0.0), getDrawX(1.0), getDrawY(1.0), size, size);
     }
 }
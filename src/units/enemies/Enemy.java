@@ -16,8 +16,8 @@
  */
 package units.enemies;
 
+import engine.Simulation;
 import java.awt.Point;
-import units.DoublePoint;
 import units.Unit;
 
 /**
@@ -28,8 +28,18 @@ import units.Unit;
  */
 public abstract class Enemy extends Unit {
 
-    //the location of this unit on the board
-    protected DoublePoint position;
+    //the location of this unit on the board; kept as primitives so that
+    //moving does not need to allocate a new point every tick
+    protected double xPosition;
+    protected double yPosition;
+
+    //the location of this unit before its last move, used to draw it smoothly
+    //between simulation steps
+    protected double previousX;
+    protected double previousY;
+
+    //the grid square this unit is filed under in the board's enemy index
+    private int gridCell;
 
     /**
      * Constructor which sets the position of the Enemy equal to the passed
@@ -41,7 +51,10 @@ public abstract class Enemy extends Unit {
      */
     public Enemy(int xPosition, int yPosition, int squareSize) {
         super(squareSize);
-        position = new DoublePoint(xPosition, yPosition);
+        this.xPosition = xPosition;
+        this.yPosition = yPosition;
+        previousX = xPosition;
+        previousY = yPosition;
     }
 
     /**
@@ -51,6 +64,101 @@ public abstract class Enemy extends Unit {
      */
     @Override
     public Point getPosition() {
-        return position.toPoint();
+        return new Point(getPositionX(), getPositionY());
+    }
+
+    /**
+     * Gets the x co-ordinate of the unit rounded to the nearest integer,
+     * without allocating a Point.
+     *
+     * @return the x co-ordinate of the unit
+     */
+    public int getPositionX() {
+        return (int) Math.round(xPosition);
+    }
+
+    /**
+     * Gets the y co-ordinate of the unit rounded to the nearest integer,
+     * without allocating a Point.
+     *
+     * @return the y co-ordinate of the unit
+     */
+    public int getPositionY() {
+        return (int) Math.round(yPosition);
+    }
+
+    /**
+     * Gets the exact x co-ordinate of the unit, before rounding.
+     *
+     * @return the exact x co-ordinate of the unit
+     */
+    public double getExactX() {
+        return xPosition;
+    }
+
+    /**
+     * Gets the exact y co-ordinate of the unit, before rounding.
+     *
+     * @return the exact y co-ordinate of the unit
+     */
+    public double getExactY() {
+        return yPosition;
+    }
+
+    /**
+     * Gets the x co-ordinate at which to draw the unit, part way between where
+     * it was before its last move and where it is now.
+     *
+     * @param interpolation how far between the two positions to draw, from 0
+     * for the previous position to 1 for the current one
+     * @return the x co-ordinate at which to draw the unit
+     */
+    public int getDrawX(double interpolation) {
+        return (int) Math.round(previousX + (xPosition - previousX) * interpolation);
+    }
+
+    /**
+     * Gets the y co-ordinate at which to draw the unit, part way between where
+     * it was before its last move and where it is now.
+     *
+     * @param interpolation how far between the two positions to draw, from 0
+     * for the previous position to 1 for the current one
+     * @return the y co-ordinate at which to draw the unit
+     */
+    public int getDrawY(double interpolation) {
+        return (int) Math.round(previousY + (yPosition - previousY) * interpolation);
+    }
+
+    /**
+     * Method which does the part of this Enemy's next tick that only reads the
+     * board and changes the Enemy's own state. A ParallelSimulation calls this
+     * for many Enemies at once before ticking each of them in order, so it must
+     * not change any other unit or the board itself. By default there is no
+     * such work and the whole tick happens in tick.
+     *
+     * @param board the game board on which the unit is acting
+     */
+    public void plan(Simulation board) {
+        //do nothing
+    }
+
+    /**
+     * Gets the grid square this Enemy was last filed under by the board's
+     * enemy index.
+     *
+     * @return the index of the grid square
+     */
+    public int getGridCell() {
+        return gridCell;
+    }
+
+    /**
+     * Records the grid square this Enemy has been filed under by the board's
+     * enemy index.
+     *
+     * @param gridCell the index of the grid square
+     */
+    public void setGridCell(int gridCell) {
+        this.gridCell = gridCell;
     }
 }
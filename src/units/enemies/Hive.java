@@ -16,28 +16,30 @@
  */
 package units.enemies;
 
-import gui.game.GameBoardPanel;
+import engine.RenderSnapshot;
+import engine.Scheduled;
+import engine.Simulation;
 import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.Point;
 import java.util.Random;
 
 /**
  * Class representing a Hive, which is an Enemy that cannot be killed and which
- * spawns other Enemies.
+ * spawns other Enemies. A Hive sleeps between spawns and is woken by the
+ * Simulation when the next one is due.
  *
  * @author Nick Houser
  */
-public class Hive extends Enemy {
+public class Hive extends Enemy implements Scheduled {
 
     //constant indicating how often Burrowers will be spawned
-    protected static final int CADENCE_BURROWER = 100;
+    public static final int CADENCE_BURROWER = 100;
 
     //constant indicating how often Queens will be spawned
-    protected static final int CADENCE_QUEEN = 1000;
+    public static final int CADENCE_QUEEN = 1000;
 
-    //timer variable which tracks ticks so the Hive knows when to spawn Enemies
-    private long lifetime;
+    //the steps at which the Hive next spawns a Burrower and a Queen
+    private long nextBurrower;
+    private long nextQueen;
 
     //random number generator
     private Random rng;
@@ -52,7 +54,8 @@ public class Hive extends Enemy {
      */
     public Hive(int xPosition, int yPosition, int squareSize, Random rng) {
         super(xPosition - (xPosition % squareSize), yPosition - (yPosition % squareSize), squareSize);
-        lifetime = 0;
+        nextBurrower = 0;
+        nextQueen = 0;
         this.rng = rng;
     }
 
@@ -86,54 +89,86 @@ public class Hive extends Enemy {
     }
 
     /**
-     * Method which allows the Hive to spawn other Enemies.
+     * Method which does nothing, because a Hive only acts when the Simulation
+     * wakes it.
      *
      * @param board the game board on which the unit is acting
      */
     @Override
-    public void tick(GameBoardPanel board) {
-        lifetime = (lifetime + 1) % 100000;
-        
-        spawnBurrower(board);
-        spawnQueen(board);
+    public void tick(Simulation board) {
+        //do nothing
     }
 
     /**
-     * Method which handles spawning a new Burrower at the proper time.
+     * Method which schedules the first spawns of the Hive, which happen on
+     * its CADENCE_BURROWER-th and CADENCE_QUEEN-th ticks on the board.
      *
-     * @param board the game board to add the new unit to
+     * @param board the Simulation the Hive was added to
+     */
+    @Override
+    public void start(Simulation board) {
+        nextBurrower = board.nextUnitTick() + CADENCE_BURROWER - 1;
+        nextQueen = board.nextUnitTick() + CADENCE_QUEEN - 1;
+        board.schedule(this, Math.min(nextBurrower, nextQueen));
+    }
+
+    /**
+     * Method which spawns whichever Enemies are due and schedules the next
+     * spawn.
+     *
+     * @param board the Simulation the Hive is on
      */
-    private void spawnBurrower(GameBoardPanel board) {
-        if (lifetime % CADENCE_BURROWER == 0) {
-            int yTarget = rng.nextInt();
-            int xTarget = rng.nextInt();
-            Point target = new Point(xTarget, yTarget);
-            board.addUnit(new Burrower(getCenterPosition().x, getCenterPosition().y, target, squareSize));
+    @Override
+    public void wake(Simulation board) {
+        long now = board.ticks();
+        if (now == nextBurrower) {
+            spawnBurrower(board);
+            nextBurrower = nextBurrower + CADENCE_BURROWER;
         }
+        if (now == nextQueen) {
+            spawnQueen(board);
+            nextQueen = nextQueen + CADENCE_QUEEN;
+        }
+        board.schedule(this, Math.min(nextBurrower, nextQueen));
     }
 
     /**
-     * Method which handles spawning a new Queen at the proper time.
+     * Method which handles spawning a Burrower, reusing a dead one if the board
+     * has one to spare.
      *
      * @param board the game board to add the new unit to
      */
-    private void spawnQueen(GameBoardPanel board) {
-        if (lifetime % CADENCE_QUEEN == 0) {
-            int yTarget = rng.nextInt();
-            int xTarget = rng.nextInt();
-            Point target = new Point(xTarget, yTarget);
-            board.addUnit(new Queen(getCenterPosition().x, getCenterPosition().y, target, squareSize));
-        }
+    private void spawnBurrower(Simulation board) {
+        int centerX = getPositionX() + getScaledSize() / 2;
+        int centerY = getPositionY() + getScaledSize() / 2;
+        int yTarget = rng.nextInt();
+        int xTarget = rng.nextInt();
+        board.addUnit(board.enemyPool().burrower(centerX, centerY, xTarget, yTarget));
+    }
+
+    /**
+     * Method which handles spawning a Queen, reusing a dead one if the board
+     * has one to spare.
+     *
+     * @param board the game board to add the new unit to
+     */
+    private void spawnQueen(Simulation board) {
+        int centerX = getPositionX() + getScaledSize() / 2;
+        int centerY = getPositionY() + getScaledSize() / 2;
+        int yTarget = rng.nextInt();
+        int xTarget = rng.nextInt();
+        board.addUnit(board.enemyPool().queen(centerX, centerY, xTarget, yTarget));
     }
 
     /**
      * Method which asks the Hive to draw itself on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
+        int size = getScaledSize();
         g.setColor(Color.RED);
-        g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
+        g.fillRect(getPositionX(), getPositionY(), size, size);
     }
 }
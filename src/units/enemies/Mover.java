@@ -17,11 +17,9 @@
 package units.enemies;
 
 import units.towers.Tower;
-import gui.game.GameBoardPanel;
-import gui.game.OffscreenException;
+import engine.BoardSearch;
+import engine.Simulation;
 import java.awt.Point;
-import units.DirectionVector;
-import units.DoublePoint;
 
 /**
  * Extension of Enemy which represents an enemy that moves around the board.
@@ -30,8 +28,17 @@ import units.DoublePoint;
  */
 public abstract class Mover extends Enemy {
 
-    //variable tracking the direction of travel
-    private DirectionVector direction;
+    //variables tracking the direction of travel
+    private double xDirection;
+    private double yDirection;
+
+    //the result of a move already made by plan, to be applied on the next tick
+    private boolean planned;
+    private boolean plannedBlocked;
+
+    //the grid square holding the Tower which blocked the last move
+    private int blockedX;
+    private int blockedY;
 
     /**
      * Constructor which calls the inherited constructor to initialize position
@@ -44,51 +51,141 @@ public abstract class Mover extends Enemy {
      */
     public Mover(int xPosition, int yPosition, Point target, int squareSize) {
         super(xPosition, yPosition, squareSize);
-        direction = new DirectionVector(getPosition(), target, getScaledSpeed());
+        aim(target.x, target.y);
+    }
+
+    /**
+     * Method which prepares a Mover which has died to be used again, as if it
+     * had just been created at the passed position heading for the passed
+     * target. This lets dead Movers be recycled instead of allocating new ones.
+     *
+     * @param xPosition the x position the Mover should start from
+     * @param yPosition the y position the Mover should start from
+     * @param targetX the x position the Mover should travel towards
+     * @param targetY the y position the Mover should travel towards
+     */
+    public void reset(int xPosition, int yPosition, int targetX, int targetY) {
+        revive();
+        this.xPosition = xPosition;
+        this.yPosition = yPosition;
+        previousX = xPosition;
+        previousY = yPosition;
+        planned = false;
+        plannedBlocked = false;
+        aim(targetX, targetY);
+    }
+
+    /**
+     * Method which makes this Mover's next move ahead of its tick. Only the
+     * Mover's own position and direction change here; telling the board about
+     * the move, looking up the Tower which blocked it and reacting to that
+     * Tower are left to tick. Plans run on several threads at once, so this
+     * only records which square blocked the move, because looking up a square
+     * of Terrain which has no Terrain object yet would create one.
+     *
+     * @param board the game board on which the move is being performed
+     */
+    @Override
+    public void plan(Simulation board) {
+        plannedBlocked = advance(board.search());
+        planned = true;
     }
 
     /**
      * Method which tries to move in target direction and returns the Tower that
      * got in the way if one exists. The move will fail if the Enemy's hitbox
-     * would intersect a Tower after the move. The move will delete this Mover
-     * if it would try to move off the board.
+     * would intersect a Tower after the move. If the move would take the
+     * Mover off the board, it bounces off the edge it hit. If the move was
+     * already made by plan, only its result is applied. This is called for
+     * every Mover on every tick, so it works on primitives only and does not
+     * allocate.
      *
      * @param board the game board on which the move is being performed
      * @return the Tower that blocked this move, or null if the move succeeded
      */
-    protected Tower move(GameBoardPanel board) {
-        DoublePoint target = position.offset(direction);
+    protected Tower move(Simulation board) {
+        BoardSearch search = board.search();
+        boolean blocked = planned ? plannedBlocked : advance(search);
+        planned = false;
+        plannedBlocked = false;
 
-        Point topLeft = target.toPoint();
-        Point topRight = new Point(topLeft.x + getScaledSize(), topLeft.y);
-        Point bottomLeft = new Point(topLeft.x, topLeft.y + getScaledSize());
-        Point bottomRight = new Point(topRight.x, bottomLeft.y);
+        if (!blocked) {
+            search.enemyMoved(this);
+            return null;
+        }
+        return search.towerInSquare(blockedX, blockedY);
+    }
 
-        try {
-            if (board.search().towerAtPosition(topLeft) != null) {
-                return board.search().towerAtPosition(topLeft);
-            }
-            if (board.search().towerAtPosition(topRight) != null) {
-                return board.search().towerAtPosition(topRight);
-            }
-            if (board.search().towerAtPosition(bottomLeft) != null) {
-                return board.search().towerAtPosition(bottomLeft);
-            }
-            if (board.search().towerAtPosition(bottomRight) != null) {
-                return board.search().towerAtPosition(bottomRight);
-            }
-        } catch (OffscreenException movedOffBoard) {
-            if (movedOffBoard.offscreenTop || movedOffBoard.offscreenBottom) {
-                direction = direction.invertY();
+    /**
+     * Helper method which moves the Mover one step unless a Tower is in the
+     * way, without updating the board's index of Enemies. This only reads the
+     * board, so that it is safe to call from plan; the square of a Tower which
+     * blocks the move is kept in blockedX and blockedY.
+     *
+     * @param search the search APIs of the board being moved on
+     * @return true if a Tower blocked this move, false if the move succeeded
+     */
+    private boolean advance(BoardSearch search) {
+        previousX = xPosition;
+        previousY = yPosition;
+
+        double targetX = xPosition + xDirection;
+        double targetY = yPosition + yDirection;
+        int left = (int) Math.round(targetX);
+        int top = (int) Math.round(targetY);
+        int size = getScaledSize();
+
+        for (int corner = 0; corner < 4; corner++) {
+            int gridX = Math.floorDiv(left + (corner % 2) * size, squareSize);
+            int gridY = Math.floorDiv(top + (corner / 2) * size, squareSize);
+
+            int edges = search.edgesHit(gridX, gridY);
+            if (edges != BoardSearch.EDGE_NONE) {
+                bounce(edges);
+                break;
             }
-            
-            if (movedOffBoard.offscreenLeft || movedOffBoard.offscreenRight) {
-                direction = direction.invertX();
+
+            if (search.squareBlocked(gridX, gridY)) {
+                blockedX = gridX;
+                blockedY = gridY;
+                return true;
             }
         }
 
-        position = target;
-        return null;
+        xPosition = targetX;
+        yPosition = targetY;
+        return false;
+    }
+
+    /**
+     * Helper method which points the direction of travel from the Mover's
+     * current position towards the passed target at the Mover's speed.
+     *
+     * @param targetX the x position to travel towards
+     * @param targetY the y position to travel towards
+     */
+    private void aim(int targetX, int targetY) {
+        double xDir = targetX - getPositionX();
+        double yDir = targetY - getPositionY();
+        double length = Math.sqrt((xDir * xDir) + (yDir * yDir));
+        xDirection = (xDir / length) * getScaledSpeed();
+        yDirection = (yDir / length) * getScaledSpeed();
+    }
+
+    /**
+     * Helper method which reverses the direction of travel away from the edges
+     * of the board that were hit.
+     *
+     * @param edges the edge flags returned by BoardSearch.edgesHit
+     */
+    private void bounce(int edges) {
+        if ((edges & (BoardSearch.EDGE_TOP | BoardSearch.EDGE_BOTTOM)) != 0) {
+            yDirection = -yDirection;
+        }
+
+        if ((edges & (BoardSearch.EDGE_LEFT | BoardSearch.EDGE_RIGHT)) != 0) {
+            xDirection = -xDirection;
+        }
     }
 
     /**
@@ -16,11 +16,11 @@
  */
 package units.enemies;
 
-import gui.game.GameBoardPanel;
+import engine.RenderSnapshot;
+import engine.Scheduled;
+import engine.Simulation;
 import java.awt.Color;
-import java.awt.Graphics;
 import java.awt.Point;
-import towerdefense4x.SingletonRandom;
 
 /**
  * Class representing a monster that wanders around until it has lived for long
@@ -29,14 +29,19 @@ import towerdefense4x.SingletonRandom;
  *
  * @author Nick Houser
  */
-public class Queen extends Mover {
+public class Queen extends Mover implements Scheduled {
 
     //constant which defines how long a Queen must survive to found a new Hive
-    protected static final int HIVE_DELAY = 500;
-    
-    //variable tracking whether a queen has lived long enough to found a Hive
-    private int lifetime;
-    
+    public static final int HIVE_DELAY = 500;
+
+    //constants which define the speed, health and draw size of a Queen
+    public static final double SPEED = 200;
+    public static final int HEALTH = 7;
+    public static final int SIZE = 6;
+
+    //the tick at which the Queen will found a Hive
+    private long foundsAt;
+
     /**
      * Constructor which calls the parent constructor to initialize position and
      * direction.
@@ -48,7 +53,6 @@ public class Queen extends Mover {
      */
     public Queen(int xPosition, int yPosition, Point target, int squareSize) {
         super(xPosition, yPosition, target, squareSize);
-        lifetime = 0;
     }
 
     /**
@@ -58,7 +62,7 @@ public class Queen extends Mover {
      */
     @Override
     protected double getSpeed() {
-        return 200;
+        return SPEED;
     }
 
     /**
@@ -68,7 +72,7 @@ public class Queen extends Mover {
      */
     @Override
     public int initialHealth() {
-        return 7;
+        return HEALTH;
     }
 
     /**
@@ -78,21 +82,42 @@ public class Queen extends Mover {
      */
     @Override
     public int getSize() {
-        return 6;
+        return SIZE;
     }
 
     /**
-     * Method which allows the Queen to move and, if it has lived long enough,
-     * sacrifice itself to found a new Hive.
+     * Method which allows the Queen to move.
      *
      * @param board the game board on which the unit is acting
      */
     @Override
-    public void tick(GameBoardPanel board) {
+    public void tick(Simulation board) {
         move(board);
-        lifetime = lifetime + 1;
-        if (lifetime >= HIVE_DELAY) {
-            board.addUnit(new Hive(getPosition().x, getPosition().y, squareSize, SingletonRandom.getRandom()));
+    }
+
+    /**
+     * Method which schedules the Queen to found a Hive once it has been ticked
+     * HIVE_DELAY times.
+     *
+     * @param board the Simulation the Queen was added to
+     */
+    @Override
+    public void start(Simulation board) {
+        foundsAt = board.nextUnitTick() + HIVE_DELAY - 1;
+        board.schedule(this, foundsAt);
+    }
+
+    /**
+     * Method which, if the Queen has survived long enough to be woken, has it
+     * sacrifice itself to found a new Hive. A Queen which died and was reused
+     * may still be woken for its earlier life, which is ignored.
+     *
+     * @param board the Simulation the Queen is on
+     */
+    @Override
+    public void wake(Simulation board) {
+        if (!isDead() && board.ticks() >= foundsAt) {
+            board.addUnit(new Hive(getPosition().x, getPosition().y, squareSize, board.newRandom()));
             destroy();
         }
     }
@@ -100,11 +125,12 @@ public class Queen extends Mover {
     /**
      * Method which asks the Queen to draw itself on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
+        int size = getScaledSize();
         g.setColor(Color.MAGENTA);
-        g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
+        g.fillMovingRect(getDrawX(0.0), getDrawY(0.0), getDrawX(1.0), getDrawY(1.0), size, size);
     }
 }
@@ -16,8 +16,8 @@
  */
 package units.towers;
 
+import engine.RenderSnapshot;
 import java.awt.Color;
-import java.awt.Graphics;
 
 /**
  * Class which represents a puchasable Tower that does nothing but get in the way of Enemies. It has high enough health to withstand some attacks and is intended to be used as a blockade to protect more functional Towers.
@@ -50,10 +50,10 @@ public class Blocker extends Inactive {
     /**
      * Method which draws a Blocker on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
         g.setColor(Color.GRAY);
         g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
     }
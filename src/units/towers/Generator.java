@@ -16,10 +16,9 @@
  */
 package units.towers;
 
-import gui.game.GameBoardPanel;
+import engine.RenderSnapshot;
+import engine.Simulation;
 import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.Point;
 import java.awt.Polygon;
 import java.util.LinkedList;
 
@@ -32,12 +31,17 @@ import java.util.LinkedList;
  */
 public class Generator extends Powered {
 
-    //the range of a Generator on the grid
-    private static final int RANGE = 1;
+    /**
+     * The range of a Generator on the grid.
+     */
+    public static final int RANGE = 1;
 
     //list of units being powered by this generator
     private LinkedList<Powered> powering;
 
+    //variable tracking whether this generator is a power source
+    private boolean source;
+
     /**
      * Constructor which calls the inherited constructor to initialize position.
      *
@@ -53,75 +57,75 @@ public class Generator extends Powered {
     }
 
     /**
-     * Method which searches for nearby units of type Powered that need a power
-     * source and powers them. Also unpowers itself if it is marked for death.
-     * This is called repeatedly by the main game loop to simulate continuous
-     * action.
+     * Marks this Generator as a power source, which is powered without needing
+     * another Generator nearby. Sources are placed by the level.
+     */
+    public void makeSource() {
+        source = true;
+        power(this);
+    }
+
+    /**
+     * Checks whether this Generator is a power source.
      *
-     * @param board the game board to search for nearby units
+     * @return true if this Generator is a power source, false otherwise
      */
-    @Override
-    protected void poweredTick(GameBoardPanel board) {
-        providePower(board);
-        removeDeadConsumers();
-        deactivateIfDead();
+    public boolean isSource() {
+        return source;
     }
 
     /**
-     * Method that is called as part of the poweredTick method. Provides power
-     * to nearby power consumers.
+     * Provides power to a consumer and records it as powered by this Generator.
+     * Does nothing if the consumer is already powered.
      *
-     * @param board the game board to search for nearby units
+     * @param consumer the unit to power
      */
-    private void providePower(GameBoardPanel board) {
-        Point searchTopLeft = new Point(getGridPosition().x - RANGE, getGridPosition().y - RANGE);
-        Point searchBottomRight = new Point(getGridPosition().x + RANGE, getGridPosition().y + RANGE);
-        LinkedList<Tower> towersInRange = board.search().allTowersInArea(searchTopLeft, searchBottomRight);
-
-        for (Tower inRange : towersInRange) {
-            if (inRange != this && Powered.class.isAssignableFrom(inRange.getClass())) {
-                Powered toPower = (Powered) inRange;
-                if (!toPower.isPowered()) {
-                    powering.add(toPower);
-                    toPower.power(this);
-                }
-            }
+    public void supply(Powered consumer) {
+        if (consumer.power(this)) {
+            powering.add(consumer);
         }
     }
 
     /**
-     * Method that is called as part of the poweredTick method. Removes a power
-     * consumer from the list of consumers if it is dead.
+     * Stops recording a consumer as powered by this Generator, for example
+     * because it was destroyed.
+     *
+     * @param consumer the unit to forget
      */
-    private void removeDeadConsumers() {
-        for (Powered consumer : (LinkedList<Powered>) powering.clone()) {
-            if (consumer.isDead()) {
-                powering.remove(consumer);
-            }
-        }
+    public void disconnect(Powered consumer) {
+        powering.remove(consumer);
     }
 
     /**
-     * Method that is called as part of the poweredTick method. Un-powers this
-     * unit if it is dead.
+     * Gets the units currently powered by this Generator.
+     *
+     * @return the list of units this Generator is powering
      */
-    private void deactivateIfDead() {
-        if (isDead()) {
-            unPower();
-        }
+    public LinkedList<Powered> getConsumers() {
+        return powering;
+    }
+
+    /**
+     * Method which does nothing, because power is passed between Generators
+     * and their consumers by the board's PowerGrid whenever Towers are placed
+     * or destroyed, rather than on every tick.
+     *
+     * @param board the game board on which the unit is acting
+     */
+    @Override
+    protected void poweredTick(Simulation board) {
+        //do nothing
     }
 
     /**
      * Override of unPower from the Powered class. Calls super.unPower() to set
-     * this as unpowered, but also chains the loss of power forward to all units
-     * which were being powered by this Generator.
+     * this as unpowered and forgets the units it was powering. Those units are
+     * unpowered or reconnected by the board's PowerGrid.
      */
     @Override
-    protected void unPower() {
+    public void unPower() {
         super.unPower();
-        while (!powering.isEmpty()) {
-            powering.removeFirst().unPower();
-        }
+        powering.clear();
     }
 
     /**
@@ -137,10 +141,10 @@ public class Generator extends Powered {
     /**
      * Method which draws a Generator on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
         g.setColor(Color.GREEN);
         g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
     }
@@ -150,10 +154,10 @@ public class Generator extends Powered {
      * Generators this one is powering. These use the drawLayer() method of
      * ILayeredGraphics to support drawing them on top of everything else.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawLayer(Graphics g) {
+    public void drawLayer(RenderSnapshot g) {
         super.drawLayer(g);
         g.setColor(Color.BLACK);
         for (Powered powered : powering) {
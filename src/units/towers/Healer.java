@@ -16,11 +16,12 @@
  */
 package units.towers;
 
-import gui.game.GameBoardPanel;
+import engine.BoardSearch;
+import engine.Neighbourhood;
+import engine.RenderSnapshot;
+import engine.Simulation;
+import engine.TowerVisitor;
 import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.Point;
-import java.util.LinkedList;
 import units.ILayeredGraphics;
 
 /**
@@ -33,6 +34,12 @@ public class Healer extends Powered implements ILayeredGraphics {
     //the range of a Healer on the grid
     private static final int RANGE = 2;
 
+    //the grid squares within range, looked up on the first tick
+    private Neighbourhood inRange;
+
+    //the visitor which heals the first damaged Tower in range
+    private final TowerVisitor healOne;
+
     //the last Tower healed, used for drawing graphics
     private Tower lastTarget;
 
@@ -45,6 +52,8 @@ public class Healer extends Powered implements ILayeredGraphics {
      */
     public Healer(int xPosition, int yPosition, int squareSize) {
         super(xPosition, yPosition, squareSize);
+        inRange = null;
+        healOne = this::healIfDamaged;
         lastTarget = null;
     }
 
@@ -56,20 +65,32 @@ public class Healer extends Powered implements ILayeredGraphics {
      * @param board the game board to search for nearby units
      */
     @Override
-    protected void poweredTick(GameBoardPanel board) {
+    protected void poweredTick(Simulation board) {
         lastTarget = null;
-        
-        Point searchTopLeft = new Point(getGridPosition().x - RANGE, getGridPosition().y - RANGE);
-        Point searchBottomRight = new Point(getGridPosition().x + RANGE, getGridPosition().y + RANGE);
-        LinkedList<Tower> towersInRange = board.search().allTowersInArea(searchTopLeft, searchBottomRight);
 
-        for (Tower inRange : towersInRange) {
-            if (inRange != this && inRange.isDamaged() && !(inRange instanceof Terrain)) {
-                inRange.changeHealth(1);
-                lastTarget = inRange;
-                return;
-            }
+        BoardSearch search = board.search();
+        if (inRange == null) {
+            inRange = search.neighbourhood(getGridPosition(), RANGE);
         }
+        search.visitTowersIn(inRange, healOne);
+    }
+
+    /**
+     * Helper method which heals a nearby Tower if it is damaged, unless it is
+     * this Healer or Terrain.
+     *
+     * @param nearby a Tower within range of this Healer
+     * @return true if the Tower was healed, so no other Tower is healed this
+     * tick
+     */
+    private boolean healIfDamaged(Tower nearby) {
+        if (nearby == this || !nearby.isDamaged() || nearby instanceof Terrain) {
+            return false;
+        }
+
+        nearby.changeHealth(1);
+        lastTarget = nearby;
+        return true;
     }
 
     /**
@@ -85,10 +106,10 @@ public class Healer extends Powered implements ILayeredGraphics {
     /**
      * Method which draws a Healer on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
         g.setColor(Color.BLUE);
         g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
     }
@@ -98,10 +119,10 @@ public class Healer extends Powered implements ILayeredGraphics {
      * is currently healing. These use the drawLayer() method of
      * ILayeredGraphics to support drawing them on top of everything else.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawLayer(Graphics g) {
+    public void drawLayer(RenderSnapshot g) {
         super.drawLayer(g);
         g.setColor(Color.BLACK);
         if (lastTarget != null) {
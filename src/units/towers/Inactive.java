@@ -16,7 +16,7 @@
  */
 package units.towers;
 
-import gui.game.GameBoardPanel;
+import engine.Simulation;
 
 /**
  * Extension of Tower which disables ticking functionality. This is intended for
@@ -44,7 +44,7 @@ public abstract class Inactive extends Tower {
      * @param board the game board on which the unit is acting
      */
     @Override
-    public void tick(GameBoardPanel board) {
+    public void tick(Simulation board) {
         //do nothing
     }
 }
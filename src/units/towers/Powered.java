@@ -16,23 +16,23 @@
  */
 package units.towers;
 
-import gui.game.GameBoardPanel;
+import engine.RenderSnapshot;
+import engine.Simulation;
 import java.awt.Color;
-import java.awt.Graphics;
 import units.ILayeredGraphics;
 
 /**
  * Extension of Tower that represents a type of tower which consumes power; that
  * is, it needs to be close enough to an active power source to function. It is
- * the responsibility of the power source to call this class's API to power an
- * instance of Powered.
+ * the responsibility of the board's PowerGrid to call this class's API to power
+ * an instance of Powered.
  *
  * @author Nick Houser
  */
 public abstract class Powered extends Tower implements ILayeredGraphics {
 
     //reference to the unit powering this unit
-    private Powered poweredBy;
+    private Generator poweredBy;
 
     /**
      * Constructor which calls the inherited constructor to set the position of
@@ -73,11 +73,20 @@ public abstract class Powered extends Tower implements ILayeredGraphics {
         return false;
     }
 
+    /**
+     * Gets the Generator providing power to this unit.
+     *
+     * @return the Generator powering this unit, or null if it is unpowered
+     */
+    public Generator getProvider() {
+        return poweredBy;
+    }
+
     /**
      * Marks this unit as unpowered and removes the reference to any unit that
      * was powering it.
      */
-    protected void unPower() {
+    public void unPower() {
         poweredBy = null;
     }
 
@@ -89,7 +98,7 @@ public abstract class Powered extends Tower implements ILayeredGraphics {
      * @param board the game board on which the unit is acting
      */
     @Override
-    public void tick(GameBoardPanel board) {
+    public void tick(Simulation board) {
         if (isPowered()) {
             poweredTick(board);
         }
@@ -100,10 +109,10 @@ public abstract class Powered extends Tower implements ILayeredGraphics {
      * unpowered. These use the drawLayer() method of ILayeredGraphics to
      * support drawing them on top of everything else.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawLayer(Graphics g) {
+    public void drawLayer(RenderSnapshot g) {
         if (!isPowered()) {
             g.setColor(Color.BLACK);
             g.drawLine(getPosition().x, getPosition().y, getPosition().x + getScaledSize(), getPosition().y + getScaledSize());
@@ -120,5 +129,5 @@ public abstract class Powered extends Tower implements ILayeredGraphics {
      *
      * @param board the game board on which the unit is acting
      */
-    protected abstract void poweredTick(GameBoardPanel board);
+    protected abstract void poweredTick(Simulation board);
 }
@@ -16,10 +16,11 @@
  */
 package units.towers;
 
-import gui.game.GameBoardPanel;
+import engine.Neighbourhood;
+import engine.RenderSnapshot;
+import engine.Scheduled;
+import engine.Simulation;
 import java.awt.Color;
-import java.awt.Graphics;
-import java.awt.Point;
 import units.enemies.Enemy;
 
 /**
@@ -28,7 +29,7 @@ import units.enemies.Enemy;
  *
  * @author Nick Houser
  */
-public class Shooter extends Powered {
+public class Shooter extends Powered implements Scheduled {
 
     //the range of a shooter on the grid
     private static final int RANGE = 3;
@@ -39,8 +40,14 @@ public class Shooter extends Powered {
     //the amount of time that must elapse before this unit can fire again
     private static final int FIRING_DELAY = 75;
 
-    //the amount of ticks that have elapsed since this unit fired
-    private int firingCooldown;
+    //the grid squares within range, looked up on the first tick
+    private Neighbourhood inRange;
+
+    //the rule deciding which Enemy in range to fire at
+    private TargetingPolicy targeting;
+
+    //the step at which this unit may next fire
+    private long readyAt;
 
     //the last enemy fired upon, used for drawing graphics
     private Enemy lastTarget;
@@ -56,32 +63,83 @@ public class Shooter extends Powered {
      */
     public Shooter(int xPosition, int yPosition, int squareSize) {
         super(xPosition, yPosition, squareSize);
-        firingCooldown = FIRING_DELAY;
+        inRange = null;
+        targeting = TargetingPolicy.NEAREST;
+        readyAt = 0;
         lastTarget = null;
     }
 
     /**
      * Method which allows this Shooter to search for nearby units and fire at
-     * one if enough time has passed since it last fired.
+     * the one its TargetingPolicy prefers if enough time has passed since it
+     * last fired. After firing, the Shooter sleeps until the next step, to
+     * clear the shot from the screen, and then until it may fire again.
      *
      * @param board the board to search for nearby units
      */
     @Override
-    protected void poweredTick(GameBoardPanel board) {
+    protected void poweredTick(Simulation board) {
         lastTarget = null;
-        
-        firingCooldown = firingCooldown + 1;
-        if (firingCooldown < FIRING_DELAY) {
+
+        if (board.ticks() < readyAt) {
             return;
         }
 
-        Point topLeftOfRangeArea = new Point(getGridPosition().x - RANGE, getGridPosition().y - RANGE);
-        Point bottomRightOfRangeArea = new Point(getGridPosition().x + RANGE, getGridPosition().y + RANGE);
-        Enemy currentTarget = board.search().firstEnemyInArea(topLeftOfRangeArea, bottomRightOfRangeArea);
+        if (inRange == null) {
+            inRange = board.search().neighbourhood(getGridPosition(), RANGE);
+        }
+
+        Enemy currentTarget = board.search().targetIn(inRange, targeting, this);
         if (currentTarget != null) {
             currentTarget.changeHealth(-DAMAGE);
-            firingCooldown = 0;
+            readyAt = board.ticks() + FIRING_DELAY;
             lastTarget = currentTarget;
+            board.schedule(this, board.ticks() + 1);
+        }
+    }
+
+    /**
+     * Method which sets the rule deciding which Enemy in range this Shooter
+     * fires at.
+     *
+     * @param targeting the TargetingPolicy to use
+     */
+    public void setTargeting(TargetingPolicy targeting) {
+        this.targeting = targeting;
+    }
+
+    /**
+     * Method which gets the rule deciding which Enemy in range this Shooter
+     * fires at.
+     *
+     * @return the TargetingPolicy in use, NEAREST unless it has been changed
+     */
+    public TargetingPolicy getTargeting() {
+        return targeting;
+    }
+
+    /**
+     * Method which does nothing when the Shooter is added, because a new
+     * Shooter may fire straight away.
+     *
+     * @param board the Simulation the Shooter was added to
+     */
+    @Override
+    public void start(Simulation board) {
+        //do nothing
+    }
+
+    /**
+     * Method which clears the last shot from the screen and, if the Shooter
+     * may not fire yet, goes back to sleep until it may.
+     *
+     * @param board the Simulation the Shooter is on
+     */
+    @Override
+    public void wake(Simulation board) {
+        lastTarget = null;
+        if (board.ticks() < readyAt) {
+            board.schedule(this, readyAt);
         }
     }
 
@@ -98,10 +156,10 @@ public class Shooter extends Powered {
     /**
      * Method which draws a Shooter on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
+    public void drawSelf(RenderSnapshot g) {
         g.setColor(Color.CYAN);
         g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
     }
@@ -111,10 +169,10 @@ public class Shooter extends Powered {
      * is currently firing on. These use the drawLayer() method of
      * ILayeredGraphics to support drawing them on top of everything else.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawLayer(Graphics g) {
+    public void drawLayer(RenderSnapshot g) {
         super.drawLayer(g);
         g.setColor(Color.BLACK);
         if (lastTarget != null) {
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package units.towers;
+
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.enemies.Queen;
+
+/**
+ * Interface for the rule a Tower uses to choose which Enemy in range to
+ * attack. A policy gives each Enemy a priority, where lower numbers are
+ * preferred, and Enemies with the same priority are chosen nearest first.
+ * Because ties always go to the nearest Enemy, the board can search outwards
+ * from the Tower and stop as soon as nothing further away could be chosen.
+ *
+ * @author Nick Houser
+ */
+public interface TargetingPolicy {
+
+    /**
+     * Policy which attacks the nearest Enemy.
+     */
+    TargetingPolicy NEAREST = enemy -> 0;
+
+    /**
+     * Policy which attacks the Enemy with the least health left.
+     */
+    TargetingPolicy LOWEST_HEALTH = enemy -> Math.max(0, enemy.getHealth());
+
+    /**
+     * Policy which attacks Burrowers that are digging into a Tower before
+     * anything else.
+     */
+    TargetingPolicy BURROWING_FIRST = enemy -> (enemy instanceof Burrower && ((Burrower) enemy).isBurrowing()) ? 0 : 1;
+
+    /**
+     * Policy which attacks Queens before anything else, to stop them founding
+     * new Hives.
+     */
+    TargetingPolicy QUEENS_FIRST = enemy -> (enemy instanceof Queen) ? 0 : 1;
+
+    /**
+     * Method which gives the priority of attacking an Enemy.
+     *
+     * @param enemy an Enemy in range
+     * @return the priority of the Enemy, from 0 for the most preferred upwards
+     */
+    int priority(Enemy enemy);
+}
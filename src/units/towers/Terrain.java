@@ -16,8 +16,8 @@
  */
 package units.towers;
 
+import engine.RenderSnapshot;
 import java.awt.Color;
-import java.awt.Graphics;
 
 /**
  * Class representing a unit of terrain. Every square is filled with this by
@@ -28,6 +28,12 @@ import java.awt.Graphics;
  */
 public class Terrain extends Inactive {
 
+    /**
+     * Constant giving the color of Terrain, kept so drawing does not create a
+     * new one each tick.
+     */
+    public static final Color COLOR = new Color(200, 200, 100);
+
     /**
      * Constructor which calls the parent constructor to initialize position.
      *
@@ -52,11 +58,11 @@ public class Terrain extends Inactive {
     /**
      * Method which draws a Terrain on the board.
      *
-     * @param g the Graphics object to draw on
+     * @param g the snapshot to draw on
      */
     @Override
-    public void drawSelf(Graphics g) {
-        g.setColor(new Color(200, 200, 100));
+    public void drawSelf(RenderSnapshot g) {
+        g.setColor(COLOR);
         g.fillRect(getPosition().x, getPosition().y, getScaledSize(), getScaledSize());
     }
 }
@@ -25,5 +25,45 @@ public enum TowerType {
     BLOCKER,
     GENERATOR,
     SHOOTER,
-    HEALER
+    HEALER;
+
+    /**
+     * Method which creates a Tower of this type.
+     *
+     * @param xPosition the x position where the Tower should be created
+     * @param yPosition the y position where the Tower should be created
+     * @param squareSize the size of one board square
+     * @return the new Tower
+     */
+    public Tower build(int xPosition, int yPosition, int squareSize) {
+        switch (this) {
+            case BLOCKER:
+                return new Blocker(xPosition, yPosition, squareSize);
+            case GENERATOR:
+                return new Generator(xPosition, yPosition, squareSize);
+            case SHOOTER:
+                return new Shooter(xPosition, yPosition, squareSize);
+            default:
+                return new Healer(xPosition, yPosition, squareSize);
+        }
+    }
+
+    /**
+     * Method which finds the type of a Tower the player can place.
+     *
+     * @param tower the Tower to look up
+     * @return the type of the Tower, or null if the player cannot place it
+     */
+    public static TowerType of(Tower tower) {
+        if (tower instanceof Blocker) {
+            return BLOCKER;
+        } else if (tower instanceof Generator) {
+            return GENERATOR;
+        } else if (tower instanceof Shooter) {
+            return SHOOTER;
+        } else if (tower instanceof Healer) {
+            return HEALER;
+        }
+        return null;
+    }
 }
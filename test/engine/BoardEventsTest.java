@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import units.towers.Blocker;
+
+/**
+ * Unit tests for the BoardEvents class.
+ *
+ * @author Nick Houser
+ */
+public class BoardEventsTest {
+
+    /**
+     * Test of damaged and died methods, of class BoardEvents.
+     */
+    @Test
+    public void ChangeHealth_ShouldReportDamageEachTimeAndDeathOnce() {
+        BoardEvents events = new BoardEvents();
+        BoardListener listener = Mockito.mock(BoardListener.class);
+        events.subscribe(listener);
+        Blocker blocker = new Blocker(0, 0, 10);
+        blocker.setEvents(events);
+
+        blocker.changeHealth(-1);
+        blocker.changeHealth(-1000000);
+        blocker.changeHealth(-1);
+        blocker.destroy();
+
+        Mockito.verify(listener, Mockito.times(3)).onDamaged(blocker);
+        Mockito.verify(listener, Mockito.times(1)).onDeath(blocker);
+    }
+
+    /**
+     * Test of damaged method, of class BoardEvents.
+     */
+    @Test
+    public void ChangeHealth_ShouldNotReport_WhenHealed() {
+        BoardEvents events = new BoardEvents();
+        BoardListener listener = Mockito.mock(BoardListener.class);
+        events.subscribe(listener);
+        Blocker blocker = new Blocker(0, 0, 10);
+        blocker.setEvents(events);
+
+        blocker.changeHealth(1);
+
+        Mockito.verifyZeroInteractions(listener);
+    }
+
+    /**
+     * Test of spawned and placed methods, of class BoardEvents.
+     */
+    @Test
+    public void AddUnit_ShouldReportPlacement_WhenATowerIsPlaced() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        BoardListener listener = Mockito.mock(BoardListener.class);
+        board.state().events.subscribe(listener);
+        Blocker blocker = new Blocker(0, 0, board.getSquareSize());
+
+        board.addUnit(blocker);
+        board.addUnit(new Blocker(0, 0, board.getSquareSize()));
+
+        Mockito.verify(listener, Mockito.times(1)).onPlaced(Mockito.any());
+        Mockito.verify(listener).onPlaced(blocker);
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.enemies.Queen;
+import units.towers.Blocker;
+import units.towers.Shooter;
+import units.towers.TargetingPolicy;
+import units.towers.Terrain;
+import units.towers.Tower;
+
+/**
+ * Unit tests for the BoardSearch class.
+ *
+ * @author Nick Houser
+ */
+public class BoardSearchTest {
+
+    /**
+     * Test of towerAtPosition method, of class BoardSearch.
+     */
+    @Test
+    public void TowerAtPosition_ShouldReturnATower_WhenATowerAddedAtThatPosition() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(new Terrain(100, 100, board.getSquareSize()));
+        try {
+            if (board.search().towerAtPosition(new Point(100, 100)) == null) {
+                fail("Expected positionOccupied to return true after adding a Tower.");
+            }
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of towerAtPosition method, of class BoardSearch.
+     */
+    @Test
+    public void TowerAtPosition_ShouldReturnATower_WhenATowerAddedAtAPositionWithinTheSameGridArea() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(new Terrain(100, 100, board.getSquareSize()));
+        try {
+            if (board.search().towerAtPosition(new Point(105, 109)) == null) {
+                fail("Expected positionOccupied to return true after adding a Tower.");
+            }
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of towerAtPosition method, of class BoardSearch.
+     */
+    @Test
+    public void TowerAtPosition_ShouldReturnNull_WhenNoTowerAddedAtThatPosition() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        try {
+            if (board.search().towerAtPosition(new Point(100, 100)) != null) {
+                fail("Expected positionOccupied to return false after not adding a Tower.");
+            }
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of towerAtPosition method, of class BoardSearch.
+     */
+    @Test
+    public void TowerAtPosition_ShouldReturnNull_WhenAUnitAddedAtThatPosition() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(new Burrower(100, 100, new Point(1, 1), board.getSquareSize()));
+        try {
+            if (board.search().towerAtPosition(new Point(100, 100)) != null) {
+                fail("Expected positionOccupied to return false after adding an Enemy.");
+            }
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of towerAtPosition method, of class BoardSearch.
+     */
+    @Test
+    public void TowerAtPosition_ShouldThrow_WhenPassedOutOfBoundsPosition() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        try {
+            board.search().towerAtPosition(new Point(-100, -100));
+            fail("Expected towerAtPosition to throw when passed an out of bounds position.");
+        } catch (OffscreenException expected) {
+
+        }
+    }
+
+    /**
+     * Test of towerAtGridPosition method, of class BoardSearch.
+     */
+    @Test
+    public void TowerAtGridPosition_ShouldThrow_WhenPassedInvalidIndeces() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        try {
+            board.search().towerAtGridPosition(new Point(-1, -1));
+            fail("Exception was expected to be handled but was thrown from method towerAtGridPosition().");
+        } catch (OffscreenException exception) {
+        }
+    }
+
+    /**
+     * Test of edgesHit method, of class BoardSearch.
+     */
+    @Test
+    public void EdgesHit_ShouldReturnNone_WhenPassedASquareOnTheBoard() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Assert.assertEquals(BoardSearch.EDGE_NONE, board.search().edgesHit(0, 9));
+    }
+
+    /**
+     * Test of edgesHit method, of class BoardSearch.
+     */
+    @Test
+    public void EdgesHit_ShouldFlagEveryEdgeCrossed_WhenPassedASquareOffTheBoard() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Assert.assertEquals(BoardSearch.EDGE_LEFT | BoardSearch.EDGE_BOTTOM, board.search().edgesHit(-1, 10));
+        Assert.assertEquals(BoardSearch.EDGE_RIGHT | BoardSearch.EDGE_TOP, board.search().edgesHit(10, -1));
+    }
+
+    /**
+     * Test of towerInSquare method, of class BoardSearch.
+     */
+    @Test
+    public void TowerInSquare_ShouldReturnNull_WhenPassedASquareOffTheBoard() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Assert.assertEquals(null, board.search().towerInSquare(-1, 3));
+    }
+
+    /**
+     * Test of towerInSquare method, of class BoardSearch.
+     */
+    @Test
+    public void TowerInSquare_ShouldCreateOneTerrain_WhenSquareHoldsTerrain() {
+        BoardState state = new BoardState(10, 10);
+        state.terrain.set(2 * state.numSquares + 3);
+        Simulation board = new Simulation(state);
+
+        Tower first = board.search().towerInSquare(2, 3);
+        Tower second = board.search().towerInSquare(2, 3);
+
+        Assert.assertTrue(first instanceof Terrain);
+        Assert.assertSame(first, second);
+        Assert.assertSame(first, state.towers.get(2, 3));
+        Assert.assertEquals(null, state.towers.get(3, 2));
+    }
+
+    /**
+     * Test of addUnit method, of class BoardSearch.
+     */
+    @Test
+    public void AddUnit_ShouldNotAddATower_IfAnEnemyExistsAtThatPosition() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        Enemy testEnemy = new Burrower(0, 0, new Point(0, 0), board.getSquareSize());
+        Tower testTower = new Blocker(0, 0, board.getSquareSize());
+
+        board.addUnit(testEnemy);
+        board.addUnit(testTower);
+
+        try {
+            Assert.assertEquals(board.search().towerAtGridPosition(new Point(0, 0)), null);
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of firstEnemyInArea method, of class BoardSearch.
+     */
+    @Test
+    public void FirstEnemyInArea_ShouldNotFindHives() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        Enemy testEnemy = new Hive(0, 0, board.getSquareSize(), new Random());
+
+        board.addUnit(testEnemy);
+
+        Enemy result = board.search().firstEnemyInArea(new Point(0, 0), new Point(5, 5));
+        Assert.assertEquals(result, null);
+    }
+
+    /**
+     * Test of firstEnemyInArea method, of class BoardSearch.
+     */
+    @Test
+    public void FirstEnemyInArea_ShouldFindAnEnemy_WhenOneIsInTheArea() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Enemy testEnemy = new Burrower(4 * board.getSquareSize(), 4 * board.getSquareSize(), new Point(0, 0), board.getSquareSize());
+
+        board.addUnit(testEnemy);
+
+        Enemy result = board.search().firstEnemyInArea(new Point(3, 3), new Point(5, 5));
+        Assert.assertEquals(testEnemy, result);
+    }
+
+    /**
+     * Test of firstEnemyInArea method, of class BoardSearch.
+     */
+    @Test
+    public void FirstEnemyInArea_ShouldNotFindAnEnemy_WhenItIsOutsideTheArea() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Enemy testEnemy = new Burrower(8 * board.getSquareSize(), 8 * board.getSquareSize(), new Point(0, 0), board.getSquareSize());
+
+        board.addUnit(testEnemy);
+
+        Enemy result = board.search().firstEnemyInArea(new Point(3, 3), new Point(5, 5));
+        Assert.assertEquals(null, result);
+    }
+
+    /**
+     * Test of firstEnemyInArea method, of class BoardSearch.
+     */
+    @Test
+    public void FirstEnemyInArea_ShouldFindAnEnemy_AfterItMovesIntoTheArea() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Enemy testEnemy = new Burrower(2 * squareSize + squareSize / 2, squareSize / 2, new Point(2 * squareSize + squareSize / 2, 900), squareSize);
+
+        board.addUnit(testEnemy);
+        Assert.assertEquals(null, board.search().firstEnemyInArea(new Point(2, 5), new Point(2, 5)));
+
+        while (testEnemy.getPosition().y < 5 * squareSize + squareSize / 2) {
+            board.step();
+        }
+
+        Assert.assertEquals(testEnemy, board.search().firstEnemyInArea(new Point(2, 5), new Point(2, 5)));
+    }
+
+    /**
+     * Test of firstEnemyIn method, of class BoardSearch.
+     */
+    @Test
+    public void FirstEnemyIn_ShouldFindAnEnemy_OnlyWhenItIsInTheNeighbourhood() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Enemy testEnemy = new Burrower(4 * squareSize, 4 * squareSize, new Point(0, 0), squareSize);
+        board.addUnit(testEnemy);
+        board.addUnit(new Hive(3 * squareSize, 3 * squareSize, squareSize, new Random()));
+
+        Assert.assertEquals(testEnemy, board.search().firstEnemyIn(board.search().neighbourhood(new Point(3, 3), 1)));
+        Assert.assertEquals(null, board.search().firstEnemyIn(board.search().neighbourhood(new Point(2, 2), 1)));
+    }
+
+    /**
+     * Test of visitTowersInArea method, of class BoardSearch.
+     */
+    @Test
+    public void VisitTowersInArea_ShouldStop_WhenTheVisitorAsksTo() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Tower first = new Blocker(squareSize, squareSize, squareSize);
+        Tower second = new Blocker(squareSize, 2 * squareSize, squareSize);
+        board.addUnit(first);
+        board.addUnit(second);
+        board.addUnit(new Blocker(2 * squareSize, squareSize, squareSize));
+        ArrayList<Tower> visited = new ArrayList<>();
+
+        Tower stoppedAt = board.search().visitTowersInArea(new Point(0, 0), new Point(5, 5), tower -> {
+            visited.add(tower);
+            return tower == second;
+        });
+
+        Assert.assertSame(second, stoppedAt);
+        Assert.assertEquals(2, visited.size());
+        Assert.assertSame(first, visited.get(0));
+        Assert.assertEquals(null, board.search().visitTowersIn(board.search().neighbourhood(new Point(1, 1), 1), tower -> false));
+    }
+
+    /**
+     * Test of targetIn method, of class BoardSearch.
+     */
+    @Test
+    public void TargetIn_ShouldChooseTheNearestEnemy_WhenPolicyIsNearest() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Shooter shooter = new Shooter(5 * squareSize, 5 * squareSize, squareSize);
+        Enemy far = new Burrower(2 * squareSize, 5 * squareSize, new Point(0, 0), squareSize);
+        Enemy near = new Burrower(6 * squareSize, 6 * squareSize, new Point(0, 0), squareSize);
+        board.addUnit(far);
+        board.addUnit(near);
+        board.addUnit(new Hive(5 * squareSize, 5 * squareSize + squareSize / 2, squareSize, new Random()));
+
+        Neighbourhood area = board.search().neighbourhood(shooter.getGridPosition(), 3);
+        Assert.assertSame(near, board.search().targetIn(area, TargetingPolicy.NEAREST, shooter));
+    }
+
+    /**
+     * Test of targetIn method, of class BoardSearch.
+     */
+    @Test
+    public void TargetIn_ShouldChooseAFurtherEnemy_WhenThePolicyPrefersIt() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Shooter shooter = new Shooter(5 * squareSize, 5 * squareSize, squareSize);
+        Enemy queen = new Queen(8 * squareSize, 2 * squareSize, new Point(0, 0), squareSize);
+        Enemy wounded = new Burrower(7 * squareSize, 5 * squareSize, new Point(0, 0), squareSize);
+        Enemy near = new Burrower(5 * squareSize, 6 * squareSize, new Point(0, 0), squareSize);
+        wounded.changeHealth(-5);
+        board.addUnit(queen);
+        board.addUnit(wounded);
+        board.addUnit(near);
+
+        Neighbourhood area = board.search().neighbourhood(shooter.getGridPosition(), 3);
+        Assert.assertSame(queen, board.search().targetIn(area, TargetingPolicy.QUEENS_FIRST, shooter));
+        Assert.assertSame(wounded, board.search().targetIn(area, TargetingPolicy.LOWEST_HEALTH, shooter));
+        Assert.assertSame(near, board.search().targetIn(area, TargetingPolicy.BURROWING_FIRST, shooter));
+    }
+
+    /**
+     * Test of targetIn method, of class BoardSearch.
+     */
+    @Test
+    public void TargetIn_ShouldChooseADiggingBurrower_WhenANearerEnemyIsNotDigging() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Shooter shooter = new Shooter(4 * squareSize, 5 * squareSize, squareSize);
+        Burrower digging = new Burrower(7 * squareSize, 5 * squareSize, new Point(9 * squareSize, 5 * squareSize), squareSize);
+        Enemy near = new Burrower(4 * squareSize, 6 * squareSize, new Point(0, 0), squareSize);
+        board.addUnit(new Blocker(8 * squareSize, 5 * squareSize, squareSize));
+        board.addUnit(digging);
+        board.addUnit(near);
+        for (int ticks = 0; ticks < squareSize * 2 && !digging.isBurrowing(); ticks++) {
+            digging.tick(board);
+        }
+        Assert.assertTrue(digging.isBurrowing());
+
+        Neighbourhood area = board.search().neighbourhood(shooter.getGridPosition(), 4);
+        Assert.assertSame(digging, board.search().targetIn(area, TargetingPolicy.BURROWING_FIRST, shooter));
+        Assert.assertSame(near, board.search().targetIn(area, TargetingPolicy.NEAREST, shooter));
+    }
+
+    /**
+     * Test of targetIn method, of class BoardSearch.
+     */
+    @Test
+    public void TargetIn_ShouldChooseTheNearerEnemy_WhenPrioritiesAreEqual() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Shooter shooter = new Shooter(5 * squareSize, 5 * squareSize, squareSize);
+        Enemy farQueen = new Queen(2 * squareSize, 2 * squareSize, new Point(0, 0), squareSize);
+        Enemy nearQueen = new Queen(6 * squareSize, 5 * squareSize, new Point(0, 0), squareSize);
+        Enemy burrower = new Burrower(5 * squareSize, 6 * squareSize, new Point(0, 0), squareSize);
+        board.addUnit(farQueen);
+        board.addUnit(burrower);
+        board.addUnit(nearQueen);
+
+        Neighbourhood area = board.search().neighbourhood(shooter.getGridPosition(), 3);
+        Assert.assertSame(nearQueen, board.search().targetIn(area, TargetingPolicy.QUEENS_FIRST, shooter));
+        Assert.assertSame(nearQueen, board.search().targetIn(area, TargetingPolicy.LOWEST_HEALTH, shooter));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import org.junit.Assert;
+import org.junit.Test;
+import units.enemies.Burrower;
+import units.enemies.Hive;
+import units.enemies.Queen;
+
+/**
+ * Unit tests for the EnemyPool class.
+ *
+ * @author Nick Houser
+ */
+public class EnemyPoolTest {
+
+    /**
+     * Test of burrower method, of class EnemyPool.
+     */
+    @Test
+    public void Burrower_ShouldReuseDeadBurrower_AtFullHealthAndNewPosition() {
+        TickMetrics metrics = new TickMetrics();
+        EnemyPool pool = new EnemyPool(90, metrics);
+        Burrower dead = pool.burrower(100, 100, 100, 0);
+        dead.changeHealth(-1000);
+        pool.release(dead);
+
+        Burrower reused = pool.burrower(450, 300, 900, 300);
+
+        Assert.assertSame(dead, reused);
+        Assert.assertEquals(false, reused.isDead());
+        Assert.assertEquals(false, reused.isDamaged());
+        Assert.assertEquals(450, reused.getPositionX());
+        Assert.assertEquals(300, reused.getPositionY());
+        Assert.assertEquals(450, reused.getDrawX(0.0));
+        Assert.assertEquals(0, pool.size());
+        Assert.assertEquals(1, metrics.getPoolHits());
+        Assert.assertEquals(1, metrics.getPoolMisses());
+        Assert.assertEquals(0.5, metrics.getPoolHitRate(), .001);
+    }
+
+    /**
+     * Test of release method, of class EnemyPool.
+     */
+    @Test
+    public void Release_ShouldKeepEnemies_OnlyWhenTheyAreRemovedDeadFromTheBoard() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Burrower doomed = new Burrower(100, 100, new Point(100, 0), board.getSquareSize());
+        board.addUnit(doomed);
+        board.addUnit(new Burrower(700, 700, new Point(700, 0), board.getSquareSize()));
+        board.step();
+        Assert.assertEquals(0, board.enemyPool().size());
+
+        doomed.changeHealth(-1000);
+        board.step();
+
+        Assert.assertEquals(1, board.enemyPool().size());
+        Assert.assertSame(doomed, board.enemyPool().burrower(0, 0, 1, 1));
+    }
+
+    /**
+     * Test of queen method, of class EnemyPool.
+     */
+    @Test
+    public void Queen_ShouldNotFoundHiveEarly_WhenReusedBeforeItsEarlierLifeWasDue() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Queen queen = board.enemyPool().queen(450, 450, 0, 0);
+        board.addUnit(queen);
+        board.step();
+        queen.changeHealth(-1000);
+        board.step();
+
+        Queen reused = board.enemyPool().queen(450, 450, 0, 0);
+        Assert.assertSame(queen, reused);
+        board.addUnit(reused);
+        for (int tick = 0; tick < Queen.HIVE_DELAY - 1; tick++) {
+            board.step();
+        }
+        Assert.assertEquals(false, reused.isDead());
+
+        board.step();
+        Assert.assertEquals(true, reused.isDead());
+        Assert.assertEquals(true, board.search().allEnemies().get(0) instanceof Hive);
+    }
+}
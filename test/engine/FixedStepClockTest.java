@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the FixedStepClock class.
+ *
+ * @author Nick Houser
+ */
+public class FixedStepClockTest {
+
+    /**
+     * Test of advance method, of class FixedStepClock.
+     */
+    @Test
+    public void Advance_ShouldReturnZero_WhenNoStepIsDue() {
+        FixedStepClock clock = new FixedStepClock(20, 5, 0);
+
+        Assert.assertEquals(0, clock.advance(19));
+    }
+
+    /**
+     * Test of advance method, of class FixedStepClock.
+     */
+    @Test
+    public void Advance_ShouldCatchUp_WhenSeveralStepsAreDue() {
+        FixedStepClock clock = new FixedStepClock(20, 5, 0);
+
+        Assert.assertEquals(3, clock.advance(65));
+        Assert.assertEquals(1, clock.advance(80));
+    }
+
+    /**
+     * Test of advance method, of class FixedStepClock.
+     */
+    @Test
+    public void Advance_ShouldHoldRate_WhenStepsArriveLate() {
+        FixedStepClock clock = new FixedStepClock(20, 5, 0);
+
+        int steps = 0;
+        for (long now = 0; now <= 1000; now = now + 33) {
+            steps = steps + clock.advance(now);
+        }
+
+        Assert.assertEquals(49, steps);
+    }
+
+    /**
+     * Test of advance method, of class FixedStepClock.
+     */
+    @Test
+    public void Advance_ShouldDropBacklog_WhenFurtherBehindThanCatchUpLimit() {
+        FixedStepClock clock = new FixedStepClock(20, 5, 0);
+
+        Assert.assertEquals(5, clock.advance(1000));
+        Assert.assertEquals(0, clock.advance(1019));
+        Assert.assertEquals(1, clock.advance(1020));
+    }
+
+    /**
+     * Test of interpolation method, of class FixedStepClock.
+     */
+    @Test
+    public void Interpolation_ShouldGiveFractionOfStepElapsed() {
+        FixedStepClock clock = new FixedStepClock(20, 5, 0);
+        clock.advance(20);
+
+        Assert.assertEquals(0.0, clock.interpolation(20), .0001);
+        Assert.assertEquals(0.25, clock.interpolation(25), .0001);
+        Assert.assertEquals(1.0, clock.interpolation(60), .0001);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the LatencyHistogram class.
+ *
+ * @author Nick Houser
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Test of percentile method, of class LatencyHistogram.
+     */
+    @Test
+    public void Percentile_ShouldBeExact_WhenValuesAreSmall() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 20; value++) {
+            histogram.record(value);
+        }
+
+        Assert.assertEquals(10, histogram.percentile(50));
+        Assert.assertEquals(20, histogram.percentile(100));
+        Assert.assertEquals(20, histogram.count());
+    }
+
+    /**
+     * Test of percentile method, of class LatencyHistogram.
+     */
+    @Test
+    public void Percentile_ShouldStayWithinBucketPrecision_WhenValuesAreLarge() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        Assert.assertEquals(500000, histogram.percentile(50), 500000 / 16);
+        Assert.assertEquals(990000, histogram.percentile(99), 990000 / 16);
+        Assert.assertEquals(1000000, histogram.max());
+        Assert.assertEquals(500500, histogram.mean(), 0.01);
+    }
+
+    /**
+     * Test of percentile method, of class LatencyHistogram.
+     */
+    @Test
+    public void Percentile_ShouldNotExceedMax_WhenBucketIsWide() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE - 1);
+
+        Assert.assertEquals(Long.MAX_VALUE - 1, histogram.percentile(50));
+    }
+
+    /**
+     * Test of reset method, of class LatencyHistogram.
+     */
+    @Test
+    public void Reset_ShouldForgetEverything_WhenCalled() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+
+        histogram.reset();
+
+        Assert.assertEquals(0, histogram.count());
+        Assert.assertEquals(0, histogram.max());
+        Assert.assertEquals(0, histogram.percentile(50));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.towers.Terrain;
+import units.towers.Tower;
+
+/**
+ * Unit tests for the ParallelSimulation class.
+ *
+ * @author Nick Houser
+ */
+public class ParallelSimulationTest {
+
+    /**
+     * Test of step method, of class ParallelSimulation.
+     */
+    @Test
+    public void Step_ShouldMatchSimulation_WhenManyEnemiesAttackTowers() {
+        int[] seeds = {7, 21, 42};
+        int[] enemyCounts = {600, 1100, 2100};
+        for (int run = 0; run < seeds.length; run++) {
+            Simulation serial = new Simulation(new BoardState(30, 10, seeds[run]));
+            Simulation parallel = new ParallelSimulation(new BoardState(30, 10, seeds[run]), new ForkJoinPool(4));
+            populate(serial, seeds[run], enemyCounts[run]);
+            populate(parallel, seeds[run], enemyCounts[run]);
+
+            for (int ticks = 1; ticks <= 1000; ticks++) {
+                serial.step();
+                parallel.step();
+                if (ticks % 250 == 0) {
+                    assertSameBoard(serial, parallel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of step method, of class ParallelSimulation.
+     */
+    @Test
+    public void Step_ShouldMatchSimulation_WhenManyBurrowersDigIntoUntouchedTerrain() {
+        Simulation serial = new Simulation(new BoardState(30, 10, 11));
+        Simulation parallel = new ParallelSimulation(new BoardState(30, 10, 11), new ForkJoinPool(4));
+        digIntoTerrain(serial, 11, 600);
+        digIntoTerrain(parallel, 11, 600);
+
+        for (int ticks = 1; ticks <= 600; ticks++) {
+            serial.step();
+            parallel.step();
+            if (ticks % 50 == 0) {
+                assertSameBoard(serial, parallel);
+            }
+        }
+
+        for (int y = 0; y < 30; y++) {
+            Assert.assertFalse(parallel.state().terrain.get(parallel.state().towers.cell(15, y)));
+        }
+    }
+
+    /**
+     * Helper method which checks that two boards hold exactly the same
+     * Enemies, in the same order, and the same Towers.
+     *
+     * @param serial the board run by a plain Simulation
+     * @param parallel the board run by a ParallelSimulation
+     */
+    private void assertSameBoard(Simulation serial, Simulation parallel) {
+        UnitList<Enemy> serialEnemies = serial.state().enemies;
+        UnitList<Enemy> parallelEnemies = parallel.state().enemies;
+        Assert.assertEquals(serialEnemies.size(), parallelEnemies.size());
+        for (int index = 0; index < serialEnemies.size(); index++) {
+            Enemy expected = serialEnemies.get(index);
+            Enemy actual = parallelEnemies.get(index);
+            Assert.assertEquals(expected.getClass(), actual.getClass());
+            Assert.assertEquals(expected.getExactX(), actual.getExactX(), 0.0);
+            Assert.assertEquals(expected.getExactY(), actual.getExactY(), 0.0);
+            Assert.assertEquals(expected.getHealth(), actual.getHealth());
+        }
+
+        int numSquares = serial.state().numSquares;
+        for (int x = 0; x < numSquares; x++) {
+            for (int y = 0; y < numSquares; y++) {
+                Tower expected = serial.state().towers.get(x, y);
+                Tower actual = parallel.state().towers.get(x, y);
+                Assert.assertEquals(expected == null, actual == null);
+                if (expected != null) {
+                    Assert.assertEquals(expected.getHealth(), actual.getHealth());
+                }
+            }
+        }
+        Assert.assertEquals(serial.state().terrain, parallel.state().terrain);
+    }
+
+    /**
+     * Helper method which fills a board with the same Towers and Enemies every
+     * time it is called with the same seed.
+     *
+     * @param board the board to fill
+     * @param seed the seed to place the units with
+     * @param enemyCount the number of Burrowers to place
+     */
+    private void populate(Simulation board, long seed, int enemyCount) {
+        Random rng = new Random(seed);
+        int squareSize = board.getSquareSize();
+
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 30; y++) {
+                if (rng.nextInt(4) == 0) {
+                    board.addUnit(new Terrain(x * squareSize, y * squareSize, squareSize));
+                }
+            }
+        }
+
+        for (int count = 0; count < enemyCount; count++) {
+            Point start = new Point(rng.nextInt(BoardState.SIZE), rng.nextInt(BoardState.SIZE));
+            Point target = new Point(rng.nextInt(BoardState.SIZE), rng.nextInt(BoardState.SIZE));
+            board.addUnit(new Burrower(start.x, start.y, target, squareSize));
+        }
+
+        board.addUnit(new Hive(450, 450, squareSize, new Random(seed + 1)));
+    }
+
+    /**
+     * Helper method which marks a column of a board as Terrain without
+     * creating any Terrain objects, as a loaded level does, and places the
+     * same Burrowers heading into it every time it is called with the same
+     * seed.
+     *
+     * @param board the board to fill
+     * @param seed the seed to place the Burrowers with
+     * @param enemyCount the number of Burrowers to place
+     */
+    private void digIntoTerrain(Simulation board, long seed, int enemyCount) {
+        Random rng = new Random(seed);
+        int squareSize = board.getSquareSize();
+
+        for (int y = 0; y < 30; y++) {
+            board.state().terrain.set(board.state().towers.cell(15, y));
+        }
+
+        for (int count = 0; count < enemyCount; count++) {
+            int startX = 12 * squareSize + rng.nextInt(2 * squareSize);
+            int startY = rng.nextInt(BoardState.SIZE - squareSize);
+            board.addUnit(new Burrower(startX, startY, new Point(BoardState.SIZE, startY), squareSize));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import units.towers.Generator;
+import units.towers.Shooter;
+
+/**
+ * Unit tests for the PowerGrid class.
+ *
+ * @author Nick Houser
+ */
+public class PowerGridTest {
+
+    /**
+     * Test of constructor, of class PowerGrid.
+     */
+    @Test
+    public void Constructor_ShouldPowerTowers_WhenStateAlreadyHoldsThem() {
+        BoardState state = new BoardState(10, 10);
+        Generator source = new Generator(0, 0, state.squareSize);
+        source.makeSource();
+        Shooter shooter = new Shooter(state.squareSize, 0, state.squareSize);
+        state.towers.set(0, 0, source);
+        state.towers.set(1, 0, shooter);
+
+        new Simulation(state);
+
+        assertTrue(shooter.isPowered());
+    }
+
+    /**
+     * Test of towerAdded method, of class PowerGrid.
+     */
+    @Test
+    public void TowerAdded_ShouldPowerTower_WhenPlacedNextToPoweredGenerator() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int size = board.getSquareSize();
+        board.addUnit(source(0, 0, size));
+
+        Shooter shooter = new Shooter(size, size, size);
+        board.addUnit(shooter);
+
+        assertTrue(shooter.isPowered());
+    }
+
+    /**
+     * Test of towerAdded method, of class PowerGrid.
+     */
+    @Test
+    public void TowerAdded_ShouldPowerWholeChain_WhenGeneratorBridgesGap() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int size = board.getSquareSize();
+        board.addUnit(source(0, 0, size));
+        Generator farGenerator = new Generator(2 * size, 0, size);
+        Shooter shooter = new Shooter(3 * size, 0, size);
+        board.addUnit(farGenerator);
+        board.addUnit(shooter);
+        assertFalse(shooter.isPowered());
+
+        board.addUnit(new Generator(size, 0, size));
+
+        assertTrue(farGenerator.isPowered());
+        assertTrue(shooter.isPowered());
+    }
+
+    /**
+     * Test of towerRemoved method, of class PowerGrid.
+     */
+    @Test
+    public void TowerRemoved_ShouldUnpowerDownstreamTowers_WhenGeneratorIsDestroyed() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int size = board.getSquareSize();
+        board.addUnit(source(0, 0, size));
+        Generator middle = new Generator(size, 0, size);
+        Generator farGenerator = new Generator(2 * size, 0, size);
+        Shooter shooter = new Shooter(3 * size, 0, size);
+        board.addUnit(middle);
+        board.addUnit(farGenerator);
+        board.addUnit(shooter);
+
+        middle.destroy();
+        board.step();
+
+        assertFalse(farGenerator.isPowered());
+        assertFalse(shooter.isPowered());
+    }
+
+    /**
+     * Test of towerRemoved method, of class PowerGrid.
+     */
+    @Test
+    public void TowerRemoved_ShouldRestorePower_WhenAnotherPoweredGeneratorIsInRange() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int size = board.getSquareSize();
+        board.addUnit(source(0, 0, size));
+        Generator upper = new Generator(size, 0, size);
+        board.addUnit(upper);
+        Generator lower = new Generator(size, size, size);
+        board.addUnit(lower);
+        Shooter shooter = new Shooter(2 * size, 0, size);
+        board.addUnit(shooter);
+        assertEquals(upper, shooter.getProvider());
+
+        upper.destroy();
+        board.step();
+
+        assertTrue(shooter.isPowered());
+        assertEquals(lower, shooter.getProvider());
+    }
+
+    /**
+     * Helper method which creates a source Generator.
+     *
+     * @param x the x position of the Generator
+     * @param y the y position of the Generator
+     * @param squareSize the size of one grid square on the board
+     * @return a new source Generator
+     */
+    private Generator source(int x, int y, int squareSize) {
+        Generator source = new Generator(x, y, squareSize);
+        source.makeSource();
+        return source;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+
+/**
+ * Unit tests for the RenderSnapshot class.
+ *
+ * @author Nick Houser
+ */
+public class RenderSnapshotTest {
+
+    /**
+     * Test of paint method, of class RenderSnapshot.
+     */
+    @Test
+    public void Paint_ShouldSetEachColorOnce_WhenMovingRectsAreInterleaved() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        for (int index = 0; index < 10; index++) {
+            snapshot.setColor(Color.BLACK);
+            snapshot.fillMovingRect(index, 0, index, 0, 2, 2);
+            snapshot.setColor(Color.MAGENTA);
+            snapshot.fillMovingRect(index, 5, index, 5, 3, 3);
+        }
+        Graphics fakeGraphics = Mockito.mock(Graphics.class);
+
+        snapshot.paint(fakeGraphics, 1.0);
+
+        Mockito.verify(fakeGraphics, times(1)).setColor(Color.BLACK);
+        Mockito.verify(fakeGraphics, times(1)).setColor(Color.MAGENTA);
+        Mockito.verify(fakeGraphics, times(20)).fillRect(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt());
+        Assert.assertEquals(20, snapshot.size());
+    }
+
+    /**
+     * Test of paint method, of class RenderSnapshot.
+     */
+    @Test
+    public void Paint_ShouldDrawMovingRectsBeneathOtherCommands() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.setColor(Color.BLACK);
+        snapshot.drawLine(0, 0, 10, 10);
+        snapshot.setColor(Color.RED);
+        snapshot.fillMovingRect(0, 0, 10, 10, 2, 2);
+        Graphics fakeGraphics = Mockito.mock(Graphics.class);
+
+        snapshot.paint(fakeGraphics, 0.5);
+
+        InOrder order = Mockito.inOrder(fakeGraphics);
+        order.verify(fakeGraphics).fillRect(5, 5, 2, 2);
+        order.verify(fakeGraphics).drawLine(0, 0, 10, 10);
+    }
+
+    /**
+     * Test of clear method, of class RenderSnapshot.
+     */
+    @Test
+    public void Clear_ShouldEmptyEveryBatch_WhenCalled() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.fillMovingRect(0, 0, 0, 0, 2, 2);
+        snapshot.fillRect(0, 0, 2, 2);
+
+        snapshot.clear();
+        Graphics fakeGraphics = Mockito.mock(Graphics.class);
+        snapshot.paint(fakeGraphics, 1.0);
+
+        Assert.assertEquals(0, snapshot.size());
+        Mockito.verify(fakeGraphics, Mockito.never()).fillRect(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt());
+        Mockito.verify(fakeGraphics, Mockito.never()).setColor(any(Color.class));
+    }
+}
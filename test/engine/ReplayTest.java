@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.towers.Blocker;
+import units.towers.Shooter;
+import units.towers.Terrain;
+
+/**
+ * Unit tests for the Replay and ReplayRecorder classes.
+ *
+ * @author Nick Houser
+ */
+public class ReplayTest {
+
+    /**
+     * Test of run method, of class Replay.
+     */
+    @Test
+    public void Run_ShouldReproduceTheRecordedGame_WhenGivenTheSameSeed() throws IOException {
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        Simulation original = new Simulation(level(42));
+        ReplayRecorder recorder = new ReplayRecorder(recording, 3, 42);
+        original.record(recorder);
+        int size = original.getSquareSize();
+        for (int tick = 0; tick < 600; tick++) {
+            if (tick == 10) {
+                original.queueUnit(new Shooter(5 * size, 6 * size, size));
+                original.queueUnit(new Blocker(4 * size, 4 * size, size));
+            }
+            if (tick == 200) {
+                original.queueUnit(new Shooter(3 * size, 5 * size, size));
+            }
+            original.step();
+        }
+        recorder.close(original.ticks());
+
+        Replay replay = new Replay(new ByteArrayInputStream(recording.toByteArray()));
+        Simulation replayed = new Simulation(level(replay.seed));
+        replay.run(replayed, replay.length);
+
+        Assert.assertEquals(3, replay.level);
+        Assert.assertEquals(3, replay.size());
+        Assert.assertEquals(600, replay.length);
+        Assert.assertTrue(original.state().enemies.size() > 2);
+        Assert.assertEquals(describe(original), describe(replayed));
+    }
+
+    /**
+     * Test of placed method, of class ReplayRecorder.
+     */
+    @Test
+    public void Placed_ShouldIgnoreTowersThePlayerCannotPlace() throws IOException {
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(recording, 1, 7);
+
+        recorder.placed(3, new Terrain(0, 0, 90));
+        recorder.placed(300, new Blocker(90, 180, 90));
+        recorder.close(1000);
+        Replay replay = new Replay(new ByteArrayInputStream(recording.toByteArray()));
+
+        Assert.assertEquals(1, replay.size());
+        Assert.assertEquals(1000, replay.length);
+        Assert.assertEquals(7, replay.seed);
+    }
+
+    /**
+     * Test of Replay constructor, of class Replay.
+     */
+    @Test
+    public void Replay_ShouldKeepPlacements_WhenRecordingWasNotClosed() throws IOException {
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(recording, 1, 7);
+
+        recorder.placed(300, new Blocker(90, 180, 90));
+        Replay replay = new Replay(new ByteArrayInputStream(recording.toByteArray()));
+
+        Assert.assertEquals(1, replay.size());
+        Assert.assertEquals(-1, replay.length);
+    }
+
+    /**
+     * Test of newRandom method, of class BoardState.
+     */
+    @Test
+    public void NewRandom_ShouldRepeat_WhenSeedIsTheSame() {
+        BoardState first = new BoardState(10, 10, 99);
+        BoardState second = new BoardState(10, 10, 99);
+
+        first.newRandom();
+        second.newRandom();
+
+        Assert.assertEquals(first.newRandom().nextLong(), second.newRandom().nextLong());
+    }
+
+    /**
+     * Helper method which creates a small level with two Hives.
+     *
+     * @param seed the seed of the level
+     * @return the level's board state
+     */
+    private BoardState level(long seed) {
+        BoardState state = new BoardState(10, 10, seed);
+        state.enemies.add(new Hive(2 * state.squareSize, 2 * state.squareSize, state.squareSize, state.newRandom()));
+        state.enemies.add(new Hive(7 * state.squareSize, 7 * state.squareSize, state.squareSize, state.newRandom()));
+        return state;
+    }
+
+    /**
+     * Helper method which lists where every unit on a board is.
+     *
+     * @param board the board to describe
+     * @return a description of the board
+     */
+    private String describe(Simulation board) {
+        StringBuilder description = new StringBuilder();
+        for (int index = 0; index < board.state().enemies.size(); index++) {
+            Enemy enemy = board.state().enemies.get(index);
+            description.append(enemy.getClass().getSimpleName()).append(enemy.getPosition()).append('\n');
+        }
+        for (int x = 0; x < board.state().numSquares; x++) {
+            for (int y = 0; y < board.state().numSquares; y++) {
+                if (board.state().towers.get(x, y) != null) {
+                    description.append(board.state().towers.get(x, y).getClass().getSimpleName()).append(x).append(',').append(y).append('\n');
+                }
+            }
+        }
+        return description.toString();
+    }
+}
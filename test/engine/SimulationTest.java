@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import org.junit.Assert;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.mockito.Mockito;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.towers.Blocker;
+import units.towers.Terrain;
+import units.towers.Tower;
+import units.Unit;
+
+/**
+ * Unit tests for the Simulation class.
+ *
+ * @author Nick Houser
+ */
+public class SimulationTest {
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldTickAllTowers_AfterTowersPassedToAddUnit() {
+        Tower fakeUnit1 = Mockito.mock(Tower.class);
+        Mockito.when(fakeUnit1.getGridPosition()).thenReturn(new Point(1, 1));
+        Tower fakeUnit2 = Mockito.mock(Tower.class);
+        Mockito.when(fakeUnit2.getGridPosition()).thenReturn(new Point(2, 2));
+
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(fakeUnit1);
+        board.addUnit(fakeUnit2);
+
+        board.step();
+        Mockito.verify(fakeUnit1).tick(board);
+        Mockito.verify(fakeUnit2).tick(board);
+    }
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldTickAllEnemies_AfterEnemiesPassedToAddUnit() {
+        Unit fakeUnit1 = Mockito.mock(Enemy.class);
+        Mockito.when(fakeUnit1.getPosition()).thenReturn(new Point(10, 10));
+        Unit fakeUnit2 = Mockito.mock(Enemy.class);
+        Mockito.when(fakeUnit2.getPosition()).thenReturn(new Point(20, 20));
+
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(fakeUnit1);
+        board.addUnit(fakeUnit2);
+
+        board.step();
+        Mockito.verify(fakeUnit1).tick(board);
+        Mockito.verify(fakeUnit2).tick(board);
+    }
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldRemoveDeadEnemies() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        Enemy toRemove = new Burrower(0, 0, new Point(1, 1), board.getSquareSize());
+        board.addUnit(toRemove);
+        toRemove.destroy();
+        board.step();
+        if (testBoardState.enemies.contains(toRemove)) {
+            fail("The unit was not removed after taking more than its max health in damage.");
+        }
+    }
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldRemoveDeadTowers() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        Tower toRemove = new Terrain(0, 0, board.getSquareSize());
+        board.addUnit(toRemove);
+        toRemove.destroy();
+        board.step();
+        for (int x = 0; x < testBoardState.numSquares; x++) {
+            for (int y = 0; y < testBoardState.numSquares; y++) {
+                if (testBoardState.towers.get(x, y) != null) {
+                    fail("The unit was not removed after taking more than its max health in damage.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldNotTickInactiveTowers() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Blocker blocker = Mockito.spy(new Blocker(0, 0, board.getSquareSize()));
+        board.addUnit(blocker);
+
+        board.step();
+
+        Mockito.verify(blocker, Mockito.never()).tick(board);
+    }
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldRemoveInactiveTower_WhenDamageKillsIt() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Blocker blocker = new Blocker(0, 0, board.getSquareSize());
+        board.addUnit(blocker);
+        board.step();
+
+        blocker.changeHealth(-1000000);
+        board.step();
+
+        Assert.assertNull(board.state().towers.get(0, 0));
+    }
+
+    /**
+     * Test of step method, of class Simulation.
+     */
+    @Test
+    public void Step_ShouldClearTerrain_WhenItDies() {
+        BoardState testBoardState = new BoardState(10, 10);
+        testBoardState.terrain.set(0, testBoardState.numSquares * testBoardState.numSquares);
+        Simulation board = new Simulation(testBoardState);
+
+        board.search().towerInSquare(0, 0).destroy();
+        board.step();
+
+        Assert.assertEquals(null, board.search().towerInSquare(0, 0));
+        Assert.assertTrue(board.search().towerInSquare(0, 1) instanceof Terrain);
+    }
+
+    /**
+     * Test of addUnit method, of class Simulation.
+     */
+    @Test
+    public void AddUnit_ShouldReplaceTerrain_WhenItHasNoTerrainObject() {
+        BoardState testBoardState = new BoardState(10, 10);
+        testBoardState.terrain.set(0);
+        Simulation board = new Simulation(testBoardState);
+        Tower testTower = new Blocker(0, 0, board.getSquareSize());
+
+        board.addUnit(testTower);
+
+        Assert.assertSame(testTower, board.search().towerInSquare(0, 0));
+        Assert.assertFalse(testBoardState.terrain.get(0));
+    }
+
+    /**
+     * Test of addUnit method, of class Simulation.
+     */
+    @Test
+    public void AddUnit_ShouldNotAddATower_IfAnEnemyExistsAtThatPosition() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        Enemy testEnemy = new Burrower(0, 0, new Point(0, 0), board.getSquareSize());
+        Tower testTower = new Blocker(0, 0, board.getSquareSize());
+
+        board.addUnit(testEnemy);
+        board.addUnit(testTower);
+
+        try {
+            Assert.assertEquals(board.search().towerAtGridPosition(new Point(0, 0)), null);
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of addUnit method, of class Simulation.
+     */
+    @Test
+    public void AddUnit_ShouldNotAddATower_IfATowerExistsAtThatPosition() {
+        BoardState testBoardState = new BoardState(10, 10);
+        Simulation board = new Simulation(testBoardState);
+        Tower testTower = new Blocker(0, 0, board.getSquareSize());
+        Tower testTower2 = new Blocker(0, 0, board.getSquareSize());
+
+        board.addUnit(testTower);
+        board.addUnit(testTower2);
+
+        try {
+            Assert.assertEquals(board.search().towerAtGridPosition(new Point(0, 0)), testTower);
+        } catch (OffscreenException offscreen) {
+            fail("Did not expect offscreen exception.");
+        }
+    }
+
+    /**
+     * Test of queueUnit method, of class Simulation.
+     */
+    @Test
+    public void QueueUnit_ShouldAddUnit_OnlyAtNextStep() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Blocker toAdd = new Blocker(0, 0, board.getSquareSize());
+
+        board.queueUnit(toAdd);
+        Assert.assertNull(board.state().towers.get(0, 0));
+
+        board.step();
+        Assert.assertEquals(toAdd, board.state().towers.get(0, 0));
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+import units.enemies.Hive;
+import units.enemies.Queen;
+import units.towers.Blocker;
+import units.towers.Generator;
+import units.towers.Shooter;
+import units.towers.TargetingPolicy;
+import units.towers.Tower;
+
+/**
+ * Unit tests for the SwarmSimulation class.
+ *
+ * @author Nick Houser
+ */
+public class SwarmSimulationTest {
+
+    /**
+     * Test of step method, of class SwarmSimulation.
+     */
+    @Test
+    public void Step_ShouldSpawnBurrower_WhenHiveReachesCadence() {
+        SwarmSimulation board = new SwarmSimulation(new BoardState(10, 10));
+        board.addUnit(new Hive(450, 450, board.getSquareSize(), new Random(7)));
+
+        for (int ticks = 1; ticks < Hive.CADENCE_BURROWER; ticks++) {
+            board.step();
+        }
+        Assert.assertEquals(1, board.enemies().count);
+
+        board.step();
+        Assert.assertEquals(2, board.enemies().count);
+        Assert.assertEquals(EnemyArrays.TYPE_BURROWER, board.enemies().type[1]);
+        Assert.assertEquals(Burrower.HEALTH, board.enemies().health[1]);
+    }
+
+    /**
+     * Test of constructor, of class SwarmSimulation.
+     */
+    @Test
+    public void Constructor_ShouldAdoptHives_WhenStateAlreadyHoldsThem() {
+        BoardState state = new BoardState(10, 10);
+        state.enemies.add(new Hive(450, 450, state.squareSize, new Random(7)));
+
+        SwarmSimulation board = new SwarmSimulation(state);
+
+        Assert.assertTrue(state.enemies.isEmpty());
+        Assert.assertEquals(1, board.enemies().count);
+        Assert.assertEquals(EnemyArrays.TYPE_HIVE, board.enemies().type[0]);
+    }
+
+    /**
+     * Test of addUnit method, of class SwarmSimulation.
+     */
+    @Test
+    public void AddUnit_ShouldNotPlaceTower_WhenHiveOccupiesSquare() {
+        SwarmSimulation board = new SwarmSimulation(new BoardState(10, 10));
+        board.addUnit(new Hive(450, 450, board.getSquareSize(), new Random(7)));
+
+        Point hiveSquare = board.search().absoluteToGridPosition(new Point(450, 450));
+        board.addUnit(new Blocker(450, 450, board.getSquareSize()));
+
+        Assert.assertNull(board.state().towers.get(hiveSquare.x, hiveSquare.y));
+    }
+
+    /**
+     * Test of addUnit method, of class SwarmSimulation.
+     */
+    @Test(expected = Error.class)
+    public void AddUnit_ShouldThrow_WhenPassedEnemyOtherThanHive() {
+        SwarmSimulation board = new SwarmSimulation(new BoardState(10, 10));
+        board.addUnit(new Burrower(450, 450, new Point(0, 0), board.getSquareSize()));
+    }
+
+    /**
+     * Test of step method, of class SwarmSimulation.
+     */
+    @Test
+    public void Step_ShouldMatchSimulation_WhenTheSameLevelIsRun() {
+        BoardState objectState = new BoardState(10, 10, 5);
+        Simulation objects = new Simulation(objectState);
+        SwarmSimulation swarm = new SwarmSimulation(new BoardState(10, 10, 5));
+        objects.addUnit(new Hive(450, 450, objects.getSquareSize(), objectState.newRandom()));
+        swarm.addUnit(new Hive(450, 450, swarm.getSquareSize(), new Random()));
+        buildTowers(objects);
+        buildTowers(swarm);
+
+        for (int ticks = 1; ticks <= Hive.CADENCE_QUEEN + 200; ticks++) {
+            objects.step();
+            swarm.step();
+            if (ticks % 100 == 0) {
+                assertSameBoard(objects, swarm);
+            }
+        }
+    }
+
+    /**
+     * Test of firstEnemyInArea method, of class SwarmSimulation.
+     */
+    @Test
+    public void FirstEnemyInArea_ShouldReuseTheSameView_WhenTheSameEnemyIsFound() {
+        SwarmSimulation board = new SwarmSimulation(new BoardState(10, 10));
+        board.addUnit(new Hive(450, 450, board.getSquareSize(), new Random(7)));
+        for (int ticks = 0; ticks < Hive.CADENCE_BURROWER; ticks++) {
+            board.step();
+        }
+
+        Enemy first = board.search().firstEnemyInArea(new Point(0, 0), new Point(9, 9));
+        Enemy second = board.search().firstEnemyInArea(new Point(0, 0), new Point(9, 9));
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(board.enemies().roundedX(1), first.getPositionX());
+    }
+
+    /**
+     * Test of targetIn method, of class SwarmSimulation.
+     */
+    @Test
+    public void TargetIn_ShouldChooseAFurtherEnemy_WhenThePolicyPrefersIt() {
+        SwarmSimulation board = new SwarmSimulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        EnemyArrays enemies = board.enemies();
+        Shooter shooter = new Shooter(5 * squareSize, 5 * squareSize, squareSize);
+        int queen = enemies.add(EnemyArrays.TYPE_QUEEN, 8 * squareSize, 2 * squareSize, 0, 0, Queen.HEALTH);
+        int wounded = enemies.add(EnemyArrays.TYPE_BURROWER, 7 * squareSize, 5 * squareSize, 0, 0, 5);
+        int digging = enemies.add(EnemyArrays.TYPE_BURROWER, 3 * squareSize, 3 * squareSize, 0, 0, Burrower.HEALTH);
+        int near = enemies.add(EnemyArrays.TYPE_BURROWER, 5 * squareSize, 6 * squareSize, 0, 0, Burrower.HEALTH);
+        enemies.burrowing[digging] = true;
+        enemies.indexCells();
+
+        Neighbourhood area = board.search().neighbourhood(shooter.getGridPosition(), 3);
+        assertTargets(board, queen, board.search().targetIn(area, TargetingPolicy.QUEENS_FIRST, shooter));
+        assertTargets(board, wounded, board.search().targetIn(area, TargetingPolicy.LOWEST_HEALTH, shooter));
+        assertTargets(board, digging, board.search().targetIn(area, TargetingPolicy.BURROWING_FIRST, shooter));
+        assertTargets(board, near, board.search().targetIn(area, TargetingPolicy.NEAREST, shooter));
+    }
+
+    /**
+     * Test of targetIn method, of class SwarmSimulation.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void TargetIn_ShouldThrow_WhenPassedAnotherPolicy() {
+        SwarmSimulation board = new SwarmSimulation(new BoardState(10, 10));
+        int squareSize = board.getSquareSize();
+        Shooter shooter = new Shooter(5 * squareSize, 5 * squareSize, squareSize);
+        Neighbourhood area = board.search().neighbourhood(shooter.getGridPosition(), 3);
+        board.search().targetIn(area, enemy -> enemy.getHealth(), shooter);
+    }
+
+    /**
+     * Helper method which places the same Towers on a board every time it is
+     * called: walls of Blockers for Burrowers to dig through, and a powered
+     * Shooter beside the Hive.
+     *
+     * @param board the board to place the Towers on
+     */
+    private void buildTowers(Simulation board) {
+        int squareSize = board.getSquareSize();
+        for (int index = 0; index < 10; index++) {
+            board.addUnit(new Blocker(index * squareSize, 2 * squareSize, squareSize));
+            board.addUnit(new Blocker(7 * squareSize, index * squareSize, squareSize));
+        }
+
+        Generator source = new Generator(4 * squareSize, 6 * squareSize, squareSize);
+        source.makeSource();
+        board.addUnit(source);
+        board.addUnit(new Shooter(4 * squareSize, 5 * squareSize, squareSize));
+    }
+
+    /**
+     * Helper method which checks that a target chosen from the array store is
+     * the Enemy at the expected index.
+     *
+     * @param board the board the target was chosen on
+     * @param expected the index of the Enemy which should have been chosen
+     * @param target the chosen target
+     */
+    private void assertTargets(SwarmSimulation board, int expected, Enemy target) {
+        Assert.assertEquals(board.enemies().roundedX(expected), target.getPositionX());
+        Assert.assertEquals(board.enemies().roundedY(expected), target.getPositionY());
+    }
+
+    /**
+     * Helper method which checks that a Simulation and a SwarmSimulation hold
+     * the same number of Enemies at the same positions, and the same Towers.
+     * The two stores remove dead Enemies differently, so positions are
+     * compared in sorted order.
+     *
+     * @param objects the board holding Enemy objects
+     * @param swarm the board holding Enemies in arrays
+     */
+    private void assertSameBoard(Simulation objects, SwarmSimulation swarm) {
+        EnemyArrays enemies = swarm.enemies();
+        Assert.assertEquals(objects.state().enemies.size(), enemies.count);
+
+        double[][] expected = new double[enemies.count][];
+        double[][] actual = new double[enemies.count][];
+        for (int index = 0; index < enemies.count; index++) {
+            Enemy enemy = objects.state().enemies.get(index);
+            expected[index] = new double[]{enemy.getExactX(), enemy.getExactY(), enemy.getHealth()};
+            actual[index] = new double[]{enemies.x[index], enemies.y[index], enemies.health[index]};
+        }
+        Arrays.sort(expected, SwarmSimulationTest::comparePositions);
+        Arrays.sort(actual, SwarmSimulationTest::comparePositions);
+        for (int index = 0; index < enemies.count; index++) {
+            Assert.assertArrayEquals(expected[index], actual[index], 0.0);
+        }
+
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 10; y++) {
+                Tower expectedTower = objects.state().towers.get(x, y);
+                Tower actualTower = swarm.state().towers.get(x, y);
+                Assert.assertEquals(expectedTower == null, actualTower == null);
+                if (expectedTower != null) {
+                    Assert.assertEquals(expectedTower.getHealth(), actualTower.getHealth());
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method which orders Enemy positions by x and then y.
+     *
+     * @param first the first position
+     * @param second the second position
+     * @return the order of the two positions
+     */
+    private static int comparePositions(double[] first, double[] second) {
+        int byX = Double.compare(first[0], second[0]);
+        return byX != 0 ? byX : Double.compare(first[1], second[1]);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import org.junit.Assert;
+import org.junit.Test;
+import units.enemies.Burrower;
+import units.towers.Blocker;
+
+/**
+ * Unit tests for the TickMetrics class.
+ *
+ * @author Nick Houser
+ */
+public class TickMetricsTest {
+
+    /**
+     * Test of endTick method, of class TickMetrics.
+     */
+    @Test
+    public void EndTick_ShouldRecordEveryTickPhase_WhenSimulationSteps() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(new Blocker(450, 450, board.getSquareSize()));
+
+        board.step();
+        board.step();
+
+        TickMetrics metrics = board.metrics();
+        Assert.assertEquals(2, metrics.getTicks());
+        Assert.assertEquals(1, metrics.getTowers());
+        Assert.assertEquals(2, metrics.phase(TickMetrics.TICK).count());
+        Assert.assertEquals(2, metrics.phase(TickMetrics.ENEMIES).count());
+        Assert.assertEquals(2, metrics.phase(TickMetrics.TOWERS).count());
+        Assert.assertEquals(2, metrics.phase(TickMetrics.SEARCH).count());
+        Assert.assertEquals(2, metrics.phase(TickMetrics.POWER).count());
+    }
+
+    /**
+     * Test of resetDurations method, of class TickMetrics.
+     */
+    @Test
+    public void ResetDurations_ShouldSwapInEmptyHistograms_WhenCalled() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.step();
+        board.step();
+        TickMetrics metrics = board.metrics();
+        LatencyHistogram recorded = metrics.phase(TickMetrics.TICK);
+
+        metrics.resetDurations();
+        board.step();
+
+        Assert.assertEquals(2, recorded.count());
+        Assert.assertEquals(1, metrics.phase(TickMetrics.TICK).count());
+        Assert.assertEquals(3, metrics.getTicks());
+    }
+
+    /**
+     * Test of endTick method, of class TickMetrics.
+     */
+    @Test
+    public void EndTick_ShouldCountSpawnsAndDeaths_WhenEnemiesComeAndGo() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Burrower doomed = new Burrower(100, 100, new Point(100, 0), board.getSquareSize());
+        board.addUnit(doomed);
+        board.addUnit(new Burrower(700, 700, new Point(700, 0), board.getSquareSize()));
+
+        board.step();
+        TickMetrics metrics = board.metrics();
+        Assert.assertEquals(2, metrics.getSpawns());
+        Assert.assertEquals(0, metrics.getDeaths());
+        Assert.assertEquals(2, metrics.getEnemies());
+
+        doomed.changeHealth(-1000);
+        board.step();
+        Assert.assertEquals(0, metrics.getSpawns());
+        Assert.assertEquals(1, metrics.getDeaths());
+        Assert.assertEquals(1, metrics.getEnemies());
+        Assert.assertEquals(2, metrics.getTotalSpawns());
+        Assert.assertEquals(1, metrics.getTotalDeaths());
+    }
+
+    /**
+     * Test of getMedianMicros method, of class TickMetrics.
+     */
+    @Test
+    public void GetMedianMicros_ShouldNameEveryPhase_WhenCalled() {
+        TickMetrics metrics = new TickMetrics();
+        metrics.phase(TickMetrics.PAINT).record(3000);
+
+        Assert.assertEquals(TickMetrics.phaseCount(), metrics.getMedianMicros().size());
+        Assert.assertEquals(3.0, metrics.getMedianMicros().get("paint"), 0.01);
+        Assert.assertEquals(3.0, metrics.getMaxMicros().get("paint"), 0.01);
+    }
+}
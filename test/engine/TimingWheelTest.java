@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.util.ArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for the TimingWheel class.
+ *
+ * @author Nick Houser
+ */
+public class TimingWheelTest {
+
+    /**
+     * Test of advance method, of class TimingWheel.
+     */
+    @Test
+    public void Advance_ShouldWakeUnit_OnlyAtItsTick_WhenMoreThanOneTurnAway() {
+        TimingWheel wheel = new TimingWheel();
+        Simulation board = Mockito.mock(Simulation.class);
+        Scheduled unit = Mockito.mock(Scheduled.class);
+        wheel.schedule(unit, 1000);
+
+        for (long tick = 0; tick < 1000; tick++) {
+            wheel.advance(tick, board);
+        }
+        Mockito.verify(board, Mockito.never()).wake(unit);
+
+        wheel.advance(1000, board);
+        Mockito.verify(board).wake(unit);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Test of advance method, of class TimingWheel.
+     */
+    @Test
+    public void Advance_ShouldWakeUnits_InTheOrderTheyWereScheduled() {
+        TimingWheel wheel = new TimingWheel();
+        ArrayList<Scheduled> woken = new ArrayList<>();
+        Simulation board = Mockito.mock(Simulation.class);
+        Mockito.doAnswer(invocation -> woken.add(invocation.getArgument(0))).when(board).wake(Mockito.any());
+        Scheduled first = Mockito.mock(Scheduled.class);
+        Scheduled second = Mockito.mock(Scheduled.class);
+        Scheduled later = Mockito.mock(Scheduled.class);
+        wheel.schedule(first, 5);
+        wheel.schedule(later, 5 + 256);
+        wheel.schedule(second, 5);
+
+        for (long tick = 0; tick <= 5; tick++) {
+            wheel.advance(tick, board);
+        }
+
+        Assert.assertEquals(2, woken.size());
+        Assert.assertSame(first, woken.get(0));
+        Assert.assertSame(second, woken.get(1));
+        Assert.assertEquals(1, wheel.size());
+    }
+
+    /**
+     * Test of schedule method, of class TimingWheel.
+     */
+    @Test
+    public void Schedule_ShouldWakeAtTheNextTick_WhenTickHasPassed() {
+        TimingWheel wheel = new TimingWheel();
+        Simulation board = Mockito.mock(Simulation.class);
+        Scheduled unit = Mockito.mock(Scheduled.class);
+        wheel.advance(0, board);
+        wheel.advance(1, board);
+
+        wheel.schedule(unit, 1);
+        wheel.advance(2, board);
+
+        Mockito.verify(board).wake(unit);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import units.towers.Blocker;
+import units.towers.Generator;
+import units.towers.Shooter;
+
+/**
+ * Unit tests for the TowerGrid class.
+ *
+ * @author Nick Houser
+ */
+public class TowerGridTest {
+
+    /**
+     * Test of set method, of class TowerGrid.
+     */
+    @Test
+    public void Set_ShouldTrackOccupiedSquaresAndTypes() {
+        TowerGrid grid = new TowerGrid(10, new BoardEvents());
+        Blocker blocker = new Blocker(20, 30, 10);
+
+        grid.set(2, 3, blocker);
+
+        assertSame(blocker, grid.get(grid.cell(2, 3)));
+        assertEquals(TowerGrid.TYPE_BLOCKER, grid.type(grid.cell(2, 3)));
+        assertEquals(1, grid.occupied().cardinality());
+        assertFalse(grid.isTicking(grid.cell(2, 3)));
+
+        grid.set(2, 3, null);
+
+        assertEquals(TowerGrid.TYPE_NONE, grid.type(grid.cell(2, 3)));
+        assertTrue(grid.occupied().isEmpty());
+    }
+
+    /**
+     * Test of isTicking method, of class TowerGrid.
+     */
+    @Test
+    public void IsTicking_ShouldFollowPower_WhenTheGridChanges() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        TowerGrid grid = board.state().towers;
+        int size = board.getSquareSize();
+        Generator source = new Generator(0, 0, size);
+        source.makeSource();
+        Generator link = new Generator(size, 0, size);
+        Shooter shooter = new Shooter(2 * size, 0, size);
+        board.addUnit(source);
+        board.addUnit(link);
+        board.addUnit(shooter);
+
+        assertTrue(grid.isTicking(grid.cell(2, 0)));
+        assertTrue(grid.powered().get(grid.cell(1, 0)));
+        assertFalse(grid.isTicking(grid.cell(1, 0)));
+
+        link.destroy();
+        board.step();
+
+        assertFalse(grid.isTicking(grid.cell(2, 0)));
+        assertFalse(grid.powered().get(grid.cell(2, 0)));
+    }
+
+    /**
+     * Test of neighbourhood method, of class TowerGrid.
+     */
+    @Test
+    public void Neighbourhood_ShouldBeClippedToTheBoardAndShared() {
+        TowerGrid grid = new TowerGrid(10, new BoardEvents());
+
+        Neighbourhood corner = grid.neighbourhood(0, 9, 1);
+
+        assertEquals(4, corner.cells.length);
+        assertEquals(grid.cell(0, 8), corner.cells[0]);
+        assertEquals(grid.cell(1, 9), corner.cells[3]);
+        assertTrue(corner.contains(-1, 10));
+        assertSame(corner, grid.neighbourhood(0, 9, 1));
+        assertEquals(grid.cell(0, 9), corner.byDistance[0]);
+        assertEquals(1, corner.ringEnds[0]);
+        assertEquals(4, corner.ringEnds[1]);
+        assertEquals(9, grid.neighbourhood(0, 9, 2).cells.length);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package engine;
+
+import java.awt.Point;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import units.enemies.Burrower;
+import units.enemies.Enemy;
+
+/**
+ * Unit tests for the UnitList class.
+ *
+ * @author Nick Houser
+ */
+public class UnitListTest {
+
+    /**
+     * Test of add method, of class UnitList.
+     */
+    @Test
+    public void Add_ShouldGrowTheList_PastItsInitialCapacity() {
+        UnitList<Enemy> list = new UnitList<>();
+        for (int count = 0; count < 100; count++) {
+            list.add(new Burrower(count, count, new Point(1, 1), 1));
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(99, list.get(99).getPosition().x);
+    }
+
+    /**
+     * Test of removeAt method, of class UnitList.
+     */
+    @Test
+    public void RemoveAt_ShouldMoveTheLastUnitIntoTheRemovedSlot() {
+        UnitList<Enemy> list = new UnitList<>();
+        Enemy first = new Burrower(0, 0, new Point(1, 1), 1);
+        Enemy second = new Burrower(0, 0, new Point(1, 1), 1);
+        Enemy third = new Burrower(0, 0, new Point(1, 1), 1);
+        list.add(first);
+        list.add(second);
+        list.add(third);
+
+        list.removeAt(0);
+
+        assertEquals(2, list.size());
+        assertEquals(third, list.get(0));
+        assertEquals(second, list.get(1));
+        assertEquals(false, list.contains(first));
+    }
+
+    /**
+     * Test of iterator method, of class UnitList.
+     */
+    @Test
+    public void Iterator_ShouldNotVisitUnits_AddedDuringIteration() {
+        UnitList<Enemy> list = new UnitList<>();
+        list.add(new Burrower(0, 0, new Point(1, 1), 1));
+        list.add(new Burrower(0, 0, new Point(1, 1), 1));
+
+        int visited = 0;
+        for (Enemy enemy : list) {
+            list.add(new Burrower(0, 0, new Point(1, 1), 1));
+            visited = visited + 1;
+        }
+
+        assertEquals(2, visited);
+        assertEquals(4, list.size());
+    }
+}
@@ -16,21 +16,23 @@
  */
 package gui.game;
 
-import gui.game.levels.BoardState;
+import engine.BoardState;
+import engine.RenderSnapshot;
+import engine.Simulation;
+import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Point;
+import java.awt.image.BufferedImage;
 import org.junit.Assert;
-import static org.junit.Assert.fail;
 import org.junit.Test;
 import org.mockito.Mockito;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 import units.enemies.Burrower;
 import units.enemies.Enemy;
 import units.towers.Blocker;
 import units.towers.Generator;
-import units.towers.Terrain;
 import units.towers.Tower;
-import units.Unit;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -41,167 +43,156 @@ import static org.mockito.Mockito.mock;
 public class GameBoardPanelTest {
 
     /**
-     * Test of tick method, of class GameBoardPanel.
+     * Test of capture method, of class GameBoardPanel.
      */
     @Test
-    public void Tick_ShouldTickAllTowers_AfterTowersPassedToAddUnit() {
+    public void Capture_ShouldDrawAllTowers_AfterTowersPassedToAddUnit() {
         Tower fakeUnit1 = Mockito.mock(Tower.class);
-        Mockito.when(fakeUnit1.getGridPosition()).thenReturn(new Point(1, 1));
+        Mockito.when(fakeUnit1.getGridPosition()).thenReturn(new Point(3, 2));
         Tower fakeUnit2 = Mockito.mock(Tower.class);
-        Mockito.when(fakeUnit2.getGridPosition()).thenReturn(new Point(2, 2));
+        Mockito.when(fakeUnit2.getGridPosition()).thenReturn(new Point(5, 4));
 
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        board.addUnit(fakeUnit1);
-        board.addUnit(fakeUnit2);
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        simulation.addUnit(fakeUnit1);
+        simulation.addUnit(fakeUnit2);
 
-        board.tick();
-        Mockito.verify(fakeUnit1).tick(board);
-        Mockito.verify(fakeUnit2).tick(board);
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        Mockito.verify(fakeUnit1).drawSelf(any(RenderSnapshot.class));
+        Mockito.verify(fakeUnit2).drawSelf(any(RenderSnapshot.class));
     }
 
     /**
-     * Test of paintComponent method, of class GameBoardPanel.
+     * Test of capture method, of class GameBoardPanel.
      */
     @Test
-    public void PaintComponent_ShouldDrawAllTowers_AfterTowersPassedToAddUnit() {
-        Tower fakeUnit1 = Mockito.mock(Tower.class);
-        Mockito.when(fakeUnit1.getGridPosition()).thenReturn(new Point(3, 2));
-        Tower fakeUnit2 = Mockito.mock(Tower.class);
-        Mockito.when(fakeUnit2.getGridPosition()).thenReturn(new Point(5, 4));
-        Graphics fakeGraphics = Mockito.mock(Graphics.class);
-
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        board.addUnit(fakeUnit1);
-        board.addUnit(fakeUnit2);
+    public void Capture_ShouldDrawLayeredGraphics_AfterLayeredGraphicsUnitAdded() {
+        Generator layeredGraphicsTower = mock(Generator.class);
+        when(layeredGraphicsTower.getGridPosition()).thenReturn(new Point(0, 0));
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        simulation.addUnit(layeredGraphicsTower);
 
-        board.paintComponent(fakeGraphics);
-        Mockito.verify(fakeUnit1).drawSelf(fakeGraphics);
-        Mockito.verify(fakeUnit2).drawSelf(fakeGraphics);
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        Mockito.verify(layeredGraphicsTower).drawLayer(any(RenderSnapshot.class));
     }
 
     /**
-     * Test of paintComponent method, of class GameBoardPanel.
+     * Test of capture method, of class GameBoardPanel.
      */
     @Test
-    public void PaintComponent_ShouldDrawLayeredGraphics_AfterLayeredGraphicsUnitAdded() {
-        Generator layeredGraphicsTower = mock(Generator.class);
-        when(layeredGraphicsTower.getGridPosition()).thenReturn(new Point(0, 0));
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        board.addUnit(layeredGraphicsTower);
-
-        Graphics fakeGraphics = Mockito.mock(Graphics.class);
-        board.paintComponent(fakeGraphics);
-        Mockito.verify(layeredGraphicsTower).drawLayer(fakeGraphics);
+    public void Capture_ShouldDrawAllEnemies_AfterEnemiesPassedToAddUnit() {
+        Enemy fakeUnit1 = Mockito.mock(Enemy.class);
+        Mockito.when(fakeUnit1.getPosition()).thenReturn(new Point(10, 10));
+        Enemy fakeUnit2 = Mockito.mock(Enemy.class);
+        Mockito.when(fakeUnit2.getPosition()).thenReturn(new Point(20, 20));
+
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        simulation.addUnit(fakeUnit1);
+        simulation.addUnit(fakeUnit2);
+
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        Mockito.verify(fakeUnit1).drawSelf(any(RenderSnapshot.class));
+        Mockito.verify(fakeUnit2).drawSelf(any(RenderSnapshot.class));
     }
 
     /**
-     * Test of tick method, of class GameBoardPanel.
+     * Test of capture method, of class GameBoardPanel.
      */
     @Test
-    public void Tick_ShouldTickAllEnemies_AfterEnemiesPassedToAddUnit() {
-        Unit fakeUnit1 = Mockito.mock(Enemy.class);
-        Unit fakeUnit2 = Mockito.mock(Enemy.class);
+    public void Capture_ShouldNotRedrawTowers_WhenNoneChanged() {
+        Tower fakeUnit = Mockito.mock(Tower.class);
+        Mockito.when(fakeUnit.getGridPosition()).thenReturn(new Point(3, 2));
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        simulation.addUnit(fakeUnit);
 
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        board.addUnit(fakeUnit1);
-        board.addUnit(fakeUnit2);
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        board.capture();
+        board.capture();
 
-        board.tick();
-        Mockito.verify(fakeUnit1).tick(board);
-        Mockito.verify(fakeUnit2).tick(board);
+        Mockito.verify(fakeUnit).drawSelf(any(RenderSnapshot.class));
     }
 
     /**
      * Test of paintComponent method, of class GameBoardPanel.
      */
     @Test
-    public void PaintComponent_ShouldDrawAllEnemies_AfterEnemiesPassedToAddUnit() {
-        Unit fakeUnit1 = Mockito.mock(Enemy.class);
-        Unit fakeUnit2 = Mockito.mock(Enemy.class);
-        Graphics fakeGraphics = Mockito.mock(Graphics.class);
+    public void PaintComponent_ShouldPaintCapturedTowers() {
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        int size = simulation.getSquareSize();
+        simulation.addUnit(new Blocker(size, 2 * size, size));
 
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        board.addUnit(fakeUnit1);
-        board.addUnit(fakeUnit2);
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        BufferedImage painted = paint(board);
 
-        board.paintComponent(fakeGraphics);
-        Mockito.verify(fakeUnit1).drawSelf(fakeGraphics);
-        Mockito.verify(fakeUnit2).drawSelf(fakeGraphics);
+        Assert.assertEquals(Color.GRAY.getRGB(), painted.getRGB(size, 2 * size));
+        Assert.assertEquals(Color.WHITE.getRGB(), painted.getRGB(2 * size, 2 * size));
     }
 
     /**
-     * Test of tick method, of class GameBoardPanel.
+     * Test of paintComponent method, of class GameBoardPanel.
      */
     @Test
-    public void Tick_ShouldRemoveDeadEnemies() {
-        BoardState testBoardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(testBoardState);
-        Enemy toRemove = new Burrower(0, 0, new Point(1, 1), board.getSquareSize());
-        board.addUnit(toRemove);
-        toRemove.destroy();
-        board.tick();
-        if (testBoardState.enemies.contains(toRemove)) {
-            fail("The unit was not removed after taking more than its max health in damage.");
-        }
+    public void PaintComponent_ShouldNotPaintTowers_UntilTheyAreCaptured() {
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        int size = simulation.getSquareSize();
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        simulation.addUnit(new Blocker(size, 2 * size, size));
+
+        Assert.assertEquals(Color.WHITE.getRGB(), paint(board).getRGB(size, 2 * size));
+
+        board.capture();
+        Assert.assertEquals(Color.GRAY.getRGB(), paint(board).getRGB(size, 2 * size));
     }
 
     /**
-     * Test of tick method, of class GameBoardPanel.
+     * Test of paintComponent method, of class GameBoardPanel.
      */
     @Test
-    public void Tick_ShouldRemoveDeadTowers() {
-        BoardState testBoardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(testBoardState);
-        Tower toRemove = new Terrain(0, 0, board.getSquareSize());
-        board.addUnit(toRemove);
-        toRemove.destroy();
-        board.tick();
-        for (int x = 0; x < testBoardState.numSquares; x++) {
-            for (int y = 0; y < testBoardState.numSquares; y++) {
-                if (testBoardState.towers[x][y] != null) {
-                    fail("The unit was not removed after taking more than its max health in damage.");
-                }
-            }
-        }
+    public void PaintComponent_ShouldClearTowers_AfterTheyDie() {
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        int size = simulation.getSquareSize();
+        Blocker blocker = new Blocker(size, 2 * size, size);
+        simulation.addUnit(blocker);
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        paint(board);
+
+        blocker.changeHealth(-1000000);
+        simulation.step();
+        board.capture();
+
+        Assert.assertEquals(Color.WHITE.getRGB(), paint(board).getRGB(size, 2 * size));
     }
 
     /**
-     * Test of addUnit method, of class GameBoardPanel.
+     * Test of paintComponent method, of class GameBoardPanel.
      */
     @Test
-    public void AddUnit_ShouldNotAddATower_IfAnEnemyExistsAtThatPosition() {
-        BoardState testBoardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(testBoardState);
-        Enemy testEnemy = new Burrower(0, 0, new Point(0, 0), board.getSquareSize());
-        Tower testTower = new Blocker(0, 0, board.getSquareSize());
-
-        board.addUnit(testEnemy);
-        board.addUnit(testTower);
-
-        try {
-            Assert.assertEquals(board.search().towerAtGridPosition(new Point(0, 0)), null);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+    public void PaintComponent_ShouldDrawEnemiesPartWay_WhenInterpolationIsSet() {
+        Simulation simulation = new Simulation(new BoardState(10, 10));
+        Burrower burrower = new Burrower(400, 400, new Point(800, 400), simulation.getSquareSize());
+        simulation.addUnit(burrower);
+        simulation.step();
+        int from = burrower.getDrawX(0.0);
+        int halfWay = (int) Math.round(from + (burrower.getDrawX(1.0) - from) * 0.5);
+        Graphics fakeGraphics = Mockito.mock(Graphics.class);
+
+        GameBoardPanel board = new GameBoardPanel(simulation);
+        board.setInterpolation(0.5);
+        board.paintComponent(fakeGraphics);
+
+        Mockito.verify(fakeGraphics).fillRect(halfWay, 400, burrower.getScaledSize(), burrower.getScaledSize());
     }
 
     /**
-     * Test of addUnit method, of class GameBoardPanel.
+     * Helper method which paints a board onto a new image.
+     *
+     * @param board the board to paint
+     * @return the painted image
      */
-    @Test
-    public void AddUnit_ShouldNotAddATower_IfATowerExistsAtThatPosition() {
-        BoardState testBoardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(testBoardState);
-        Tower testTower = new Blocker(0, 0, board.getSquareSize());
-        Tower testTower2 = new Blocker(0, 0, board.getSquareSize());
-
-        board.addUnit(testTower);
-        board.addUnit(testTower2);
-
-        try {
-            Assert.assertEquals(board.search().towerAtGridPosition(new Point(0, 0)), testTower);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+    private BufferedImage paint(GameBoardPanel board) {
+        BufferedImage image = new BufferedImage(GameBoardPanel.SIZE, GameBoardPanel.SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.createGraphics();
+        board.paintComponent(g);
+        g.dispose();
+        return image;
     }
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2016 Nick Houser
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package gui.game.levels;
+
+import engine.BoardState;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+import units.enemies.Hive;
+import units.towers.Generator;
+import units.towers.Terrain;
+
+/**
+ * Unit tests for the LevelFormat class.
+ *
+ * @author Nick Houser
+ */
+public class LevelFormatTest {
+
+    /**
+     * Test of read method, of class LevelFormat.
+     */
+    @Test
+    public void Read_ShouldMatchTextLevel_ForEveryShippedLevel() throws Exception {
+        for (int level = 1; level <= LevelCreator.MAX_LEVEL; level++) {
+            BoardState text;
+            try (InputStream in = LevelCreator.class.getResourceAsStream(level + ".level")) {
+                text = LevelCreator.deserializeLines(LevelCreator.readLines(in), 5);
+            }
+            BoardState binary = LevelCreator.createLevel(level, 5);
+
+            Assert.assertEquals(describe(text), describe(binary));
+        }
+    }
+
+    /**
+     * Test of load method, of class LevelFormat.
+     */
+    @Test
+    public void Load_ShouldReadMappedFile_WhenLevelIsLarge() throws IOException {
+        BoardState generated = new BoardState(200, 60, 1);
+        for (int x = 0; x < 200; x++) {
+            for (int y = 0; y < 200; y++) {
+                if ((x * 7 + y * 3) % 5 != 0) {
+                    generated.towers.set(x, y, new Terrain(x * generated.squareSize, y * generated.squareSize, generated.squareSize));
+                }
+            }
+        }
+        generated.enemies.add(new Hive(0, 0, generated.squareSize, generated.newRandom()));
+        Generator source = new Generator(199 * generated.squareSize, 5 * generated.squareSize, generated.squareSize);
+        source.makeSource();
+        generated.towers.set(199, 5, source);
+
+        Path file = Files.createTempFile("level", ".tdl");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                LevelFormat.write(generated, out);
+            }
+            BoardState loaded = LevelFormat.load(file, 1);
+
+            Assert.assertEquals(describe(generated), describe(loaded));
+            Assert.assertTrue(Files.size(file) < 200 * 200 / 8 + 100);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test of load method, of class LevelFormat.
+     */
+    @Test
+    public void Load_ShouldReadLevel_FromInsideAJar() throws Exception {
+        ByteArrayOutputStream level = new ByteArrayOutputStream();
+        LevelFormat.write(LevelCreator.createLevel(3, 5), level);
+        Path jar = Files.createTempFile("levels", ".jar");
+        try {
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                out.putNextEntry(new JarEntry("3.tdl"));
+                out.write(level.toByteArray());
+                out.closeEntry();
+            }
+            URL resource = new URL("jar:" + jar.toUri() + "!/3.tdl");
+
+            BoardState loaded = LevelFormat.load(resource, 5);
+
+            Assert.assertEquals(describe(LevelCreator.createLevel(3, 5)), describe(loaded));
+        } finally {
+            Files.delete(jar);
+        }
+    }
+
+    /**
+     * Test of read method, of class LevelFormat.
+     */
+    @Test(expected = IOException.class)
+    public void Read_ShouldThrow_WhenBufferIsNotALevel() throws IOException {
+        LevelFormat.read(ByteBuffer.wrap("squares=5\ntime=45\n".getBytes("UTF-8")), 0);
+    }
+
+    /**
+     * Test of read method, of class LevelFormat.
+     */
+    @Test(expected = IOException.class)
+    public void Read_ShouldThrow_WhenTheBoardSizeIsNegative() throws IOException {
+        LevelFormat.read(level(-2, 0, 0), 0);
+    }
+
+    /**
+     * Test of read method, of class LevelFormat.
+     */
+    @Test(expected = IOException.class)
+    public void Read_ShouldThrow_WhenTheUnitCountsOverflow() throws IOException {
+        LevelFormat.read(level(2, 0x40000000, 0x40000000), 0);
+    }
+
+    /**
+     * Test of read method, of class LevelFormat.
+     */
+    @Test(expected = IOException.class)
+    public void Read_ShouldThrow_WhenAHiveLiesOffTheBoard() throws IOException {
+        LevelFormat.read(level(2, 1, 0, 2, 0), 0);
+    }
+
+    /**
+     * Test of read method, of class LevelFormat.
+     */
+    @Test(expected = IOException.class)
+    public void Read_ShouldThrow_WhenAGeneratorLiesOffTheBoard() throws IOException {
+        LevelFormat.read(level(2, 0, 1, 0, 5), 0);
+    }
+
+    /**
+     * Helper method which builds a binary level with the passed header, an
+     * empty byte of Terrain and the passed grid coordinates, without checking
+     * that any of it makes sense.
+     *
+     * @param numSquares the board size to write in the header
+     * @param hiveCount the number of Hives to write in the header
+     * @param generatorCount the number of Generators to write in the header
+     * @param coordinates the grid coordinates to write after the Terrain
+     * @return a buffer holding the level
+     */
+    private ByteBuffer level(int numSquares, int hiveCount, int generatorCount, int... coordinates) {
+        ByteBuffer buffer = ByteBuffer.allocate(22 + 2 * coordinates.length);
+        buffer.putInt(LevelFormat.MAGIC);
+        buffer.put((byte) LevelFormat.VERSION);
+        buffer.putInt(numSquares);
+        buffer.putInt(60);
+        buffer.putInt(hiveCount);
+        buffer.putInt(generatorCount);
+        buffer.put((byte) 0);
+        for (int coordinate : coordinates) {
+            buffer.putShort((short) coordinate);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Helper method which lists everything on a board, including the first
+     * number each Hive will draw. Terrain is listed the same way whether or
+     * not it has a Terrain object yet.
+     *
+     * @param state the board to describe
+     * @return a description of the board
+     */
+    private String describe(BoardState state) {
+        StringBuilder description = new StringBuilder();
+        description.append(state.numSquares).append(' ').append(state.initialTime).append('\n');
+        for (int x = 0; x < state.numSquares; x++) {
+            for (int y = 0; y < state.numSquares; y++) {
+                if (state.towers.get(x, y) != null) {
+                    description.append(state.towers.get(x, y).getClass().getSimpleName()).append(x).append(',').append(y).append(' ');
+                } else if (state.terrain.get(x * state.numSquares + y)) {
+                    description.append("Terrain").append(x).append(',').append(y).append(' ');
+                }
+            }
+        }
+        for (int index = 0; index < state.enemies.size(); index++) {
+            description.append('\n').append(state.enemies.get(index).getPosition());
+        }
+        description.append('\n').append(state.newRandom().nextLong());
+        return description.toString();
+    }
+}
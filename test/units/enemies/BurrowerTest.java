@@ -16,15 +16,15 @@
  */
 package units.enemies;
 
-import gui.game.BoardSearch;
-import gui.game.GameBoardPanel;
-import gui.game.OffscreenException;
+import engine.BoardSearch;
+import engine.Simulation;
 import java.awt.Point;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import org.junit.Test;
 import org.mockito.Mockito;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -44,20 +44,17 @@ public class BurrowerTest {
      */
     @Test
     public void Tick_ShouldCallMoveMethod() {
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        try {
-            when(fakeSearch.towerAtPosition(any())).thenReturn(new Terrain(0, 0, 1));
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        when(fakeSearch.towerInSquare(anyInt(), anyInt())).thenReturn(new Terrain(0, 0, 1));
+        when(fakeSearch.squareBlocked(anyInt(), anyInt())).thenReturn(true);
 
         Burrower testBurrower = spy(new Burrower(0, 0, new Point(1, 1), 1));
 
         testBurrower.tick(fakeBoard);
 
-        Mockito.verify(testBurrower).move(any(GameBoardPanel.class));
+        Mockito.verify(testBurrower).move(any(Simulation.class));
     }
 
     /**
@@ -65,21 +62,19 @@ public class BurrowerTest {
      */
     @Test
     public void Tick_ShouldAttack_WhenMoveFails() {
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
         Tower fakeBlocker = mock(Terrain.class);
-        try {
-            when(fakeSearch.towerAtPosition(any())).thenReturn(fakeBlocker);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        when(fakeSearch.towerInSquare(anyInt(), anyInt())).thenReturn(fakeBlocker);
+        when(fakeSearch.squareBlocked(anyInt(), anyInt())).thenReturn(true);
 
         Burrower testBurrower = new Burrower(5, 5, new Point(1, 1), 1);
 
         testBurrower.tick(fakeBoard);
 
         Mockito.verify(fakeBlocker).changeHealth(any(int.class));
+        assertEquals(true, testBurrower.isBurrowing());
     }
 
     /**
@@ -87,14 +82,10 @@ public class BurrowerTest {
      */
     @Test
     public void Tick_ShouldMoveTowardsThePassedPoint() {
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        try {
-            when(fakeSearch.towerAtPosition(any())).thenReturn(null);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        when(fakeSearch.towerInSquare(anyInt(), anyInt())).thenReturn(null);
 
         int initialX = 1;
         int initialY = 1;
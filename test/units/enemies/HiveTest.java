@@ -16,8 +16,8 @@
  */
 package units.enemies;
 
-import gui.game.levels.BoardState;
-import gui.game.GameBoardPanel;
+import engine.BoardState;
+import engine.Simulation;
 import java.util.Random;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -63,15 +63,16 @@ public class HiveTest {
     }
 
     /**
-     * Test of tick method, of class Hive.
+     * Test of wake method, of class Hive.
      */
     @Test
-    public void Tick_ShouldSpawnABurrowerAtTheProperTimes() {
+    public void Wake_ShouldSpawnABurrowerAtTheProperTimes() {
         Hive testHive = new Hive(0, 0, 1, new Random());
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(testHive);
 
         for (int ticks = 0; ticks < Hive.CADENCE_BURROWER - 1; ticks++) {
-            testHive.tick(board);
+            board.step();
         }
         for (Enemy enemy : board.search().allEnemies()) {
             if (enemy instanceof Burrower) {
@@ -79,7 +80,7 @@ public class HiveTest {
             }
         }
 
-        testHive.tick(board);
+        board.step();
         int burrowerCount = 0;
         for (Enemy enemy : board.search().allEnemies()) {
             if (enemy instanceof Burrower) {
@@ -92,15 +93,16 @@ public class HiveTest {
     }
 
     /**
-     * Test of tick method, of class Hive.
+     * Test of wake method, of class Hive.
      */
     @Test
-    public void Tick_ShouldSpawnAQueenAtTheProperTimes() {
+    public void Wake_ShouldSpawnAQueenAtTheProperTimes() {
         Hive testHive = new Hive(0, 0, 1, new Random());
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
+        Simulation board = new Simulation(new BoardState(10, 10));
+        board.addUnit(testHive);
 
         for (int ticks = 0; ticks < Hive.CADENCE_QUEEN - 1; ticks++) {
-            testHive.tick(board);
+            board.step();
         }
         for (Enemy enemy : board.search().allEnemies()) {
             if (enemy instanceof Queen) {
@@ -108,7 +110,7 @@ public class HiveTest {
             }
         }
 
-        testHive.tick(board);
+        board.step();
         int queenCount = 0;
         for (Enemy enemy : board.search().allEnemies()) {
             if (enemy instanceof Queen) {
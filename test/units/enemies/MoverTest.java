@@ -16,16 +16,18 @@
  */
 package units.enemies;
 
-import gui.game.BoardSearch;
+import engine.BoardSearch;
 import units.towers.Terrain;
 import units.towers.Tower;
-import gui.game.GameBoardPanel;
-import gui.game.OffscreenException;
+import engine.Simulation;
+import engine.BoardState;
 import java.awt.Point;
+import java.lang.management.ManagementFactory;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.when;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
 import units.DirectionVector;
 
@@ -45,21 +47,17 @@ public class MoverTest {
         int initialY = 200;
         Point target = new Point(initialX + 1, initialY + 3);
 
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        try {
-            when(fakeSearch.towerAtPosition(any())).thenReturn(null);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        when(fakeSearch.towerInSquare(anyInt(), anyInt())).thenReturn(null);
 
         Mover mover = new Burrower(initialX, initialY, target, 1);
         DirectionVector moveDirection = new DirectionVector(mover.getPosition(), target, mover.getScaledSpeed());
         Tower success = mover.move(fakeBoard);
 
-        assertEquals(mover.position.x, initialX + moveDirection.xDirection, .01);
-        assertEquals(mover.position.y, initialY + moveDirection.yDirection, .01);
+        assertEquals(mover.xPosition, initialX + moveDirection.xDirection, .01);
+        assertEquals(mover.yPosition, initialY + moveDirection.yDirection, .01);
         assertEquals(success, null);
     }
 
@@ -74,20 +72,17 @@ public class MoverTest {
         int directionY = 2;
 
         Terrain blocker = new Terrain(0, 0, 1);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        try {
-            when(fakeSearch.towerAtPosition(any(Point.class))).thenReturn(blocker);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        when(fakeSearch.towerInSquare(anyInt(), anyInt())).thenReturn(blocker);
+        when(fakeSearch.squareBlocked(anyInt(), anyInt())).thenReturn(true);
 
         Mover mover = new Burrower(initialX, initialY, new Point(initialX + directionX, initialY + directionY), 1);
         Tower success = mover.move(fakeBoard);
 
-        assertEquals(mover.position.x, initialX, .01);
-        assertEquals(mover.position.y, initialY, .01);
+        assertEquals(mover.xPosition, initialX, .01);
+        assertEquals(mover.yPosition, initialY, .01);
         assertEquals(success, blocker);
     }
 
@@ -102,51 +97,80 @@ public class MoverTest {
         Mover mover = new Burrower(initialX, initialY, new Point(initialX, initialY + 1), 2);
 
         Terrain blocker = new Terrain(0, 0, 2);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
         int scaledSpeed = (int) Math.floor(mover.getScaledSpeed());
-        try {
-            when(fakeSearch.towerAtPosition(new Point(initialX, initialY + scaledSpeed))).thenReturn(null);
-            when(fakeSearch.towerAtPosition(new Point(initialX, initialY + scaledSpeed + mover.getScaledSize()))).thenReturn(blocker);
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        int gridX = Math.floorDiv(initialX, 2);
+        when(fakeSearch.towerInSquare(gridX, Math.floorDiv(initialY + scaledSpeed, 2))).thenReturn(null);
+        when(fakeSearch.towerInSquare(gridX, Math.floorDiv(initialY + scaledSpeed + mover.getScaledSize(), 2))).thenReturn(blocker);
+        when(fakeSearch.squareBlocked(gridX, Math.floorDiv(initialY + scaledSpeed + mover.getScaledSize(), 2))).thenReturn(true);
 
         Tower success = mover.move(fakeBoard);
 
-        assertEquals(mover.position.x, initialX, .01);
-        assertEquals(mover.position.y, initialY, .01);
+        assertEquals(mover.xPosition, initialX, .01);
+        assertEquals(mover.yPosition, initialY, .01);
         assertEquals(success, blocker);
     }
 
     /**
      * Test of move method, of class Enemy.
      */
-    /*@Test
-    public void Move_ReverseDirection_WhenMoveWouldTravelNorthOfBoard() {
+    @Test
+    public void Move_ShouldReverseDirection_WhenMoveWouldTravelNorthOfBoard() {
+        int initialX = 400;
+        int initialY = 1;
 
-        Mover mover = new Burrower(initialX, initialY, new Point(initialX, initialY - 10), 2);
-        when(fakeBoard.search()).thenReturn(fakeSearch);
-        int initialX = 0;
-        int initialY = 0;
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Mover mover = new Burrower(initialX, initialY, new Point(initialX, initialY - 1000), board.getSquareSize());
 
-        Terrain blocker = new Terrain(0, 0, 2);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
-        BoardSearch fakeSearch = mock(BoardSearch.class);
+        for (int moves = 0; moves < 10; moves++) {
+            mover.move(board);
+        }
+
+        assertEquals(mover.xPosition, initialX, .01);
+        assertTrue(mover.yPosition > initialY);
+    }
 
-        OffscreenException offscreen = new OffscreenException(false, false, true, false);
-        try {
-            when(fakeSearch.towerAtPosition(new Point(initialX, initialY - 1))).thenThrow(offscreen);
-        } catch (OffscreenException unexpected) {
-            fail("Did not expect offscreen exception.");
+    /**
+     * Test of move method, of class Enemy.
+     */
+    @Test
+    public void Move_ShouldNotAllocate_OnceTheBoardIndexIsWarm() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Mover mover = new Burrower(400, 400, new Point(400, -1000), board.getSquareSize());
+        board.addUnit(mover);
+        for (int moves = 0; moves < 5000; moves++) {
+            mover.move(board);
+        }
+
+        long overhead = -threads.getThreadAllocatedBytes(threadId) + threads.getThreadAllocatedBytes(threadId);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int moves = 0; moves < 5000; moves++) {
+            mover.move(board);
         }
-        
-        mover.move(fakeBoard);
-        double scaledSpeed = mover.getScaledSpeed();
-        mover.move(fakeBoard);
-
-        assertEquals(mover.position.x, initialX, .01);
-        assertEquals(mover.position.y, initialY + mover.getScaledSpeed(), .01);
-    }*/
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * Test of getDrawX and getDrawY methods, of class Enemy.
+     */
+    @Test
+    public void GetDrawPosition_ShouldInterpolateAlongLastMove() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Mover mover = new Burrower(400, 400, new Point(800, 400), board.getSquareSize());
+        double step = mover.getScaledSpeed();
+
+        mover.move(board);
+
+        assertEquals(400, mover.getDrawX(0.0));
+        assertEquals(Math.round(400 + step / 2), mover.getDrawX(0.5));
+        assertEquals(Math.round(400 + step), mover.getDrawX(1.0));
+        assertEquals(400, mover.getDrawY(0.5));
+    }
 }
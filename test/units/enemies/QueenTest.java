@@ -16,16 +16,16 @@
  */
 package units.enemies;
 
-import gui.game.BoardSearch;
-import gui.game.GameBoardPanel;
-import gui.game.OffscreenException;
+import engine.BoardSearch;
+import engine.BoardState;
+import engine.Simulation;
 import java.awt.Point;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import units.towers.Terrain;
@@ -42,46 +42,38 @@ public class QueenTest {
      */
     @Test
     public void Tick_ShouldCallMoveMethod() {
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         BoardSearch fakeSearch = mock(BoardSearch.class);
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        try {
-            when(fakeSearch.towerAtPosition(any())).thenReturn(new Terrain(0, 0, 1));
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
+        when(fakeSearch.towerInSquare(anyInt(), anyInt())).thenReturn(new Terrain(0, 0, 1));
+        when(fakeSearch.squareBlocked(anyInt(), anyInt())).thenReturn(true);
 
         Queen testQueen = spy(new Queen(0, 0, new Point(1, 1), 1));
 
         testQueen.tick(fakeBoard);
 
-        Mockito.verify(testQueen).move(any(GameBoardPanel.class));
+        Mockito.verify(testQueen).move(any(Simulation.class));
     }
 
     /**
-     * Test of tick method, of class Queen.
+     * Test of wake method, of class Queen.
      */
     @Test
-    public void Tick_ShouldSpawnAHiveAndDie_AfterTheCooldownHasElapsed() {
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
-        BoardSearch fakeSearch = mock(BoardSearch.class);
-        when(fakeBoard.search()).thenReturn(fakeSearch);
-        try {
-            when(fakeSearch.towerAtPosition(any())).thenReturn(new Terrain(0, 0, 1));
-        } catch (OffscreenException offscreen) {
-            fail("Did not expect offscreen exception.");
-        }
-
-        Queen testQueen = spy(new Queen(0, 0, new Point(1, 1), 1));
+    public void Wake_ShouldSpawnAHiveAndDie_AfterTheCooldownHasElapsed() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        Queen testQueen = new Queen(450, 450, new Point(0, 0), board.getSquareSize());
+        board.addUnit(testQueen);
 
         for (int tick = 0; tick < Queen.HIVE_DELAY - 1; tick++) {
-            testQueen.tick(fakeBoard);
+            board.step();
         }
 
-        Mockito.verify(fakeBoard, never()).addUnit(any(Hive.class));
+        assertEquals(false, testQueen.isDead());
+        assertEquals(1, board.search().allEnemies().size());
 
-        testQueen.tick(fakeBoard);
-        Mockito.verify(fakeBoard).addUnit(any(Hive.class));
+        board.step();
         assertEquals(true, testQueen.isDead());
+        assertEquals(1, board.search().allEnemies().size());
+        assertEquals(true, board.search().allEnemies().get(0) instanceof Hive);
     }
 }
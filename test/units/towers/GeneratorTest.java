@@ -16,12 +16,10 @@
  */
 package units.towers;
 
-import gui.game.levels.BoardState;
-import gui.game.GameBoardPanel;
 import org.junit.Test;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.spy;
-import static org.mockito.Mockito.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit tests for the Generator class.
@@ -31,74 +29,61 @@ import static org.mockito.Mockito.verify;
 public class GeneratorTest {
 
     /**
-     * Test of poweredTick method, of class Generator.
+     * Test of makeSource method, of class Generator.
      */
     @Test
-    public void PoweredTick_PowersNearbyUnpoweredUnits() {
+    public void MakeSource_ShouldPowerGenerator() {
         Generator testGenerator = new Generator(0, 0, 1);
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        Powered testPowered = spy(new Shooter(board.getSquareSize(), 0, board.getSquareSize()));
 
-        testGenerator.power(new Generator(0, 0, board.getSquareSize()));
-        board.addUnit(testGenerator);
-        board.addUnit(testPowered);
+        testGenerator.makeSource();
 
-        testGenerator.poweredTick(board);
-
-        testPowered.tick(board);
-        verify(testPowered).poweredTick(board);
+        assertTrue(testGenerator.isSource());
+        assertTrue(testGenerator.isPowered());
     }
 
     /**
-     * Test of poweredTick method, of class Generator.
+     * Test of supply method, of class Generator.
      */
     @Test
-    public void PoweredTick_ShouldNotPowerSelf() {
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        Generator testGenerator = spy(new Generator(0, 0, board.getSquareSize()));
-
-        testGenerator.power(new Generator(0, 0, board.getSquareSize()));
-        board.addUnit(testGenerator);
+    public void Supply_ShouldPowerConsumer_WhenConsumerIsUnpowered() {
+        Generator testGenerator = new Generator(0, 0, 1);
+        Powered testPowered = new Shooter(1, 0, 1);
 
-        testGenerator.poweredTick(board);
+        testGenerator.supply(testPowered);
 
-        verify(testGenerator, never()).power(testGenerator);
+        assertTrue(testPowered.isPowered());
+        assertEquals(testGenerator, testPowered.getProvider());
+        assertTrue(testGenerator.getConsumers().contains(testPowered));
     }
 
     /**
-     * Test of poweredTick method, of class Generator.
+     * Test of supply method, of class Generator.
      */
     @Test
-    public void PoweredTick_ShouldCallUnpower_WhenGeneratorIsDead() {
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        Generator testGenerator = spy(new Generator(0, 0, board.getSquareSize()));
+    public void Supply_ShouldNotTakeOverConsumer_WhenConsumerIsAlreadyPowered() {
+        Generator firstGenerator = new Generator(0, 0, 1);
+        Generator secondGenerator = new Generator(2, 0, 1);
+        Powered testPowered = new Shooter(1, 0, 1);
 
-        testGenerator.power(new Generator(0, 0, board.getSquareSize()));
-        board.addUnit(testGenerator);
+        firstGenerator.supply(testPowered);
+        secondGenerator.supply(testPowered);
 
-        testGenerator.destroy();
-        testGenerator.poweredTick(board);
-
-        verify(testGenerator).unPower();
+        assertEquals(firstGenerator, testPowered.getProvider());
+        assertFalse(secondGenerator.getConsumers().contains(testPowered));
     }
 
     /**
      * Test of unPower method, of class Generator.
      */
     @Test
-    public void UnPower_ShouldAlsoUnpowerUnitsPoweredByThisUnit() {
-        GameBoardPanel board = new GameBoardPanel(new BoardState(10, 10));
-        Generator testGenerator = new Generator(0, 0, board.getSquareSize());
-        Powered testPowered = spy(new Shooter(board.getSquareSize(), 0, board.getSquareSize()));
-
-        testGenerator.power(new Generator(0, 0, board.getSquareSize()));
-        board.addUnit(testGenerator);
-        board.addUnit(testPowered);
+    public void UnPower_ShouldForgetConsumers() {
+        Generator testGenerator = new Generator(0, 0, 1);
+        testGenerator.makeSource();
+        testGenerator.supply(new Shooter(1, 0, 1));
 
-        testGenerator.poweredTick(board);
         testGenerator.unPower();
 
-        testPowered.tick(board);
-        verify(testPowered, never()).poweredTick(board);
+        assertFalse(testGenerator.isPowered());
+        assertTrue(testGenerator.getConsumers().isEmpty());
     }
 }
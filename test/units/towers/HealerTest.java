@@ -16,9 +16,9 @@
  */
 package units.towers;
 
-import gui.game.BoardSearch;
-import gui.game.GameBoardPanel;
-import java.util.LinkedList;
+import engine.BoardSearch;
+import engine.Simulation;
+import engine.TowerVisitor;
 import org.junit.Test;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -40,13 +40,11 @@ public class HealerTest {
     @Test
     public void PoweredTick_ShouldHealANearbyUnit_IfItIsDamaged() {
         BoardSearch fakeSearch = mock(BoardSearch.class);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         Tower fakeDamaged = mock(Tower.class);
         
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        LinkedList<Tower> searchResults = new LinkedList<>();
-        searchResults.add(fakeDamaged);
-        when(fakeSearch.allTowersInArea(any(), any())).thenReturn(searchResults);
+        visitsTowers(fakeSearch, fakeDamaged);
         when(fakeDamaged.isDamaged()).thenReturn(true);
         
         Healer testHealer = new Healer(0, 0, 1);
@@ -61,13 +59,11 @@ public class HealerTest {
     @Test
     public void PoweredTick_ShouldNotHealAUnit_IfItIsNotDamaged() {
         BoardSearch fakeSearch = mock(BoardSearch.class);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         Tower fakeDamaged = mock(Tower.class);
         
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        LinkedList<Tower> searchResults = new LinkedList<>();
-        searchResults.add(fakeDamaged);
-        when(fakeSearch.allTowersInArea(any(), any())).thenReturn(searchResults);
+        visitsTowers(fakeSearch, fakeDamaged);
         when(fakeDamaged.isDamaged()).thenReturn(false);
         
         Healer testHealer = new Healer(0, 0, 1);
@@ -82,15 +78,12 @@ public class HealerTest {
     @Test
     public void PoweredTick_ShouldNotHealMultipleUnits() {
         BoardSearch fakeSearch = mock(BoardSearch.class);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         Tower fakeDamaged = mock(Tower.class);
         Tower fakeDamaged2 = mock(Tower.class);
         
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        LinkedList<Tower> searchResults = new LinkedList<>();
-        searchResults.add(fakeDamaged);
-        searchResults.add(fakeDamaged2);
-        when(fakeSearch.allTowersInArea(any(), any())).thenReturn(searchResults);
+        visitsTowers(fakeSearch, fakeDamaged, fakeDamaged2);
         when(fakeDamaged.isDamaged()).thenReturn(true);
         when(fakeDamaged2.isDamaged()).thenReturn(true);
         
@@ -107,13 +100,11 @@ public class HealerTest {
     @Test
     public void PoweredTick_ShouldNotHealSelf() {
         BoardSearch fakeSearch = mock(BoardSearch.class);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         Healer testHealer = spy(new Healer(0, 0, 1));
         
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        LinkedList<Tower> searchResults = new LinkedList<>();
-        searchResults.add(testHealer);
-        when(fakeSearch.allTowersInArea(any(), any())).thenReturn(searchResults);
+        visitsTowers(fakeSearch, testHealer);
         
         testHealer.poweredTick(fakeBoard);
         
@@ -126,13 +117,11 @@ public class HealerTest {
     @Test
     public void PoweredTick_ShouldNotHealTerrain() {
         BoardSearch fakeSearch = mock(BoardSearch.class);
-        GameBoardPanel fakeBoard = mock(GameBoardPanel.class);
+        Simulation fakeBoard = mock(Simulation.class);
         Tower fakeDamaged = mock(Terrain.class);
         
         when(fakeBoard.search()).thenReturn(fakeSearch);
-        LinkedList<Tower> searchResults = new LinkedList<>();
-        searchResults.add(fakeDamaged);
-        when(fakeSearch.allTowersInArea(any(), any())).thenReturn(searchResults);
+        visitsTowers(fakeSearch, fakeDamaged);
         when(fakeDamaged.isDamaged()).thenReturn(true);
         
         Healer testHealer = new Healer(0, 0, 1);
@@ -140,4 +129,23 @@ public class HealerTest {
         
         verify(fakeDamaged, never()).changeHealth(1);
     }    
+
+    /**
+     * Helper method which makes a fake search pass the passed Towers to any
+     * visitor, in order, until it asks to stop.
+     *
+     * @param fakeSearch the fake search to set up
+     * @param towers the Towers in range
+     */
+    private static void visitsTowers(BoardSearch fakeSearch, Tower... towers) {
+        when(fakeSearch.visitTowersIn(any(), any())).thenAnswer(invocation -> {
+            TowerVisitor visitor = invocation.getArgument(1);
+            for (Tower tower : towers) {
+                if (visitor.visit(tower)) {
+                    return tower;
+                }
+            }
+            return null;
+        });
+    }
 }
@@ -16,8 +16,8 @@
  */
 package units.towers;
 
-import gui.game.levels.BoardState;
-import gui.game.GameBoardPanel;
+import engine.BoardState;
+import engine.Simulation;
 import org.junit.Test;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -36,7 +36,7 @@ public class PoweredTest {
     @Test
     public void Tick_ShouldNotCallPoweredTick_Initially() {
         BoardState boardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(boardState);
+        Simulation board = new Simulation(boardState);
 
         Powered testConsumer = spy(new Shooter(0, 0, 1));
         board.addUnit(testConsumer);
@@ -52,7 +52,7 @@ public class PoweredTest {
     @Test
     public void Tick_ShouldNotCallPoweredTick_WhenPoweredThenUnPowered() {
         BoardState boardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(boardState);
+        Simulation board = new Simulation(boardState);
 
         Powered testConsumer = spy(new Shooter(0, 0, 1));
         board.addUnit(testConsumer);
@@ -70,7 +70,7 @@ public class PoweredTest {
     @Test
     public void Tick_ShouldCallPoweredTick_WhenPowered() {
         BoardState boardState = new BoardState(10, 10);
-        GameBoardPanel board = new GameBoardPanel(boardState);
+        Simulation board = new Simulation(boardState);
 
         Powered testConsumer = spy(new Shooter(0, 0, 1));
         board.addUnit(testConsumer);
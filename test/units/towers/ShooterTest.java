@@ -16,8 +16,10 @@
  */
 package units.towers;
 
-import gui.game.BoardSearch;
-import gui.game.GameBoardPanel;
+import engine.BoardSearch;
+import engine.BoardState;
+import engine.Simulation;
+import org.junit.Assert;
 import org.junit.Test;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
@@ -39,11 +41,11 @@ public class ShooterTest {
      */
     @Test
     public void PoweredTick_DamagesANearbyEnemy_WhenOneExists() {
-        GameBoardPanel board = mock(GameBoardPanel.class);
+        Simulation board = mock(Simulation.class);
         BoardSearch search = mock(BoardSearch.class);
         when(board.search()).thenReturn(search);
         Enemy target = mock(Burrower.class);
-        when(search.firstEnemyInArea(any(), any())).thenReturn(target);
+        when(search.targetIn(any(), any(), any())).thenReturn(target);
 
         Shooter instance = new Shooter(0, 0, 1);
 
@@ -56,11 +58,11 @@ public class ShooterTest {
      */
     @Test
     public void PoweredTick_WaitsBeforeDamagaingAnEnemyAgain_AfterDamagingAnEnemy() {
-        GameBoardPanel board = mock(GameBoardPanel.class);
+        Simulation board = mock(Simulation.class);
         BoardSearch search = mock(BoardSearch.class);
         when(board.search()).thenReturn(search);
         Enemy target = mock(Burrower.class);
-        when(search.firstEnemyInArea(any(), any())).thenReturn(target);
+        when(search.targetIn(any(), any(), any())).thenReturn(target);
 
         Shooter instance = new Shooter(0, 0, 1);
 
@@ -68,4 +70,34 @@ public class ShooterTest {
         instance.poweredTick(board);
         verify(target, times(1)).changeHealth(any(int.class));
     }
+
+    /**
+     * Test of poweredTick method, of class Shooter.
+     */
+    @Test
+    public void PoweredTick_ShouldSleepUntilItMayFireAgain_AfterDamagingAnEnemy() {
+        Simulation board = new Simulation(new BoardState(10, 10));
+        int size = board.getSquareSize();
+        Generator source = new Generator(0, 0, size);
+        source.makeSource();
+        board.addUnit(source);
+        Shooter instance = new Shooter(size, 0, size);
+        board.addUnit(instance);
+        Enemy target = mock(Burrower.class);
+        when(target.getPositionX()).thenReturn(2 * size);
+        when(target.getPositionY()).thenReturn(0);
+        board.addUnit(target);
+
+        board.step();
+        board.step();
+        Assert.assertFalse(board.state().towers.isTicking(board.state().towers.cell(1, 0)));
+
+        for (int steps = 2; steps < 75; steps++) {
+            board.step();
+        }
+        verify(target, times(1)).changeHealth(any(int.class));
+
+        board.step();
+        verify(target, times(2)).changeHealth(any(int.class));
+    }
 }